@@ -0,0 +1,89 @@
+package com.aox.benchmark;
+
+import com.aox.common.log.annotation.Log;
+import com.aox.common.security.annotation.RequirePermission;
+import com.aox.common.security.metadata.HandlerMethodDescriptor;
+import com.aox.common.security.metadata.HandlerMethodRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 处理方法元数据查找基准：权限切面与日志切面每次调用读取注解的开销
+ * reflection 还原改造前的做法（方法与类上反射读取 @RequirePermission、读取 @Log、拼接方法签名），
+ * registry 为当前的 HandlerMethodRegistry（启动时预解析的不可变映射，一次查找）。
+ *
+ * @author Aox Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandlerMethodLookupBenchmark {
+
+    private HandlerMethodRegistry registry;
+    private Method method;
+    private Class<?> targetClass;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        targetClass = SampleController.class;
+        method = targetClass.getMethod("list", Long.class);
+        registry = new HandlerMethodRegistry(null);
+        // 与启动扫描的结果一致：接口方法放入预解析映射
+        HandlerMethodDescriptor descriptor = registry.get(method, targetClass);
+        Field field = ReflectionUtils.findField(HandlerMethodRegistry.class, "handlerDescriptors");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, registry, Map.of(method, descriptor));
+    }
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) {
+        // RequirePermissionAspect
+        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
+        if (requirePermission == null) {
+            requirePermission = targetClass.getAnnotation(RequirePermission.class);
+        }
+        blackhole.consume(requirePermission.value());
+        // LogAspect
+        Log log = method.getAnnotation(Log.class);
+        blackhole.consume(log.module());
+        blackhole.consume(targetClass.getName() + "." + method.getName());
+    }
+
+    @Benchmark
+    public void registry(Blackhole blackhole) {
+        // 两个切面各查找一次
+        HandlerMethodDescriptor permission = registry.get(method, targetClass);
+        blackhole.consume(permission.getPermissionRequirement());
+        HandlerMethodDescriptor log = registry.get(method, targetClass);
+        blackhole.consume(log.getAnnotation(Log.class).module());
+        blackhole.consume(log.getSignature());
+    }
+
+    @RequirePermission("system:user:query")
+    public static class SampleController {
+
+        @Log(module = "用户管理", operation = "查询用户")
+        @RequirePermission("system:user:list")
+        public Object list(Long deptId) {
+            return deptId;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.aox.benchmark;
+
+import com.aox.common.security.cache.VerifiedTokenCache;
+import com.aox.common.security.utils.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 解析基准：认证过滤器每个请求的 Token 解析开销
+ * legacyPerClaim 还原改造前的做法（校验 + 4 个 getter，每次都重新生成密钥、构建解析器并验签），
+ * parseOnce 为当前的 JwtTokenUtil#parse（共享解析器，只验签一次；已验签缓存关闭，只比较验签本身）。
+ *
+ * @author Aox Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "aox-benchmark-secret-key-at-least-256-bits-long";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        // 未调用 init 的 VerifiedTokenCache 处于关闭状态，parse 每次都会验签
+        jwtTokenUtil = new JwtTokenUtil(new VerifiedTokenCache(null));
+        setField("secret", SECRET);
+        setField("expiration", 7200L);
+        jwtTokenUtil.init();
+        token = jwtTokenUtil.generateToken(1L, "admin", "admin", 1L);
+    }
+
+    @Benchmark
+    public void legacyPerClaim(Blackhole blackhole) {
+        blackhole.consume(legacyClaims(token).getExpiration().after(new Date()));
+        blackhole.consume(((Number) legacyClaims(token).get("userId")).longValue());
+        blackhole.consume(legacyClaims(token).get("username"));
+        blackhole.consume(legacyClaims(token).get("type"));
+        blackhole.consume(((Number) legacyClaims(token).getOrDefault("tenantId", 0L)).longValue());
+    }
+
+    @Benchmark
+    public Object parseOnce() {
+        return jwtTokenUtil.parse(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtTokenUtil.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtTokenUtil, value);
+    }
+}
@@ -0,0 +1,192 @@
+package com.aox.benchmark;
+
+import com.aox.common.core.domain.BaseEntity;
+import com.aox.common.redis.serializer.CompactRedisSerializer;
+import com.aox.common.security.domain.LoginUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值序列化基准：redis.serializer.format 的 json 与 compact 在典型缓存值上的耗时与体积
+ * json 为默认的 GenericJackson2JsonRedisSerializer（与 RedisConfig 配置一致），
+ * compact 为 CompactRedisSerializer（登录用户与实体类型已注册，默认 4096 字节以上压缩），
+ * compact-deflate 把压缩阈值降到 256 字节，观察压缩对小值的代价。
+ * 载荷：session 为 60 个权限的登录用户，permissions 为 60 个权限编码的列表，entity 为 BaseEntity 子类。
+ * 各组合的序列化字节数在 Setup 中输出。
+ *
+ * @author Aox Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    private static final int PERMISSION_COUNT = 60;
+
+    @Param({"json", "compact", "compact-deflate"})
+    private String format;
+
+    @Param({"session", "permissions", "entity"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        Map<Integer, Class<?>> types = Map.of(1, LoginUser.class, 2, SampleEntity.class);
+        serializer = switch (format) {
+            case "compact" -> new CompactRedisSerializer(types, 4096);
+            case "compact-deflate" -> new CompactRedisSerializer(types, 256);
+            default -> new GenericJackson2JsonRedisSerializer().configure(ObjectMapper::findAndRegisterModules);
+        };
+        value = switch (payload) {
+            case "session" -> loginUser();
+            case "entity" -> entity();
+            default -> permissions();
+        };
+        bytes = serializer.serialize(value);
+        System.out.printf("%n[size] format=%s, payload=%s, bytes=%d%n", format, payload, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    private static List<String> permissions() {
+        List<String> permissions = new ArrayList<>(PERMISSION_COUNT);
+        String[] modules = {"system:user", "system:role", "system:menu", "system:dept", "system:config",
+                "miniapp:banner", "payment:order", "system:log", "system:tenant", "system:file"};
+        String[] actions = {"list", "query", "add", "edit", "remove", "export"};
+        for (String module : modules) {
+            for (String action : actions) {
+                permissions.add(module + ":" + action);
+            }
+        }
+        return permissions;
+    }
+
+    private static LoginUser loginUser() {
+        long now = System.currentTimeMillis();
+        return new LoginUser(10086L, "admin", null, "管理员", "https://cdn.example.com/avatar/10086.png",
+                0, 103L, 1L, "admin", new LinkedHashSet<>(permissions()), Set.of("admin", "operator"),
+                "192.168.1.20", now, now + 7200_000L);
+    }
+
+    private static SampleEntity entity() {
+        SampleEntity entity = new SampleEntity();
+        entity.setId(1001L);
+        entity.setTitle("春季新品上市");
+        entity.setImageUrl("https://cdn.example.com/banner/2026/spring.jpg");
+        entity.setLinkUrl("/pages/activity/detail?id=1001");
+        entity.setSort(1);
+        entity.setStatus(0);
+        entity.setTenantId(1L);
+        entity.setCreateBy("admin");
+        entity.setCreateTime(LocalDateTime.of(2026, 3, 1, 9, 30));
+        entity.setUpdateBy("admin");
+        entity.setUpdateTime(LocalDateTime.of(2026, 3, 2, 18, 0));
+        entity.setDeleted(0);
+        return entity;
+    }
+
+    /**
+     * 典型的业务实体（字段与小程序轮播图相近）
+     */
+    public static class SampleEntity extends BaseEntity {
+
+        private Long id;
+        private String title;
+        private String imageUrl;
+        private String linkUrl;
+        private Integer sort;
+        private Integer status;
+        private Long tenantId;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public void setImageUrl(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+
+        public String getLinkUrl() {
+            return linkUrl;
+        }
+
+        public void setLinkUrl(String linkUrl) {
+            this.linkUrl = linkUrl;
+        }
+
+        public Integer getSort() {
+            return sort;
+        }
+
+        public void setSort(Integer sort) {
+            this.sort = sort;
+        }
+
+        public Integer getStatus() {
+            return status;
+        }
+
+        public void setStatus(Integer status) {
+            this.status = status;
+        }
+
+        public Long getTenantId() {
+            return tenantId;
+        }
+
+        public void setTenantId(Long tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -12,20 +12,55 @@ public final class RedisConstants {
     }
 
     /**
-     * 登录 Token 前缀
+     * 旧版登录 Token 前缀（以完整 JWT 为键，只读兼容至自然过期）
      */
     public static final String LOGIN_TOKEN_KEY = "login:token:";
 
     /**
-     * 用户权限缓存前缀
+     * 登录会话前缀（以 jti 或 Token 摘要为键，值为用户ID字符串）
+     */
+    public static final String LOGIN_SESSION_KEY = "login:session:";
+
+    /**
+     * 用户会话索引前缀（ZSET，成员为会话ID，分值为过期时间）
+     */
+    public static final String USER_SESSIONS_KEY = "login:sessions:";
+
+    /**
+     * 在线用户索引（ZSET，成员为用户ID，分值为最近一次会话的过期时间）
+     */
+    public static final String ONLINE_USERS_KEY = "login:online";
+
+    /**
+     * 租户在线用户索引前缀（ZSET，成员为用户ID，分值为最近一次会话的过期时间）
+     */
+    public static final String TENANT_ONLINE_USERS_KEY = "login:online:tenant:";
+
+    /**
+     * 用户权限缓存前缀（user:permissions:{userId}，见 userKey）
      */
     public static final String USER_PERMISSIONS_KEY = "user:permissions:";
 
     /**
-     * 用户角色缓存前缀
+     * 用户角色缓存前缀（user:roles:{userId}，见 userKey）
      */
     public static final String USER_ROLES_KEY = "user:roles:";
 
+    /**
+     * 用户权限版本号前缀（user:perm:version:{userId}，见 userKey；角色/菜单变更时递增，不过期）
+     */
+    public static final String USER_PERM_VERSION_KEY = "user:perm:version:";
+
+    /**
+     * 已吊销 Token 的 jti 集合（ZSET，分值为 Token 过期时间，无状态会话模式使用）
+     */
+    public static final String TOKEN_REVOKED_KEY = "auth:revoked:jti";
+
+    /**
+     * 已吊销用户集合（ZSET，分值为吊销时间，早于该时间签发的 Token 失效）
+     */
+    public static final String USER_REVOKED_KEY = "auth:revoked:user";
+
     /**
      * 验证码前缀
      */
@@ -51,6 +86,21 @@ public final class RedisConstants {
      */
     public static final String RATE_LIMIT_KEY = "rate:limit:";
 
+    /**
+     * 本地缓存失效广播频道
+     */
+    public static final String CACHE_INVALIDATE_CHANNEL = "channel:cache:invalidate";
+
+    /**
+     * 声明式二级缓存数据前缀（cache:data:{cacheName}:{key}）
+     */
+    public static final String CACHE_DATA_KEY = "cache:data:";
+
+    /**
+     * 声明式二级缓存标签前缀（SET，成员为打上该标签的缓存键）
+     */
+    public static final String CACHE_TAG_KEY = "cache:tag:";
+
     /**
      * Token 默认过期时间（秒）- 24小时
      */
@@ -65,4 +115,16 @@ public final class RedisConstants {
      * 用户权限缓存过期时间（秒）- 30分钟
      */
     public static final long USER_PERMISSIONS_EXPIRE_TIME = 30 * 60;
+
+    /**
+     * 用户维度的键：用户ID放在哈希标签 {} 中，集群模式下同一用户的权限、角色、版本号落在同一个槽，
+     * 可以在一条 MGET/DEL 中读写
+     *
+     * @param prefix 键前缀
+     * @param userId 用户ID
+     * @return 键，如 user:permissions:{1}
+     */
+    public static String userKey(String prefix, Object userId) {
+        return prefix + "{" + userId + "}";
+    }
 }
@@ -0,0 +1,20 @@
+package com.aox.common.core.domain;
+
+/**
+ * 已认证主体
+ * 由安全模块的登录用户实现，供不依赖安全模块的基础组件（如限流）直接读取用户与租户
+ *
+ * @author Aox Team
+ */
+public interface AuthenticatedPrincipal {
+
+    /**
+     * 用户ID
+     */
+    Long getUserId();
+
+    /**
+     * 租户ID
+     */
+    Long getTenantId();
+}
@@ -5,6 +5,8 @@ import cn.hutool.json.JSONUtil;
 import com.aox.common.log.annotation.Log;
 import com.aox.common.log.service.AsyncLogService;
 import com.aox.common.security.domain.LoginUser;
+import com.aox.common.security.metadata.HandlerMethodDescriptor;
+import com.aox.common.security.metadata.HandlerMethodRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -18,8 +20,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.lang.reflect.Method;
-
 /**
  * 操作日志切面
  *
@@ -31,9 +31,11 @@ import java.lang.reflect.Method;
 public class LogAspect {
 
     private final AsyncLogService asyncLogService;
+    private final HandlerMethodRegistry handlerMethodRegistry;
 
-    public LogAspect(AsyncLogService asyncLogService) {
+    public LogAspect(AsyncLogService asyncLogService, HandlerMethodRegistry handlerMethodRegistry) {
         this.asyncLogService = asyncLogService;
+        this.handlerMethodRegistry = handlerMethodRegistry;
     }
 
     @Pointcut("@annotation(com.aox.common.log.annotation.Log)")
@@ -48,15 +50,15 @@ public class LogAspect {
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         HttpServletRequest request = attributes != null ? attributes.getRequest() : null;
 
-        // 获取注解
+        // 获取预先解析的注解与方法签名（一次查找）
         MethodSignature signature = (MethodSignature) point.getSignature();
-        Method method = signature.getMethod();
-        Log logAnnotation = method.getAnnotation(Log.class);
+        HandlerMethodDescriptor descriptor = handlerMethodRegistry.get(signature.getMethod(), point.getTarget().getClass());
+        Log logAnnotation = descriptor.getAnnotation(Log.class);
 
         // 获取操作信息
         String module = logAnnotation.module();
         String operation = logAnnotation.operation();
-        String methodName = point.getTarget().getClass().getName() + "." + signature.getName();
+        String methodName = descriptor.getSignature();
         String requestUri = request != null ? request.getRequestURI() : "";
         String requestMethod = request != null ? request.getMethod() : "";
         String ip = request != null ? getIpAddress(request) : "";
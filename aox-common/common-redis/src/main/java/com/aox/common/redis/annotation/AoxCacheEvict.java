@@ -0,0 +1,44 @@
+package com.aox.common.redis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明式二级缓存失效注解
+ * 方法正常返回后失效 Redis 与各节点的本地缓存；在事务中调用时推迟到事务提交后执行。
+ *
+ * @author Aox Team
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AoxCacheEvict {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName() default "";
+
+    /**
+     * 缓存键（SpEL），与 AoxCacheable#key 的规则一致
+     */
+    String key() default "";
+
+    /**
+     * 是否失效该缓存名称下的全部条目（包括所有租户）
+     */
+    boolean allEntries() default false;
+
+    /**
+     * 是否按租户隔离缓存键，需与对应的 AoxCacheable 一致
+     */
+    boolean tenantAware() default false;
+
+    /**
+     * 按标签失效（含 # 时按 SpEL 解析）
+     */
+    String[] tags() default {};
+}
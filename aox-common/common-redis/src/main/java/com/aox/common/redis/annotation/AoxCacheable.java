@@ -0,0 +1,60 @@
+package com.aox.common.redis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明式二级缓存注解
+ * 方法返回值依次缓存在本地（Caffeine）与 Redis 中，同一节点上同一个键只有一个线程回源加载。
+ * 方法需通过 Spring 代理调用（同类内部调用不会命中缓存），缓存的返回值会被多个调用方共享，不要修改。
+ *
+ * @author Aox Team
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AoxCacheable {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName();
+
+    /**
+     * 缓存键（SpEL，如 #dictType、#p0），为空时使用全部参数拼接
+     */
+    String key() default "";
+
+    /**
+     * Redis 过期时间，单位秒
+     */
+    long ttl() default 3600;
+
+    /**
+     * 本地缓存过期时间，单位秒，不超过 ttl；0 表示不使用本地缓存
+     */
+    long localTtl() default 300;
+
+    /**
+     * 空结果的缓存时间，单位秒，防止不存在的键反复穿透到数据库；0 表示不缓存空结果
+     */
+    long nullTtl() default 60;
+
+    /**
+     * 过期时间随机增加的比例（0.1 表示增加 0~10%），避免同一批写入的缓存同时过期
+     */
+    double jitter() default 0.1;
+
+    /**
+     * 是否按租户隔离缓存键
+     */
+    boolean tenantAware() default false;
+
+    /**
+     * 缓存标签（含 # 时按 SpEL 解析），可通过 AoxCacheEvict#tags 按标签批量失效
+     */
+    String[] tags() default {};
+}
@@ -22,19 +22,35 @@ public @interface RateLimiter {
     String key() default "rate_limit:";
 
     /**
-     * 限流时间窗口，单位秒
+     * 限流时间窗口，单位秒（令牌桶为补满整个桶所需的时间）
      */
     int time() default 60;
 
     /**
-     * 限流次数
+     * 限流次数（令牌桶为桶容量，即允许的突发量）
      */
     int count() default 10;
 
     /**
-     * 限流类型
+     * 限流类型，指定多个时组合为一个限流维度（如 {IP, USER} 表示同一 IP 下的同一用户）
      */
-    LimitType limitType() default LimitType.DEFAULT;
+    LimitType[] limitType() default LimitType.DEFAULT;
+
+    /**
+     * 限流算法
+     */
+    Algorithm algorithm() default Algorithm.FIXED_WINDOW;
+
+    /**
+     * 是否启用本地租约：节点一次从 Redis 领取一批许可在本地扣减，用完或到期才再访问 Redis，
+     * 被拒绝后在本地保持拒绝直到建议的重试时间。全局放行数不会超过限制，代价是可能略少放行
+     */
+    boolean localLease() default false;
+
+    /**
+     * 每次领取的租约大小，占 count 的百分比（至少 1 个许可）
+     */
+    int leasePercent() default 10;
 
     /**
      * 提示消息
@@ -56,6 +72,28 @@ public @interface RateLimiter {
         /**
          * 用户限流
          */
-        USER
+        USER,
+        /**
+         * 租户限流
+         */
+        TENANT
+    }
+
+    /**
+     * 限流算法枚举
+     */
+    enum Algorithm {
+        /**
+         * 固定窗口：实现最简单，窗口边界处最多可能放行两倍请求
+         */
+        FIXED_WINDOW,
+        /**
+         * 滑动窗口：记录窗口内每次请求的时间，任意时间段内都不超过限制，内存占用与限流次数成正比
+         */
+        SLIDING_WINDOW,
+        /**
+         * 令牌桶：按固定速率补充令牌，允许不超过桶容量的突发
+         */
+        TOKEN_BUCKET
     }
 }
@@ -0,0 +1,155 @@
+package com.aox.common.redis.aspect;
+
+import com.aox.common.redis.annotation.AoxCacheEvict;
+import com.aox.common.redis.annotation.AoxCacheable;
+import com.aox.common.redis.cache.TenantCacheKeys;
+import com.aox.common.redis.service.TwoLevelCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 声明式二级缓存切面
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class AoxCacheAspect {
+
+    private final TwoLevelCacheService twoLevelCacheService;
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /**
+     * SpEL 表达式缓存
+     */
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Around("@annotation(cacheable)")
+    public Object around(ProceedingJoinPoint point, AoxCacheable cacheable) throws Throwable {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        Object[] args = point.getArgs();
+        String key = buildKey(method, args, cacheable.key(), cacheable.tenantAware());
+        TwoLevelCacheService.CacheOptions options = new TwoLevelCacheService.CacheOptions(
+                cacheable.cacheName(), cacheable.ttl(), cacheable.localTtl(), cacheable.nullTtl(),
+                cacheable.jitter(), resolveTags(method, args, cacheable.tags()));
+        try {
+            return twoLevelCacheService.get(options, key, () -> {
+                try {
+                    return point.proceed();
+                } catch (Throwable e) {
+                    throw new LoaderException(e);
+                }
+            });
+        } catch (LoaderException e) {
+            throw e.getCause();
+        }
+    }
+
+    @AfterReturning("@annotation(cacheEvict)")
+    public void afterReturning(JoinPoint point, AoxCacheEvict cacheEvict) {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        Object[] args = point.getArgs();
+        List<String> tags = resolveTags(method, args, cacheEvict.tags());
+        String key = cacheEvict.allEntries() || !StringUtils.hasText(cacheEvict.cacheName())
+                ? null
+                : buildKey(method, args, cacheEvict.key(), cacheEvict.tenantAware());
+
+        Runnable eviction = () -> {
+            if (StringUtils.hasText(cacheEvict.cacheName())) {
+                if (cacheEvict.allEntries()) {
+                    twoLevelCacheService.clear(cacheEvict.cacheName());
+                } else {
+                    twoLevelCacheService.evict(cacheEvict.cacheName(), key);
+                }
+            }
+            twoLevelCacheService.evictTags(tags);
+        };
+
+        // 事务提交前失效的话，其他线程可能在提交前把旧数据重新加载进缓存
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    /**
+     * 构建缓存键：SpEL 结果（为空时使用全部参数拼接），按租户隔离时加上租户前缀
+     */
+    private String buildKey(Method method, Object[] args, String keyExpression, boolean tenantAware) {
+        String key;
+        if (StringUtils.hasText(keyExpression)) {
+            key = String.valueOf(evaluate(method, args, keyExpression));
+        } else if (args.length == 0) {
+            key = "default";
+        } else {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    sb.append(":");
+                }
+                sb.append(args[i]);
+            }
+            key = sb.toString();
+        }
+        return tenantAware ? TenantCacheKeys.currentKey(key) : key;
+    }
+
+    private List<String> resolveTags(Method method, Object[] args, String[] tags) {
+        if (tags.length == 0) {
+            return List.of();
+        }
+        List<String> resolved = new ArrayList<>(tags.length);
+        for (String tag : tags) {
+            resolved.add(tag.contains("#") ? String.valueOf(evaluate(method, args, tag)) : tag);
+        }
+        return resolved;
+    }
+
+    private Object evaluate(Method method, Object[] args, String expression) {
+        MethodBasedEvaluationContext context =
+                new MethodBasedEvaluationContext(null, method, args, parameterNameDiscoverer);
+        return expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context);
+    }
+
+    /**
+     * 包装被缓存方法抛出的异常，原样抛回调用方
+     */
+    private static class LoaderException extends RuntimeException {
+
+        LoaderException(Throwable cause) {
+            super(null, cause, false, false);
+        }
+    }
+}
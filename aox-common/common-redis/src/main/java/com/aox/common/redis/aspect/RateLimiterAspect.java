@@ -1,9 +1,15 @@
 package com.aox.common.redis.aspect;
 
+import com.aox.common.core.domain.AuthenticatedPrincipal;
+import com.aox.common.core.enums.ErrorCode;
+import com.aox.common.core.utils.ServletUtil;
 import com.aox.common.exception.BusinessException;
 import com.aox.common.redis.annotation.RateLimiter;
-import com.aox.common.redis.service.RedisService;
-import jakarta.servlet.http.HttpServletRequest;
+import com.aox.common.redis.service.RateLimitLeaseService;
+import com.aox.common.redis.service.RateLimitService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
@@ -13,10 +19,10 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 限流切面
@@ -29,102 +35,112 @@ import java.lang.reflect.Method;
 @RequiredArgsConstructor
 public class RateLimiterAspect {
 
-    private final RedisService redisService;
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimitService rateLimitService;
+    private final RateLimitLeaseService rateLimitLeaseService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 方法 -> 限流器（键前缀与指标只在首次调用时构建）
+     */
+    private final Map<Method, Limiter> limiters = new ConcurrentHashMap<>();
 
     @Before("@annotation(rateLimiter)")
     public void doBefore(JoinPoint point, RateLimiter rateLimiter) {
-        String key = buildKey(point, rateLimiter);
-        int time = rateLimiter.time();
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        Limiter limiter = limiters.computeIfAbsent(method, m -> createLimiter(m, rateLimiter));
+        String key = buildKey(limiter.keyPrefix(), rateLimiter);
         int count = rateLimiter.count();
 
-        Long current = redisService.incr(key, 1);
-        if (current == 1) {
-            // 第一次请求，设置过期时间
-            redisService.expire(key, time);
+        long windowMillis = rateLimiter.time() * 1000L;
+        RateLimitService.Result result = limiter.leaseSize() > 0
+                ? rateLimitLeaseService.tryAcquire(rateLimiter.algorithm(), key, count, windowMillis, limiter.leaseSize())
+                : rateLimitService.tryAcquire(rateLimiter.algorithm(), key, count, windowMillis, 1);
+        if (!result.isAllowed()) {
+            limiter.denied().increment();
+            log.warn("限流触发: key={}, algorithm={}, limit={}, retryAfterMs={}",
+                    key, rateLimiter.algorithm(), count, result.resetMillis());
+            setRetryAfter(result.resetMillis());
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS, rateLimiter.message());
         }
+        limiter.allowed().increment();
 
-        if (current > count) {
-            log.warn("限流触发: key={}, count={}, limit={}", key, current, count);
-            throw new BusinessException(429, rateLimiter.message());
-        }
+        log.debug("限流检查通过: key={}, remaining={}/{}", key, result.remaining(), count);
+    }
 
-        log.debug("限流检查通过: key={}, count={}/{}", key, current, count);
+    private Limiter createLimiter(Method method, RateLimiter rateLimiter) {
+        StringBuilder prefix = new StringBuilder(rateLimiter.key())
+                .append(method.getDeclaringClass().getName())
+                .append(":")
+                .append(method.getName());
+        // 不同算法的键结构不同（String/ZSET/Hash），切换算法时不能复用旧键
+        if (rateLimiter.algorithm() != RateLimiter.Algorithm.FIXED_WINDOW) {
+            prefix.append(":").append(rateLimiter.algorithm().name().toLowerCase());
+        }
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        long leaseSize = rateLimiter.localLease()
+                ? Math.max(1L, (long) rateLimiter.count() * rateLimiter.leasePercent() / 100)
+                : 0L;
+        return new Limiter(prefix.toString(), leaseSize, counter(name, "allowed"), counter(name, "denied"));
     }
 
     /**
      * 构建限流 key
      */
-    private String buildKey(JoinPoint point, RateLimiter rateLimiter) {
-        StringBuilder sb = new StringBuilder(rateLimiter.key());
-
-        MethodSignature signature = (MethodSignature) point.getSignature();
-        Method method = signature.getMethod();
-
-        // 添加类名和方法名
-        sb.append(method.getDeclaringClass().getName())
-          .append(":")
-          .append(method.getName());
-
-        // 根据限流类型添加不同的标识
-        switch (rateLimiter.limitType()) {
-            case IP -> sb.append(":").append(getClientIp());
-            case USER -> sb.append(":").append(getUserId());
-            default -> {
-                // 默认全局限流，不需要额外标识
+    private String buildKey(String keyPrefix, RateLimiter rateLimiter) {
+        StringBuilder sb = new StringBuilder(keyPrefix);
+        Authentication auth = null;
+        for (RateLimiter.LimitType limitType : rateLimiter.limitType()) {
+            switch (limitType) {
+                case IP -> sb.append(":").append(ServletUtil.getClientIp());
+                case USER, TENANT -> {
+                    if (auth == null) {
+                        auth = SecurityContextHolder.getContext().getAuthentication();
+                    }
+                    sb.append(":").append(getPrincipalId(auth, limitType));
+                }
+                default -> {
+                    // 默认全局限流，不需要额外标识
+                }
             }
         }
-
         return sb.toString();
     }
 
     /**
-     * 获取客户端IP
+     * 从当前登录主体读取用户ID或租户ID，未登录返回 anonymous
      */
-    private String getClientIp() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes == null) {
-            return "unknown";
+    private String getPrincipalId(Authentication auth, RateLimiter.LimitType limitType) {
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedPrincipal principal) {
+            Long id = limitType == RateLimiter.LimitType.USER ? principal.getUserId() : principal.getTenantId();
+            if (id != null) {
+                return String.valueOf(id);
+            }
         }
-        HttpServletRequest request = attributes.getRequest();
+        return ANONYMOUS;
+    }
 
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
+    private void setRetryAfter(long retryAfterMillis) {
+        HttpServletResponse response = ServletUtil.getResponse();
+        if (response != null && retryAfterMillis > 0) {
+            response.setHeader("Retry-After", String.valueOf((retryAfterMillis + 999) / 1000));
         }
-        // 多个代理时取第一个IP
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
+    }
+
+    private Counter counter(String limiter, String outcome) {
+        return Counter.builder("aox.ratelimit.requests")
+                .description("限流检查次数")
+                .tag("limiter", limiter)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     /**
-     * 获取当前用户ID
+     * 限流器
+     *
+     * @param leaseSize 本地租约大小，0 表示不启用本地租约
      */
-    private String getUserId() {
-        // 从 SecurityContext 获取用户ID，未登录返回 anonymous
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.getPrincipal() != null && !"anonymousUser".equals(auth.getPrincipal())) {
-                // 通过反射获取 userId，避免循环依赖
-                Object principal = auth.getPrincipal();
-                Method method = principal.getClass().getMethod("getUserId");
-                Object userId = method.invoke(principal);
-                return String.valueOf(userId);
-            }
-        } catch (Exception e) {
-            // 未登录或获取失败
-            log.debug("获取用户ID失败: {}", e.getMessage());
-        }
-        return "anonymous";
+    private record Limiter(String keyPrefix, long leaseSize, Counter allowed, Counter denied) {
     }
 }
@@ -0,0 +1,159 @@
+package com.aox.common.redis.cache;
+
+import com.aox.common.core.constant.RedisConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效总线（Redis Pub/Sub）
+ * 本地缓存按名称注册失效回调，任一节点发布的失效消息会广播到所有节点；
+ * 订阅断线重连后，由于期间的消息可能丢失，会通知所有注册方全量清空。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements MessageListener, SubscriptionListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Jackson2JsonRedisSerializer<CacheInvalidationMessage> serializer =
+            new Jackson2JsonRedisSerializer<>(CacheInvalidationMessage.class);
+
+    /**
+     * 本节点ID
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 缓存名称 -> 失效回调（参数为缓存键，null 表示清空）
+     */
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+
+    /**
+     * 重连后的全量清空回调
+     */
+    private final List<Runnable> resetListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 是否已完成首次订阅
+     */
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    public CacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.CACHE_INVALIDATE_CHANNEL));
+        log.info("CacheInvalidationBus 初始化完成, nodeId={}", nodeId);
+    }
+
+    /**
+     * 注册本地缓存的失效回调
+     *
+     * @param cacheName 缓存名称
+     * @param evictor   失效回调，参数为缓存键，null 表示清空整个缓存
+     */
+    public void register(String cacheName, Consumer<String> evictor) {
+        evictors.put(cacheName, evictor);
+    }
+
+    /**
+     * 注册订阅重连后的全量清空回调
+     */
+    public void registerResetListener(Runnable listener) {
+        resetListeners.add(listener);
+    }
+
+    /**
+     * 广播单个缓存键失效
+     */
+    public void publish(String cacheName, String key) {
+        send(new CacheInvalidationMessage(nodeId, cacheName, key, null));
+    }
+
+    /**
+     * 广播多个缓存键失效（合并为一条消息）
+     */
+    public void publishAll(String cacheName, Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        send(new CacheInvalidationMessage(nodeId, cacheName, null, new ArrayList<>(keys)));
+    }
+
+    /**
+     * 广播整个缓存清空
+     */
+    public void publishClear(String cacheName) {
+        send(new CacheInvalidationMessage(nodeId, cacheName, null, null));
+    }
+
+    private void send(CacheInvalidationMessage message) {
+        try {
+            String body = new String(serializer.serialize(message), StandardCharsets.UTF_8);
+            stringRedisTemplate.convertAndSend(RedisConstants.CACHE_INVALIDATE_CHANNEL, body);
+        } catch (Exception e) {
+            log.warn("广播缓存失效消息失败: cache={}, key={}, error={}",
+                    message.getCacheName(), message.getKey(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = serializer.deserialize(message.getBody());
+        } catch (Exception e) {
+            log.warn("解析缓存失效消息失败: {}", e.getMessage());
+            return;
+        }
+        if (invalidation == null || nodeId.equals(invalidation.getNodeId())) {
+            return;
+        }
+        Consumer<String> evictor = evictors.get(invalidation.getCacheName());
+        if (evictor != null) {
+            if (invalidation.getKeys() != null) {
+                invalidation.getKeys().forEach(evictor);
+            } else {
+                evictor.accept(invalidation.getKey());
+            }
+            log.debug("收到缓存失效广播: cache={}, key={}", invalidation.getCacheName(), invalidation.getKey());
+        }
+    }
+
+    /**
+     * 订阅成功回调：首次订阅忽略，之后的每次订阅都意味着断线重连，需要全量清空
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (subscribed.getAndSet(true)) {
+            log.warn("缓存失效频道重新订阅，清空所有已注册的本地缓存");
+            resetListeners.forEach(Runnable::run);
+        }
+    }
+}
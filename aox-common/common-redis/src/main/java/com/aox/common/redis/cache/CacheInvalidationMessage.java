@@ -0,0 +1,38 @@
+package com.aox.common.redis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 缓存失效消息
+ *
+ * @author Aox Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    /**
+     * 发送节点ID（用于忽略本节点发出的消息）
+     */
+    private String nodeId;
+
+    /**
+     * 缓存名称
+     */
+    private String cacheName;
+
+    /**
+     * 缓存键，为 null 时表示清空整个缓存
+     */
+    private String key;
+
+    /**
+     * 批量失效的缓存键（不为 null 时忽略 key）
+     */
+    private List<String> keys;
+}
@@ -0,0 +1,96 @@
+package com.aox.common.redis.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 带衰减的 Count-Min Sketch（线程安全）
+ * depth 行 × width 列的计数器，每个键在每行命中一个计数器，估计值取各行最小值：
+ * 只会高估不会低估，高估量约为 总计数 × e / width（概率 1 - e^-depth）。
+ * decay 将所有计数器减半，使估计值反映近期的访问频率而不是累计次数。
+ *
+ * @author Aox Team
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth 行数（哈希函数个数）
+     * @param width 每行计数器个数，取不小于该值的 2 的幂
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth 与 width 必须大于 0");
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * 计数加一
+     *
+     * @return 加一后的估计值
+     */
+    public long increment(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 估计值
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 衰减：所有计数器右移 times 位（每次减半）
+     */
+    public void decay(int times) {
+        if (times <= 0) {
+            return;
+        }
+        int shift = Math.min(times, 63);
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> shift);
+        }
+    }
+
+    private int index(int row, int hash) {
+        return row * width + (hash & (width - 1));
+    }
+
+    /**
+     * 64 位 FNV-1a 加 murmur3 finalizer，高低 32 位作为两个独立哈希（Kirsch-Mitzenmacher 组合出各行哈希）
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
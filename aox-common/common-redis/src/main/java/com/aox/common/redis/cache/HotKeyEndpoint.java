@@ -0,0 +1,40 @@
+package com.aox.common.redis.cache;
+
+import com.aox.common.redis.config.HotKeyProperties;
+import com.aox.common.redis.service.HotKeyService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 热点键监控端点（/actuator/hotkeys）
+ * 列出本节点当前的热点键及其估算 QPS，需登录并拥有 system:cache:list 权限。
+ *
+ * @author Aox Team
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyService hotKeyService;
+
+    public HotKeyEndpoint(HotKeyService hotKeyService) {
+        this.hotKeyService = hotKeyService;
+    }
+
+    @ReadOperation
+    @PreAuthorize("@perm.has('system:cache:list')")
+    public Map<String, Object> hotKeys() {
+        HotKeyProperties properties = hotKeyService.getProperties();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", properties.isEnabled());
+        result.put("sampleRate", properties.getSampleRate());
+        result.put("qpsThreshold", properties.getQpsThreshold());
+        result.put("keys", hotKeyService.getHotKeys());
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.aox.common.redis.cache;
+
+import com.aox.common.redis.service.LocalCacheService;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 本地缓存监控端点（/actuator/localcache）
+ * GET 列出所有缓存，GET /{name} 查看单个缓存，DELETE /{name} 清空单个缓存（广播到所有节点）。
+ * 需登录并拥有对应权限，未暴露时（management.endpoints.web.exposure.include）不可访问。
+ *
+ * @author Aox Team
+ */
+@Component
+@Endpoint(id = "localcache")
+public class LocalCacheEndpoint {
+
+    private final LocalCacheService localCacheService;
+
+    public LocalCacheEndpoint(LocalCacheService localCacheService) {
+        this.localCacheService = localCacheService;
+    }
+
+    @ReadOperation
+    @PreAuthorize("@perm.has('system:cache:list')")
+    public Map<String, Object> caches() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        localCacheService.getCacheNames().forEach(name -> caches.put(name, localCacheService.getCacheInfo(name)));
+        return caches;
+    }
+
+    @ReadOperation
+    @PreAuthorize("@perm.has('system:cache:list')")
+    public Map<String, Object> cache(@Selector String name) {
+        return localCacheService.hasCache(name) ? localCacheService.getCacheInfo(name) : null;
+    }
+
+    @DeleteOperation
+    @PreAuthorize("@perm.has('system:cache:clear')")
+    public void clear(@Selector String name) {
+        if (localCacheService.hasCache(name)) {
+            localCacheService.clear(name);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.aox.common.redis.cache;
+
+import com.aox.common.redis.service.LocalCacheService;
+import com.aox.common.redis.service.TwoLevelCacheService;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 租户缓存端点（/actuator/tenantcache）
+ * GET 列出各分区缓存的租户用量，DELETE /{tenantId} 清除租户的全部缓存条目（租户下线，Redis 与所有节点的本地缓存）。
+ * 需登录并拥有对应权限，未暴露时（management.endpoints.web.exposure.include）不可访问。
+ *
+ * @author Aox Team
+ */
+@Component
+@Endpoint(id = "tenantcache")
+public class TenantCacheEndpoint {
+
+    private final LocalCacheService localCacheService;
+    private final TwoLevelCacheService twoLevelCacheService;
+
+    public TenantCacheEndpoint(LocalCacheService localCacheService, TwoLevelCacheService twoLevelCacheService) {
+        this.localCacheService = localCacheService;
+        this.twoLevelCacheService = twoLevelCacheService;
+    }
+
+    @ReadOperation
+    @PreAuthorize("@perm.has('system:cache:list')")
+    public Map<String, List<TenantCachePartitions.TenantUsage>> usage() {
+        return localCacheService.getTenantUsage();
+    }
+
+    @DeleteOperation
+    @PreAuthorize("@perm.has('system:cache:clear')")
+    public void evict(@Selector Long tenantId) {
+        twoLevelCacheService.evictTenant(tenantId);
+    }
+}
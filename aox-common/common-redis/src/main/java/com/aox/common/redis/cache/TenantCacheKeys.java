@@ -0,0 +1,69 @@
+package com.aox.common.redis.cache;
+
+import com.aox.common.core.domain.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 租户缓存键
+ * 按租户隔离的缓存键带有 t{租户ID}: 段（可以在键首，也可以在缓存名称之后，如 cache:data:dict:t3:xxx），
+ * 本地缓存按该段把条目放入对应租户的分区，不带该段的键归入默认租户 0。
+ *
+ * @author Aox Team
+ */
+public final class TenantCacheKeys {
+
+    /**
+     * 默认租户（未登录、平台数据，与多租户插件的默认租户一致）
+     */
+    public static final long DEFAULT_TENANT_ID = 0L;
+
+    private static final Pattern TENANT_SEGMENT = Pattern.compile("(?:^|:)t(\\d{1,18}):");
+
+    private TenantCacheKeys() {
+    }
+
+    /**
+     * 当前登录主体的租户ID，未登录时为默认租户
+     */
+    public static long currentTenantId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedPrincipal principal
+                && principal.getTenantId() != null) {
+            return principal.getTenantId();
+        }
+        return DEFAULT_TENANT_ID;
+    }
+
+    /**
+     * 租户段：t{租户ID}:
+     */
+    public static String prefix(Long tenantId) {
+        return "t" + (tenantId == null ? DEFAULT_TENANT_ID : tenantId) + ":";
+    }
+
+    /**
+     * 加上指定租户的前缀
+     */
+    public static String key(Long tenantId, String key) {
+        return prefix(tenantId) + key;
+    }
+
+    /**
+     * 加上当前租户的前缀
+     */
+    public static String currentKey(String key) {
+        return key(currentTenantId(), key);
+    }
+
+    /**
+     * 键所属的租户（第一个 t{租户ID}: 段），没有租户段时为默认租户
+     */
+    public static long tenantOf(String key) {
+        Matcher matcher = TENANT_SEGMENT.matcher(key);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : DEFAULT_TENANT_ID;
+    }
+}
@@ -0,0 +1,262 @@
+package com.aox.common.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * 按租户分区的本地缓存
+ * 每个租户一个独立的 Caffeine 分区，分区容量为该租户的权重配额加上从共享溢出池借用的部分：
+ * 1. 配额是保底容量，其他租户写入再多也不会淘汰本租户在配额内的条目
+ * 2. 分区接近容量上限时按块从共享溢出池借用，池已借完时先收回其他分区借了但未用到的部分，仍不够则只淘汰本租户的条目
+ * 3. 每个分区单独统计命中、未命中与淘汰，指标为 cache.*{cache=缓存名称, tenant=租户ID}
+ * 分区在租户首次写入时创建，租户下线时整体删除。
+ *
+ * @author Aox Team
+ */
+public class TenantCachePartitions {
+
+    private final String cacheName;
+    private final long defaultQuota;
+    private final Map<Long, Long> quotas;
+    private final long overflow;
+    private final long overflowChunk;
+    private final LongFunction<Cache<String, Object>> cacheFactory;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 租户ID -> 分区
+     */
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * 已借出的溢出权重
+     */
+    private long overflowGranted;
+
+    /**
+     * @param cacheName    缓存名称
+     * @param defaultQuota 每个租户的权重配额
+     * @param quotas       单独指定配额的租户
+     * @param overflow     共享溢出池权重
+     * @param cacheFactory 按最大权重创建分区缓存
+     */
+    public TenantCachePartitions(String cacheName, long defaultQuota, Map<Long, Long> quotas, long overflow,
+                                 LongFunction<Cache<String, Object>> cacheFactory, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.defaultQuota = defaultQuota;
+        this.quotas = quotas;
+        this.overflow = overflow;
+        this.overflowChunk = Math.max(1, overflow / 16);
+        this.cacheFactory = cacheFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 键所属租户的分区（不存在时创建）
+     */
+    public Cache<String, Object> partition(String key) {
+        return partitions.computeIfAbsent(TenantCacheKeys.tenantOf(key), this::create).cache;
+    }
+
+    /**
+     * 键所属租户的分区（不存在时返回 null）
+     */
+    public Cache<String, Object> partitionIfPresent(String key) {
+        Partition partition = partitions.get(TenantCacheKeys.tenantOf(key));
+        return partition == null ? null : partition.cache;
+    }
+
+    /**
+     * 写入后检查分区余量，接近上限时从溢出池借用
+     */
+    public void afterWrite(String key) {
+        Partition partition = partitions.get(TenantCacheKeys.tenantOf(key));
+        if (partition == null || overflow <= 0
+                || partition.weight() + overflowChunk <= partition.quota + partition.granted) {
+            return;
+        }
+        synchronized (this) {
+            if (overflowGranted + overflowChunk > overflow) {
+                reclaim(partition);
+            }
+            long grant = Math.min(overflowChunk, overflow - overflowGranted);
+            if (grant > 0) {
+                partition.granted += grant;
+                overflowGranted += grant;
+                partition.eviction.setMaximum(partition.quota + partition.granted);
+            }
+        }
+    }
+
+    /**
+     * 收回其他分区借了但未用到的溢出权重
+     */
+    private void reclaim(Partition borrower) {
+        for (Partition partition : partitions.values()) {
+            if (partition == borrower || partition.granted == 0) {
+                continue;
+            }
+            long unused = Math.min(partition.granted,
+                    Math.max(0, partition.quota + partition.granted - partition.weight()));
+            if (unused > 0) {
+                partition.granted -= unused;
+                overflowGranted -= unused;
+                partition.eviction.setMaximum(partition.quota + partition.granted);
+            }
+        }
+    }
+
+    /**
+     * 清空所有分区
+     */
+    public void invalidateAll() {
+        partitions.values().forEach(partition -> partition.cache.invalidateAll());
+    }
+
+    /**
+     * 删除所有租户分区中的键（key 不带租户段，按各分区的租户补齐），用于不确定条目属于哪个租户的场景
+     */
+    public void invalidateInAllTenants(String key) {
+        partitions.values().forEach(partition -> partition.cache.invalidate(TenantCacheKeys.key(partition.tenantId, key)));
+    }
+
+    /**
+     * 删除租户的分区（租户下线），归还借用的溢出权重并注销指标
+     *
+     * @return 删除的条目数
+     */
+    public long invalidateTenant(long tenantId) {
+        Partition partition = partitions.remove(tenantId);
+        if (partition == null) {
+            return 0;
+        }
+        long size = partition.cache.estimatedSize();
+        partition.cache.invalidateAll();
+        synchronized (this) {
+            overflowGranted -= partition.granted;
+        }
+        String tenant = String.valueOf(tenantId);
+        meterRegistry.getMeters().stream()
+                .filter(meter -> cacheName.equals(meter.getId().getTag("cache"))
+                        && tenant.equals(meter.getId().getTag("tenant")))
+                .toList()
+                .forEach(meterRegistry::remove);
+        return size;
+    }
+
+    /**
+     * 所有分区
+     */
+    public Collection<Cache<String, Object>> caches() {
+        return partitions.values().stream().map(partition -> partition.cache).toList();
+    }
+
+    /**
+     * 所有分区合计的统计
+     */
+    public CacheStats stats() {
+        return partitions.values().stream()
+                .map(partition -> partition.cache.stats())
+                .reduce(CacheStats.empty(), CacheStats::plus);
+    }
+
+    public long estimatedSize() {
+        return partitions.values().stream().mapToLong(partition -> partition.cache.estimatedSize()).sum();
+    }
+
+    public long getDefaultQuota() {
+        return defaultQuota;
+    }
+
+    public long getOverflow() {
+        return overflow;
+    }
+
+    public synchronized long getOverflowGranted() {
+        return overflowGranted;
+    }
+
+    /**
+     * 各租户的用量
+     */
+    public List<TenantUsage> usage() {
+        List<TenantUsage> usage = new ArrayList<>(partitions.size());
+        partitions.values().forEach(partition -> {
+            CacheStats stats = partition.cache.stats();
+            usage.add(new TenantUsage(partition.tenantId, partition.cache.estimatedSize(), partition.weight(),
+                    partition.quota, partition.granted, stats.hitCount(), stats.missCount(), stats.evictionCount()));
+        });
+        return usage;
+    }
+
+    private Partition create(long tenantId) {
+        long quota = quotas.getOrDefault(tenantId, defaultQuota);
+        Cache<String, Object> cache = cacheFactory.apply(quota);
+        Tags tags = Tags.of("tenant", String.valueOf(tenantId));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName, tags);
+        Gauge.builder("aox.cache.tenant.weight", cache, TenantCachePartitions::weightOf)
+                .description("租户分区当前占用的权重")
+                .tags(tags.and("cache", cacheName))
+                .register(meterRegistry);
+        return new Partition(tenantId, quota, cache);
+    }
+
+    private static long weightOf(Cache<String, Object> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * 租户用量
+     *
+     * @param tenantId  租户ID
+     * @param size      条目数
+     * @param weight    占用权重
+     * @param quota     配额
+     * @param borrowed  从溢出池借用的权重
+     * @param hits      命中次数
+     * @param misses    未命中次数
+     * @param evictions 淘汰次数
+     */
+    public record TenantUsage(long tenantId, long size, long weight, long quota, long borrowed,
+                              long hits, long misses, long evictions) {
+    }
+
+    private static final class Partition {
+
+        private final long tenantId;
+        private final long quota;
+        private final Cache<String, Object> cache;
+        private final Policy.Eviction<String, Object> eviction;
+
+        /**
+         * 从溢出池借用的权重（由 TenantCachePartitions 加锁修改）
+         */
+        private volatile long granted;
+
+        private Partition(long tenantId, long quota, Cache<String, Object> cache) {
+            this.tenantId = tenantId;
+            this.quota = quota;
+            this.cache = cache;
+            this.eviction = cache.policy().eviction()
+                    .orElseThrow(() -> new IllegalStateException("租户分区缓存需要设置最大权重"));
+        }
+
+        private long weight() {
+            return weightOf(cache);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.aox.common.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 客户端缓存（RESP3 CLIENT TRACKING）配置属性
+ *
+ * @author Aox Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.client-cache")
+public class ClientSideCacheProperties {
+
+    /**
+     * 是否启用（需要 Redis 6+，仅支持单机模式）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 使用客户端缓存的键前缀，服务端按前缀广播失效（BCAST 模式）
+     */
+    private List<String> prefixes = new ArrayList<>(List.of("cache:data:config", "cache:data:dict:", "cache:data:oss:"));
+
+    /**
+     * 本地缓存的内存上限（按序列化后的字节数计）
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+}
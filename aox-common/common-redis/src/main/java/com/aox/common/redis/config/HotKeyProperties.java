@@ -0,0 +1,62 @@
+package com.aox.common.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 热点键探测配置属性
+ * 提升到本地的热点值的容量与过期时间由 redis.local-cache.caches.hot-key 配置
+ *
+ * @author Aox Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.hot-key")
+public class HotKeyProperties {
+
+    /**
+     * 是否启用热点键探测与本地提升
+     */
+    private boolean enabled = true;
+
+    /**
+     * 访问采样率（0~1），计数按采样率折算回实际 QPS
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * 单节点读取 QPS 达到该值的键视为热点
+     */
+    private long qpsThreshold = 500;
+
+    /**
+     * 衰减周期：每经过一个周期计数减半
+     */
+    private Duration decayInterval = Duration.ofSeconds(1);
+
+    /**
+     * 热点键表的最大条数
+     */
+    private int maxHotKeys = 100;
+
+    /**
+     * Count-Min Sketch 行数
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * Count-Min Sketch 每行计数器个数
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * 不参与热点提升的键前缀：值会按版本号固化到本地的键（权限、角色列表），
+     * 其他节点的热点副本不一定收到失效广播，读到旧值后会一直沿用到下次权限变更
+     */
+    private List<String> excludedPrefixes = new ArrayList<>(List.of("user:permissions:", "user:roles:"));
+}
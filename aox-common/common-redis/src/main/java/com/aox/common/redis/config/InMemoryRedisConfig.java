@@ -0,0 +1,36 @@
+package com.aox.common.redis.config;
+
+import com.aox.common.redis.memory.InMemoryRedisConnectionFactory;
+import com.aox.common.redis.memory.InMemoryRedisStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * 进程内 Redis 配置（spring.profiles.active 包含 memory-redis 时生效）
+ * 用内存实现替换 Lettuce 连接工厂（Spring Boot 的 Redis 自动配置检测到已有 RedisConnectionFactory 后不再创建），
+ * 适用于单节点部署与测试环境，不需要外部 Redis：
+ * 1. 数据只在本进程内，重启后丢失（登录会话、限流计数全部清空，用户需重新登录）
+ * 2. 不跨节点共享，多节点部署时会话与限流各节点独立，缓存失效广播也只在本节点生效
+ * 3. 客户端缓存与从节点读取检测到非 Lettuce 连接工厂后自动禁用
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Configuration
+@Profile("memory-redis")
+public class InMemoryRedisConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public InMemoryRedisStore inMemoryRedisStore() {
+        return new InMemoryRedisStore();
+    }
+
+    @Bean
+    public RedisConnectionFactory redisConnectionFactory(InMemoryRedisStore inMemoryRedisStore) {
+        log.warn("使用进程内 Redis（memory-redis），数据不持久化且不跨节点共享，仅适用于单节点与测试环境");
+        return new InMemoryRedisConnectionFactory(inMemoryRedisStore);
+    }
+}
@@ -0,0 +1,112 @@
+package com.aox.common.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 本地缓存配置属性
+ * 内置缓存（permission、user、short-term、config、data、hot-key）以 LocalCacheService 中的配置为默认值，
+ * 配置文件只覆盖设置了的字段；每个缓存都必须有容量上限（maxSize、maxWeight 或 tenantQuota），否则启动失败。
+ * 配置了 tenantQuota 的缓存按租户分区（见 TenantCachePartitions），maxSize / maxWeight 不再生效
+ *
+ * @author Aox Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.local-cache")
+public class LocalCacheProperties {
+
+    /**
+     * 缓存名称 -> 缓存配置
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    /**
+     * 单个缓存配置
+     */
+    @Data
+    public static class CacheSpec {
+
+        /**
+         * 最大条目数（与 maxWeight 二选一）
+         */
+        private Long maxSize;
+
+        /**
+         * 最大权重：集合、Map、数组按元素个数计，其他值计 1，用于缓存值大小差异较大的场景
+         */
+        private Long maxWeight;
+
+        /**
+         * 写入后过期时间
+         */
+        private Duration expireAfterWrite;
+
+        /**
+         * 访问后过期时间
+         */
+        private Duration expireAfterAccess;
+
+        /**
+         * 写入后刷新时间：超过后读取仍返回旧值，并在后台用本次读取的加载函数刷新，需小于 expireAfterWrite
+         */
+        private Duration refreshAfterWrite;
+
+        /**
+         * 每个租户的权重配额（权重计算同 maxWeight），设置后缓存按键中的 t{租户ID}: 段分区
+         */
+        private Long tenantQuota;
+
+        /**
+         * 单独指定配额的租户：租户ID -> 权重配额
+         */
+        private Map<Long, Long> tenantQuotas = new LinkedHashMap<>();
+
+        /**
+         * 所有租户共享的溢出池权重，租户用满配额后从这里借用
+         */
+        private Long tenantOverflow;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(long maxSize, Duration expireAfterWrite) {
+            this.maxSize = maxSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public CacheSpec(long tenantQuota, long tenantOverflow, Duration expireAfterWrite) {
+            this.tenantQuota = tenantQuota;
+            this.tenantOverflow = tenantOverflow;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        /**
+         * 以当前配置为默认值，合并 override 中设置了的字段
+         */
+        public CacheSpec merge(CacheSpec override) {
+            CacheSpec merged = new CacheSpec();
+            merged.maxSize = override.maxSize != null ? override.maxSize : maxSize;
+            merged.maxWeight = override.maxWeight != null ? override.maxWeight : maxWeight;
+            merged.expireAfterWrite = override.expireAfterWrite != null ? override.expireAfterWrite : expireAfterWrite;
+            merged.expireAfterAccess = override.expireAfterAccess != null ? override.expireAfterAccess : expireAfterAccess;
+            merged.refreshAfterWrite = override.refreshAfterWrite != null ? override.refreshAfterWrite : refreshAfterWrite;
+            merged.tenantQuota = override.tenantQuota != null ? override.tenantQuota : tenantQuota;
+            merged.tenantQuotas = override.tenantQuotas.isEmpty() ? tenantQuotas : override.tenantQuotas;
+            merged.tenantOverflow = override.tenantOverflow != null ? override.tenantOverflow : tenantOverflow;
+            return merged;
+        }
+
+        /**
+         * 是否设置了容量上限
+         */
+        public boolean hasSizeBound() {
+            return maxSize != null || maxWeight != null || tenantQuota != null;
+        }
+    }
+}
@@ -1,41 +1,105 @@
 package com.aox.common.redis.config;
 
+import cn.hutool.core.util.StrUtil;
+import com.aox.common.redis.serializer.CompactRedisSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Redis 配置类
  *
  * @author Aox Team
  */
+@Slf4j
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // 使用 GenericJackson2JsonRedisSerializer 来序列化和反序列化 redis 的 value 值
-        // 相比 Jackson2JsonRedisSerializer，它自动处理类型信息，无需手动配置 ObjectMapper
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
-
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
 
         // key 采用 String 的序列化方式
         template.setKeySerializer(stringRedisSerializer);
         // hash 的 key 也采用 String 的序列化方式
         template.setHashKeySerializer(stringRedisSerializer);
-        // value 序列化方式采用 jackson
-        template.setValueSerializer(serializer);
-        // hash 的 value 序列化方式采用 jackson
-        template.setHashValueSerializer(serializer);
+        // value 序列化方式由 redis.serializer.format 决定
+        template.setValueSerializer(redisValueSerializer);
+        // hash 的 value 序列化方式同上
+        template.setHashValueSerializer(redisValueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Redis 值序列化器
+     * json：GenericJackson2JsonRedisSerializer，自动处理类型信息，无需手动配置 ObjectMapper
+     * compact：紧凑二进制格式，兼容读取 json 格式写入的旧值
+     * 切换到 compact 需分两步发布：先让所有节点运行包含本序列化器的版本（仍为 json），再修改配置
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(
+            @Value("${redis.serializer.format:json}") String format,
+            @Value("${redis.serializer.types:}") String types,
+            @Value("${redis.serializer.compress-threshold:4096}") int compressThreshold) {
+        if (!"compact".equalsIgnoreCase(format)) {
+            // 注册 classpath 上的 Jackson 模块（JavaTimeModule 等），实体中的 LocalDateTime 才能写入缓存
+            return new GenericJackson2JsonRedisSerializer().configure(ObjectMapper::findAndRegisterModules);
+        }
+        Map<Integer, Class<?>> typeTable = parseTypeTable(types);
+        log.info("Redis 值序列化使用紧凑格式, types={}, compressThreshold={}", typeTable, compressThreshold);
+        return new CompactRedisSerializer(typeTable, compressThreshold);
+    }
+
+    /**
+     * 解析类型表，格式：编号:全限定类名，逗号分隔
+     */
+    private static Map<Integer, Class<?>> parseTypeTable(String types) {
+        Map<Integer, Class<?>> typeTable = new LinkedHashMap<>();
+        for (String entry : StrUtil.splitTrim(types, ',')) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Redis 序列化类型表配置错误: " + entry);
+            }
+            int id = Integer.parseInt(entry.substring(0, separator).trim());
+            String className = entry.substring(separator + 1).trim();
+            try {
+                Class<?> type = ClassUtils.forName(className, RedisConfig.class.getClassLoader());
+                if (typeTable.putIfAbsent(id, type) != null) {
+                    throw new IllegalArgumentException("Redis 序列化类型编号重复: " + id);
+                }
+            } catch (ClassNotFoundException e) {
+                // 类型所在模块未引入时跳过，对应的值回退为 JSON
+                log.warn("Redis 序列化类型不存在，已跳过: {}", className);
+            }
+        }
+        return typeTable;
+    }
+
+    /**
+     * Redis 消息监听容器（用于跨节点广播）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
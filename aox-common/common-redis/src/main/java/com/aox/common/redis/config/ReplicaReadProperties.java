@@ -0,0 +1,33 @@
+package com.aox.common.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 从节点读取配置属性
+ * 仅哨兵与集群模式生效；会话、限流、版本号等需要读到最新写入的键不要加入 prefixes。
+ * 二级缓存的 Redis 键（cache:data:）也不要加入：失效后从节点可能仍返回旧值，
+ * 回填到本地缓存后会在 localTtl 内一直命中，把毫秒级的复制延迟放大为分钟级的脏数据
+ *
+ * @author Aox Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.replica-read")
+public class ReplicaReadProperties {
+
+    /**
+     * 读取偏好（Lettuce ReadFrom）：upstream（只读主节点，即不启用）、upstreamPreferred、
+     * replicaPreferred、replica、lowestLatency、any
+     */
+    private String readFrom = "upstream";
+
+    /**
+     * 从节点读取的键前缀（纯缓存读取，允许短暂读到复制延迟内的旧值）
+     */
+    private List<String> prefixes = new ArrayList<>(List.of("user:permissions:", "user:roles:"));
+}
@@ -0,0 +1,541 @@
+package com.aox.common.redis.memory;
+
+import com.aox.common.redis.memory.InMemoryRedisStore.ScoreRange;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存 Redis 连接
+ * RedisConnection 接口的命令方法很多，这里以动态代理实现：各 xxxCommands() 返回代理自身，
+ * 按命令名与参数类型分派到 {@link InMemoryRedisStore}。支持的命令覆盖 RedisTemplate / StringRedisTemplate
+ * 在本项目中用到的字符串、Hash、Set、ZSet、List、过期、SCAN、Lua（替代实现）、发布订阅与 Pipeline，
+ * 其余命令（事务、Stream、Geo 等）抛出 InvalidDataAccessApiUsageException。
+ * Pipeline 与 Lettuce 一致：命令立即执行，结果暂存到 closePipeline 时一并返回（无返回值的命令不计入结果）。
+ *
+ * @author Aox Team
+ */
+final class InMemoryRedisConnection implements InvocationHandler {
+
+    private final InMemoryRedisStore store;
+    private final InMemoryScripts scripts;
+
+    private RedisConnection proxy;
+    private List<Object> pipelineResults;
+    private volatile InMemorySubscription subscription;
+    private volatile boolean closed;
+
+    private InMemoryRedisConnection(InMemoryRedisStore store, InMemoryScripts scripts) {
+        this.store = store;
+        this.scripts = scripts;
+    }
+
+    static RedisConnection create(InMemoryRedisStore store, InMemoryScripts scripts) {
+        InMemoryRedisConnection handler = new InMemoryRedisConnection(store, scripts);
+        handler.proxy = (RedisConnection) Proxy.newProxyInstance(RedisConnection.class.getClassLoader(),
+                new Class<?>[]{RedisConnection.class}, handler);
+        return handler.proxy;
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) {
+        Object[] a = args == null ? new Object[0] : args;
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return target == a[0];
+            case "hashCode":
+                return System.identityHashCode(target);
+            case "toString":
+                return "InMemoryRedisConnection@" + Integer.toHexString(System.identityHashCode(target));
+            case "close":
+                closed = true;
+                if (subscription != null) {
+                    subscription.close();
+                }
+                return null;
+            case "isClosed":
+                return closed;
+            case "getNativeConnection":
+                return store;
+            case "isQueueing":
+                return false;
+            case "isPipelined":
+                return pipelineResults != null;
+            case "openPipeline":
+                if (pipelineResults == null) {
+                    pipelineResults = new ArrayList<>();
+                }
+                return null;
+            case "closePipeline":
+                List<Object> results = pipelineResults == null ? new ArrayList<>() : pipelineResults;
+                pipelineResults = null;
+                return results;
+            case "isSubscribed":
+                return subscription != null && subscription.isAlive();
+            case "getSubscription":
+                return subscription;
+            default:
+                break;
+        }
+        if (name.endsWith("Commands") && a.length == 0 || "commands".equals(name)) {
+            return proxy;
+        }
+
+        Object result = command(name, a);
+        if (pipelineResults != null && method.getReturnType() != void.class) {
+            pipelineResults.add(result);
+            return null;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object command(String name, Object[] a) {
+        switch (name) {
+            // ============================键=============================
+            case "exists":
+                if (a[0] instanceof byte[] key) {
+                    return store.exists(key);
+                }
+                long count = 0;
+                for (byte[] key : (byte[][]) a[0]) {
+                    count += store.exists(key) ? 1 : 0;
+                }
+                return count;
+            case "del":
+            case "unlink":
+                return store.del(keys(a[0]));
+            case "type":
+                return store.type((byte[]) a[0]);
+            case "keys":
+                return new LinkedHashSet<>(store.keys(InMemoryRedisStore.str((byte[]) a[0])));
+            case "scan":
+                return scan((ScanOptions) a[a.length - 1]);
+            case "rename":
+                store.rename((byte[]) a[0], (byte[]) a[1]);
+                return null;
+            case "expire":
+                return store.pExpire((byte[]) a[0], TimeUnit.SECONDS.toMillis(number(a[1]).longValue()));
+            case "pExpire":
+                return store.pExpire((byte[]) a[0], number(a[1]).longValue());
+            case "expireAt":
+                return store.pExpireAt((byte[]) a[0], TimeUnit.SECONDS.toMillis(number(a[1]).longValue()));
+            case "pExpireAt":
+                return store.pExpireAt((byte[]) a[0], number(a[1]).longValue());
+            case "persist":
+                return store.persist((byte[]) a[0]);
+            case "ttl":
+            case "pTtl":
+                return ttl(name, (byte[]) a[0], a.length > 1 ? (TimeUnit) a[1] : null);
+
+            // ============================String=============================
+            case "get":
+                return store.get((byte[]) a[0]);
+            case "getSet":
+                return store.getSet((byte[]) a[0], (byte[]) a[1]);
+            case "getDel":
+                return store.atomically(() -> {
+                    byte[] value = store.get((byte[]) a[0]);
+                    store.del((byte[]) a[0]);
+                    return value;
+                });
+            case "mGet":
+                List<byte[]> values = new ArrayList<>();
+                for (byte[] key : keys(a[0])) {
+                    values.add(store.get(key));
+                }
+                return values;
+            case "set":
+                if (a.length == 2) {
+                    return store.set((byte[]) a[0], (byte[]) a[1], 0, false, SetOption.UPSERT);
+                }
+                return set((byte[]) a[0], (byte[]) a[1], (Expiration) a[2], (SetOption) a[3]);
+            case "setNX":
+                return store.set((byte[]) a[0], (byte[]) a[1], 0, false, SetOption.SET_IF_ABSENT);
+            case "setEx":
+                return store.set((byte[]) a[0], (byte[]) a[2],
+                        TimeUnit.SECONDS.toMillis(number(a[1]).longValue()), false, SetOption.UPSERT);
+            case "pSetEx":
+                return store.set((byte[]) a[0], (byte[]) a[2], number(a[1]).longValue(), false, SetOption.UPSERT);
+            case "mSet":
+                return store.atomically(() -> {
+                    ((Map<byte[], byte[]>) a[0]).forEach((key, value) ->
+                            store.set(key, value, 0, false, SetOption.UPSERT));
+                    return true;
+                });
+            case "incr":
+                return store.incrBy((byte[]) a[0], 1);
+            case "decr":
+                return store.incrBy((byte[]) a[0], -1);
+            case "incrBy":
+                if (a[1] instanceof Double || a[1] instanceof Float) {
+                    return store.incrByFloat((byte[]) a[0], number(a[1]).doubleValue());
+                }
+                return store.incrBy((byte[]) a[0], number(a[1]).longValue());
+            case "decrBy":
+                return store.incrBy((byte[]) a[0], -number(a[1]).longValue());
+
+            // ================================Hash=================================
+            case "hSet":
+                return store.hSet((byte[]) a[0], (byte[]) a[1], (byte[]) a[2]);
+            case "hSetNX":
+                return store.hSetNX((byte[]) a[0], (byte[]) a[1], (byte[]) a[2]);
+            case "hMSet":
+                store.hMSet((byte[]) a[0], (Map<byte[], byte[]>) a[1]);
+                return null;
+            case "hGet":
+                return store.hGet((byte[]) a[0], (byte[]) a[1]);
+            case "hMGet":
+                return store.hMGet((byte[]) a[0], keys(a[1]));
+            case "hGetAll":
+                return store.hGetAll((byte[]) a[0]);
+            case "hKeys":
+                return store.hKeys((byte[]) a[0]);
+            case "hVals":
+                return store.hVals((byte[]) a[0]);
+            case "hDel":
+                return store.hDel((byte[]) a[0], keys(a[1]));
+            case "hExists":
+                return store.hExists((byte[]) a[0], (byte[]) a[1]);
+            case "hLen":
+                return store.hLen((byte[]) a[0]);
+            case "hIncrBy":
+                return store.hIncrBy((byte[]) a[0], (byte[]) a[1], number(a[2]).longValue());
+
+            // ============================Set=============================
+            case "sAdd":
+                return store.sAdd((byte[]) a[0], keys(a[1]));
+            case "sRem":
+                return store.sRem((byte[]) a[0], keys(a[1]));
+            case "sMembers":
+                return store.sMembers((byte[]) a[0]);
+            case "sIsMember":
+                return store.sIsMember((byte[]) a[0], (byte[]) a[1]);
+            case "sCard":
+                return store.sCard((byte[]) a[0]);
+
+            // ============================ZSet=============================
+            case "zAdd":
+                return zAdd(a);
+            case "zIncrBy":
+                return store.zIncrBy((byte[]) a[0], number(a[1]).doubleValue(), (byte[]) a[2]);
+            case "zRem":
+                return store.zRem((byte[]) a[0], keys(a[1]));
+            case "zCard":
+                return store.zCard((byte[]) a[0]);
+            case "zScore":
+                return store.zScore((byte[]) a[0], (byte[]) a[1]);
+            case "zCount":
+                return store.zCount((byte[]) a[0], scoreRange(a));
+            case "zRemRangeByScore":
+                return store.zRemRangeByScore((byte[]) a[0], scoreRange(a));
+            case "zRange":
+            case "zRevRange":
+                return members(store.zRange((byte[]) a[0], number(a[1]).longValue(), number(a[2]).longValue(),
+                        "zRevRange".equals(name)));
+            case "zRangeWithScores":
+            case "zRevRangeWithScores":
+                return new LinkedHashSet<>(store.zRange((byte[]) a[0], number(a[1]).longValue(),
+                        number(a[2]).longValue(), "zRevRangeWithScores".equals(name)));
+            case "zRangeByScore":
+            case "zRevRangeByScore":
+                return members(zRangeByScore(a, "zRevRangeByScore".equals(name)));
+            case "zRangeByScoreWithScores":
+            case "zRevRangeByScoreWithScores":
+                return new LinkedHashSet<>(zRangeByScore(a, "zRevRangeByScoreWithScores".equals(name)));
+
+            // ===============================List=================================
+            case "rPush":
+                return store.rPush((byte[]) a[0], keys(a[1]));
+            case "lPush":
+                return store.lPush((byte[]) a[0], keys(a[1]));
+            case "lRange":
+                return store.lRange((byte[]) a[0], number(a[1]).longValue(), number(a[2]).longValue());
+            case "lLen":
+                return store.lLen((byte[]) a[0]);
+            case "lIndex":
+                return store.lIndex((byte[]) a[0], number(a[1]).longValue());
+            case "lSet":
+                store.lSet((byte[]) a[0], number(a[1]).longValue(), (byte[]) a[2]);
+                return null;
+            case "lRem":
+                return store.lRem((byte[]) a[0], number(a[1]).longValue(), (byte[]) a[2]);
+            case "lPop":
+                return store.lPop((byte[]) a[0]);
+            case "rPop":
+                return store.rPop((byte[]) a[0]);
+
+            // ============================Lua=============================
+            case "scriptLoad":
+                return scripts.load((byte[]) a[0]);
+            case "scriptExists":
+                List<Boolean> exists = new ArrayList<>();
+                for (String sha1 : (String[]) a[0]) {
+                    exists.add(scripts.exists(sha1));
+                }
+                return exists;
+            case "scriptFlush":
+                return null;
+            case "evalSha":
+                String sha1 = a[0] instanceof byte[] raw ? str(raw) : (String) a[0];
+                return scripts.execute(sha1, number(a[2]).intValue(), (byte[][]) a[3]);
+            case "eval":
+                return scripts.execute(scripts.load((byte[]) a[0]), number(a[2]).intValue(), (byte[][]) a[3]);
+
+            // ============================发布订阅=============================
+            case "publish":
+                return store.publish((byte[]) a[0], (byte[]) a[1]);
+            case "subscribe":
+            case "pSubscribe":
+                subscribe((MessageListener) a[0], (byte[][]) a[1], "pSubscribe".equals(name));
+                return null;
+
+            // ============================服务器=============================
+            case "ping":
+                return "PONG";
+            case "echo":
+                return a[0];
+            case "time":
+                long now = System.currentTimeMillis();
+                return a.length == 0 ? now : ((TimeUnit) a[0]).convert(now, TimeUnit.MILLISECONDS);
+            case "info":
+                return info();
+            case "dbSize":
+                return store.dbSize();
+            case "flushDb":
+            case "flushAll":
+                store.flushAll();
+                return null;
+            case "select":
+                if (number(a[0]).intValue() != 0) {
+                    throw new InvalidDataAccessApiUsageException("内存 Redis 仅支持 database 0");
+                }
+                return null;
+            default:
+                throw new InvalidDataAccessApiUsageException("内存 Redis 不支持该命令: " + name);
+        }
+    }
+
+    private Boolean set(byte[] key, byte[] value, Expiration expiration, SetOption option) {
+        long ttlMillis = 0;
+        if (expiration != null && !expiration.isPersistent() && !expiration.isKeepTtl()) {
+            ttlMillis = expiration.getExpirationTimeInMilliseconds();
+            if (expiration.isUnixTimestamp()) {
+                ttlMillis -= System.currentTimeMillis();
+                if (ttlMillis <= 0) {
+                    // 过期时间已过：写入即过期，等价于删除
+                    boolean written = store.set(key, value, 0, false, option);
+                    if (written) {
+                        store.del(key);
+                    }
+                    return written;
+                }
+            }
+        }
+        boolean keepTtl = expiration != null && expiration.isKeepTtl();
+        return store.set(key, value, ttlMillis, keepTtl, option == null ? SetOption.UPSERT : option);
+    }
+
+    /**
+     * TTL / PTTL：键不存在返回 -2，永久有效返回 -1，负数不做单位换算
+     */
+    private Long ttl(String name, byte[] key, TimeUnit unit) {
+        long millis = store.pTtl(key);
+        if (millis < 0) {
+            return millis;
+        }
+        if (unit != null) {
+            return unit.convert(millis, TimeUnit.MILLISECONDS);
+        }
+        return "pTtl".equals(name) ? millis : (millis + 500) / 1000;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object zAdd(Object[] a) {
+        byte[] key = (byte[]) a[0];
+        ZAddArgs args = a[a.length - 1] instanceof ZAddArgs zAddArgs ? zAddArgs : ZAddArgs.empty();
+        boolean nx = args.contains(ZAddArgs.Flag.NX);
+        boolean xx = args.contains(ZAddArgs.Flag.XX);
+        if (a[1] instanceof Number score) {
+            return store.zAdd(key, score.doubleValue(), (byte[]) a[2], nx, xx);
+        }
+        return store.atomically(() -> {
+            long added = 0;
+            for (Tuple tuple : (Set<Tuple>) a[1]) {
+                added += store.zAdd(key, tuple.getScore(), tuple.getValue(), nx, xx) ? 1 : 0;
+            }
+            return added;
+        });
+    }
+
+    /**
+     * ZRANGEBYSCORE 参数：(key, Range[, Limit]) 或 (key, min, max[, offset, count])
+     */
+    private List<Tuple> zRangeByScore(Object[] a, boolean reverse) {
+        long offset = 0;
+        long count = -1;
+        if (a[1] instanceof Range<?>) {
+            if (a.length > 2 && a[2] instanceof Limit limit && !limit.isUnlimited()) {
+                offset = limit.getOffset();
+                count = limit.getCount();
+            }
+        } else if (a.length > 4) {
+            offset = number(a[3]).longValue();
+            count = number(a[4]).longValue();
+        }
+        return store.zRangeByScore((byte[]) a[0], scoreRange(a), offset, count, reverse);
+    }
+
+    /**
+     * 分值范围参数：(key, Range) 或 (key, min, max)
+     */
+    @SuppressWarnings("unchecked")
+    private static ScoreRange scoreRange(Object[] a) {
+        if (a[1] instanceof Range<?> range) {
+            Range.Bound<Object> lower = ((Range<Object>) range).getLowerBound();
+            Range.Bound<Object> upper = ((Range<Object>) range).getUpperBound();
+            return new ScoreRange(
+                    lower.getValue().map(InMemoryRedisConnection::score).orElse(Double.NEGATIVE_INFINITY),
+                    lower.isInclusive() || !lower.isBounded(),
+                    upper.getValue().map(InMemoryRedisConnection::score).orElse(Double.POSITIVE_INFINITY),
+                    upper.isInclusive() || !upper.isBounded());
+        }
+        return ScoreRange.closed(score(a[1]), score(a[2]));
+    }
+
+    private static double score(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        String text = value instanceof byte[] raw ? str(raw) : String.valueOf(value);
+        return switch (text) {
+            case "-inf" -> Double.NEGATIVE_INFINITY;
+            case "+inf", "inf" -> Double.POSITIVE_INFINITY;
+            default -> Double.parseDouble(text);
+        };
+    }
+
+    private static Set<byte[]> members(List<Tuple> tuples) {
+        Set<byte[]> members = new LinkedHashSet<>();
+        tuples.forEach(tuple -> members.add(tuple.getValue()));
+        return members;
+    }
+
+    /**
+     * SCAN：取匹配键的快照逐个返回（内存数据量有限，不做分批）
+     */
+    private Cursor<byte[]> scan(ScanOptions options) {
+        String pattern = options == null ? null : options.getPattern();
+        return new SnapshotCursor(store.keys(pattern == null
+                ? null : InMemoryRedisStore.str(pattern.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private void subscribe(MessageListener listener, byte[][] names, boolean pattern) {
+        if (subscription != null && subscription.isAlive()) {
+            throw new InvalidDataAccessApiUsageException("连接已处于订阅状态，请通过 getSubscription() 追加订阅");
+        }
+        InMemorySubscription newSubscription = new InMemorySubscription(listener, store);
+        subscription = newSubscription;
+        if (pattern) {
+            newSubscription.pSubscribe(names);
+        } else {
+            newSubscription.subscribe(names);
+        }
+        newSubscription.await();
+    }
+
+    private Properties info() {
+        Properties info = new Properties();
+        info.setProperty("redis_version", "7.0.0");
+        info.setProperty("redis_mode", "standalone");
+        info.setProperty("aox_backend", "in-memory");
+        info.setProperty("db0", "keys=" + store.dbSize());
+        return info;
+    }
+
+    private static byte[][] keys(Object value) {
+        if (value instanceof byte[][] keys) {
+            return keys;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.toArray(new byte[0][]);
+        }
+        return new byte[][]{(byte[]) value};
+    }
+
+    private static Number number(Object value) {
+        return (Number) value;
+    }
+
+    private static String str(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 快照游标
+     */
+    private static final class SnapshotCursor implements Cursor<byte[]> {
+
+        private final Iterator<byte[]> iterator;
+        private long position;
+        private boolean closed;
+
+        private SnapshotCursor(List<byte[]> keys) {
+            this.iterator = keys.iterator();
+        }
+
+        @Override
+        public long getCursorId() {
+            return 0;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public long getPosition() {
+            return position;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !closed && iterator.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            position++;
+            return iterator.next();
+        }
+    }
+}
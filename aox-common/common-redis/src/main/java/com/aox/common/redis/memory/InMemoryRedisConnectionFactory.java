@@ -0,0 +1,55 @@
+package com.aox.common.redis.memory;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+/**
+ * 内存 Redis 连接工厂
+ * 在连接工厂这一层替换 Redis，RedisTemplate、StringRedisTemplate、Lua 脚本与 RedisMessageListenerContainer
+ * 的使用方无需任何改动。每次 getConnection 返回一个轻量连接，所有连接共享同一个 {@link InMemoryRedisStore}。
+ *
+ * @author Aox Team
+ */
+public class InMemoryRedisConnectionFactory implements RedisConnectionFactory {
+
+    private final InMemoryRedisStore store;
+    private final InMemoryScripts scripts;
+
+    public InMemoryRedisConnectionFactory(InMemoryRedisStore store) {
+        this.store = store;
+        this.scripts = new InMemoryScripts(store);
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        return InMemoryRedisConnection.create(store, scripts);
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        throw new InvalidDataAccessApiUsageException("内存 Redis 不支持集群模式");
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return true;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        throw new InvalidDataAccessApiUsageException("内存 Redis 不支持哨兵模式");
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return ex instanceof DataAccessException dataAccessException ? dataAccessException : null;
+    }
+
+    public InMemoryRedisStore getStore() {
+        return store;
+    }
+}
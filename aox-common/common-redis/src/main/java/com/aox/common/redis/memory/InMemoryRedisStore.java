@@ -0,0 +1,929 @@
+package com.aox.common.redis.memory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 进程内 Redis 数据存储（memory-redis 配置文件使用）
+ * 1. 与 Redis 一样按单线程语义执行：所有命令在同一把锁内完成，单条命令与 Lua 脚本替代实现均为原子操作
+ * 2. 支持字符串（含原子 INCRBY）、Hash、Set、ZSet、List 与发布订阅，集合类型删空后键随之删除
+ * 3. 过期时间：访问时惰性检查，另有时间轮（100ms 一格、1024 格）定期清理从未再被访问的过期键
+ * 键、Hash 字段与集合成员按 ISO-8859-1 转为字符串保存，与原始字节一一对应。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+public class InMemoryRedisStore {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 1024;
+
+    private final Map<String, Entry> data = new HashMap<>();
+
+    /**
+     * 时间轮：每格为到期时间落在该格的键（键的过期时间变化后旧格中的引用在处理时丢弃）
+     */
+    @SuppressWarnings("unchecked")
+    private final Set<String>[] wheel = new Set[WHEEL_SIZE];
+    private long lastTick = System.currentTimeMillis() / TICK_MILLIS;
+
+    private final List<InMemorySubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<String, Pattern> globPatterns = new HashMap<>();
+
+    private final ScheduledExecutorService expireExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "aox-memory-redis-expire");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 消息投递线程：与 Redis 一样异步且按发布顺序投递
+     */
+    private final ExecutorService pubSubExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "aox-memory-redis-pubsub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InMemoryRedisStore() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new HashSet<>();
+        }
+        expireExecutor.scheduleWithFixedDelay(this::advanceWheel, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 在同一把锁内执行多条命令（Lua 脚本的替代实现使用）
+     */
+    public synchronized <T> T atomically(java.util.function.Supplier<T> commands) {
+        return commands.get();
+    }
+
+    // ============================键=============================
+
+    public synchronized boolean exists(byte[] key) {
+        return entry(key) != null;
+    }
+
+    public synchronized long del(byte[]... keys) {
+        long deleted = 0;
+        for (byte[] key : keys) {
+            if (entry(key) != null) {
+                data.remove(str(key));
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    public synchronized DataType type(byte[] key) {
+        Entry entry = entry(key);
+        if (entry == null) {
+            return DataType.NONE;
+        }
+        if (entry.value instanceof byte[]) {
+            return DataType.STRING;
+        }
+        if (entry.value instanceof Map) {
+            return DataType.HASH;
+        }
+        if (entry.value instanceof ZSet) {
+            return DataType.ZSET;
+        }
+        if (entry.value instanceof Set) {
+            return DataType.SET;
+        }
+        return DataType.LIST;
+    }
+
+    /**
+     * 匹配的键（pattern 为 null 时返回全部）
+     */
+    public synchronized List<byte[]> keys(String pattern) {
+        Pattern regex = pattern == null ? null : glob(pattern);
+        long now = System.currentTimeMillis();
+        List<byte[]> keys = new ArrayList<>();
+        data.forEach((key, entry) -> {
+            if (!entry.isExpired(now) && (regex == null || regex.matcher(key).matches())) {
+                keys.add(bytes(key));
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * 设置过期时间（毫秒），小于等于 0 时与 Redis 一样直接删除键
+     */
+    public synchronized boolean pExpire(byte[] key, long millis) {
+        return pExpireAt(key, System.currentTimeMillis() + millis);
+    }
+
+    public synchronized boolean pExpireAt(byte[] key, long timestamp) {
+        Entry entry = entry(key);
+        if (entry == null) {
+            return false;
+        }
+        if (timestamp <= System.currentTimeMillis()) {
+            data.remove(str(key));
+        } else {
+            expireAt(str(key), entry, timestamp);
+        }
+        return true;
+    }
+
+    public synchronized boolean persist(byte[] key) {
+        Entry entry = entry(key);
+        if (entry == null || entry.expireAt == 0) {
+            return false;
+        }
+        entry.expireAt = 0;
+        return true;
+    }
+
+    /**
+     * 剩余过期时间（毫秒），-1 表示永久有效，-2 表示键不存在
+     */
+    public synchronized long pTtl(byte[] key) {
+        Entry entry = entry(key);
+        if (entry == null) {
+            return -2;
+        }
+        return entry.expireAt == 0 ? -1 : Math.max(0, entry.expireAt - System.currentTimeMillis());
+    }
+
+    public synchronized void rename(byte[] oldKey, byte[] newKey) {
+        Entry entry = entry(oldKey);
+        if (entry == null) {
+            throw new InvalidDataAccessApiUsageException("ERR no such key");
+        }
+        data.remove(str(oldKey));
+        data.put(str(newKey), entry);
+        if (entry.expireAt != 0) {
+            wheel[slot(entry.expireAt)].add(str(newKey));
+        }
+    }
+
+    public synchronized long dbSize() {
+        long now = System.currentTimeMillis();
+        return data.values().stream().filter(entry -> !entry.isExpired(now)).count();
+    }
+
+    public synchronized void flushAll() {
+        data.clear();
+        for (Set<String> slot : wheel) {
+            slot.clear();
+        }
+    }
+
+    // ============================String=============================
+
+    public synchronized byte[] get(byte[] key) {
+        return value(key, byte[].class);
+    }
+
+    /**
+     * 写入字符串
+     *
+     * @param ttlMillis 过期时间（毫秒），小于等于 0 表示不过期
+     * @param keepTtl   是否保留原有的过期时间
+     * @param option    写入条件
+     * @return 是否写入
+     */
+    public synchronized boolean set(byte[] key, byte[] value, long ttlMillis, boolean keepTtl, SetOption option) {
+        Entry existing = entry(key);
+        if (option == SetOption.SET_IF_ABSENT && existing != null
+                || option == SetOption.SET_IF_PRESENT && existing == null) {
+            return false;
+        }
+        Entry entry = new Entry(value);
+        data.put(str(key), entry);
+        if (ttlMillis > 0) {
+            expireAt(str(key), entry, System.currentTimeMillis() + ttlMillis);
+        } else if (keepTtl && existing != null) {
+            entry.expireAt = existing.expireAt;
+        }
+        return true;
+    }
+
+    public synchronized byte[] getSet(byte[] key, byte[] value) {
+        byte[] old = value(key, byte[].class);
+        data.put(str(key), new Entry(value));
+        return old;
+    }
+
+    /**
+     * 原子递增（保留原有的过期时间）
+     */
+    public synchronized long incrBy(byte[] key, long delta) {
+        Entry entry = entry(key);
+        long current = 0;
+        if (entry != null) {
+            current = parseLong(cast(entry, byte[].class));
+        }
+        long value = Math.addExact(current, delta);
+        if (entry == null) {
+            data.put(str(key), new Entry(ascii(value)));
+        } else {
+            entry.value = ascii(value);
+        }
+        return value;
+    }
+
+    public synchronized double incrByFloat(byte[] key, double delta) {
+        Entry entry = entry(key);
+        double current = 0;
+        if (entry != null) {
+            try {
+                current = Double.parseDouble(new String(cast(entry, byte[].class), StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new InvalidDataAccessApiUsageException("ERR value is not a valid float");
+            }
+        }
+        double value = current + delta;
+        byte[] raw = String.valueOf(value).getBytes(StandardCharsets.US_ASCII);
+        if (entry == null) {
+            data.put(str(key), new Entry(raw));
+        } else {
+            entry.value = raw;
+        }
+        return value;
+    }
+
+    // ================================Hash=================================
+
+    public synchronized boolean hSet(byte[] key, byte[] field, byte[] value) {
+        return hash(key, true).put(str(field), value) == null;
+    }
+
+    public synchronized boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        return hash(key, true).putIfAbsent(str(field), value) == null;
+    }
+
+    public synchronized void hMSet(byte[] key, Map<byte[], byte[]> values) {
+        Map<String, byte[]> hash = hash(key, true);
+        values.forEach((field, value) -> hash.put(str(field), value));
+    }
+
+    public synchronized byte[] hGet(byte[] key, byte[] field) {
+        Map<String, byte[]> hash = hash(key, false);
+        return hash == null ? null : hash.get(str(field));
+    }
+
+    public synchronized List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        Map<String, byte[]> hash = hash(key, false);
+        List<byte[]> values = new ArrayList<>(fields.length);
+        for (byte[] field : fields) {
+            values.add(hash == null ? null : hash.get(str(field)));
+        }
+        return values;
+    }
+
+    public synchronized Map<byte[], byte[]> hGetAll(byte[] key) {
+        Map<String, byte[]> hash = hash(key, false);
+        Map<byte[], byte[]> result = new LinkedHashMap<>();
+        if (hash != null) {
+            hash.forEach((field, value) -> result.put(bytes(field), value));
+        }
+        return result;
+    }
+
+    public synchronized Set<byte[]> hKeys(byte[] key) {
+        Map<String, byte[]> hash = hash(key, false);
+        Set<byte[]> result = new LinkedHashSet<>();
+        if (hash != null) {
+            hash.keySet().forEach(field -> result.add(bytes(field)));
+        }
+        return result;
+    }
+
+    public synchronized List<byte[]> hVals(byte[] key) {
+        Map<String, byte[]> hash = hash(key, false);
+        return hash == null ? new ArrayList<>() : new ArrayList<>(hash.values());
+    }
+
+    public synchronized long hDel(byte[] key, byte[]... fields) {
+        Map<String, byte[]> hash = hash(key, false);
+        if (hash == null) {
+            return 0;
+        }
+        long deleted = 0;
+        for (byte[] field : fields) {
+            if (hash.remove(str(field)) != null) {
+                deleted++;
+            }
+        }
+        removeIfEmpty(key, hash.isEmpty());
+        return deleted;
+    }
+
+    public synchronized boolean hExists(byte[] key, byte[] field) {
+        Map<String, byte[]> hash = hash(key, false);
+        return hash != null && hash.containsKey(str(field));
+    }
+
+    public synchronized long hLen(byte[] key) {
+        Map<String, byte[]> hash = hash(key, false);
+        return hash == null ? 0 : hash.size();
+    }
+
+    public synchronized long hIncrBy(byte[] key, byte[] field, long delta) {
+        Map<String, byte[]> hash = hash(key, true);
+        byte[] current = hash.get(str(field));
+        long value = Math.addExact(current == null ? 0 : parseLong(current), delta);
+        hash.put(str(field), ascii(value));
+        return value;
+    }
+
+    // ============================Set=============================
+
+    public synchronized long sAdd(byte[] key, byte[]... members) {
+        Set<String> set = set(key, true);
+        long added = 0;
+        for (byte[] member : members) {
+            if (set.add(str(member))) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    public synchronized long sRem(byte[] key, byte[]... members) {
+        Set<String> set = set(key, false);
+        if (set == null) {
+            return 0;
+        }
+        long removed = 0;
+        for (byte[] member : members) {
+            if (set.remove(str(member))) {
+                removed++;
+            }
+        }
+        removeIfEmpty(key, set.isEmpty());
+        return removed;
+    }
+
+    public synchronized Set<byte[]> sMembers(byte[] key) {
+        Set<String> set = set(key, false);
+        Set<byte[]> result = new LinkedHashSet<>();
+        if (set != null) {
+            set.forEach(member -> result.add(bytes(member)));
+        }
+        return result;
+    }
+
+    public synchronized boolean sIsMember(byte[] key, byte[] member) {
+        Set<String> set = set(key, false);
+        return set != null && set.contains(str(member));
+    }
+
+    public synchronized long sCard(byte[] key) {
+        Set<String> set = set(key, false);
+        return set == null ? 0 : set.size();
+    }
+
+    // ============================ZSet=============================
+
+    /**
+     * 添加或更新成员分值
+     *
+     * @param onlyIfAbsent 仅添加新成员（NX）
+     * @param onlyIfExists 仅更新已有成员（XX）
+     * @return 是否新增了成员
+     */
+    public synchronized boolean zAdd(byte[] key, double score, byte[] member,
+                                     boolean onlyIfAbsent, boolean onlyIfExists) {
+        ZSet zset = onlyIfExists ? zset(key, false) : zset(key, true);
+        if (zset == null) {
+            return false;
+        }
+        String name = str(member);
+        boolean exists = zset.scores.containsKey(name);
+        if (exists && onlyIfAbsent || !exists && onlyIfExists) {
+            return false;
+        }
+        zset.put(name, score);
+        return !exists;
+    }
+
+    public synchronized double zIncrBy(byte[] key, double delta, byte[] member) {
+        ZSet zset = zset(key, true);
+        String name = str(member);
+        double score = zset.scores.getOrDefault(name, 0D) + delta;
+        zset.put(name, score);
+        return score;
+    }
+
+    public synchronized long zRem(byte[] key, byte[]... members) {
+        ZSet zset = zset(key, false);
+        if (zset == null) {
+            return 0;
+        }
+        long removed = 0;
+        for (byte[] member : members) {
+            if (zset.remove(str(member))) {
+                removed++;
+            }
+        }
+        removeIfEmpty(key, zset.scores.isEmpty());
+        return removed;
+    }
+
+    public synchronized long zCard(byte[] key) {
+        ZSet zset = zset(key, false);
+        return zset == null ? 0 : zset.scores.size();
+    }
+
+    public synchronized Double zScore(byte[] key, byte[] member) {
+        ZSet zset = zset(key, false);
+        return zset == null ? null : zset.scores.get(str(member));
+    }
+
+    public synchronized long zCount(byte[] key, ScoreRange range) {
+        ZSet zset = zset(key, false);
+        return zset == null ? 0 : zset.ordered.stream().filter(member -> range.contains(member.score())).count();
+    }
+
+    public synchronized long zRemRangeByScore(byte[] key, ScoreRange range) {
+        ZSet zset = zset(key, false);
+        if (zset == null) {
+            return 0;
+        }
+        long removed = 0;
+        Iterator<ZMember> iterator = zset.ordered.iterator();
+        while (iterator.hasNext()) {
+            ZMember member = iterator.next();
+            if (range.contains(member.score())) {
+                iterator.remove();
+                zset.scores.remove(member.name());
+                removed++;
+            }
+        }
+        removeIfEmpty(key, zset.scores.isEmpty());
+        return removed;
+    }
+
+    /**
+     * 按排名范围取成员（ZRANGE / ZREVRANGE，支持负数下标）
+     */
+    public synchronized List<Tuple> zRange(byte[] key, long start, long stop, boolean reverse) {
+        ZSet zset = zset(key, false);
+        if (zset == null) {
+            return new ArrayList<>();
+        }
+        List<ZMember> members = new ArrayList<>(reverse ? zset.ordered.descendingSet() : zset.ordered);
+        return slice(members, start, stop).stream().map(InMemoryRedisStore::tuple).toList();
+    }
+
+    /**
+     * 按分值范围取成员（ZRANGEBYSCORE / ZREVRANGEBYSCORE）
+     *
+     * @param count 最多返回个数，小于 0 表示不限
+     */
+    public synchronized List<Tuple> zRangeByScore(byte[] key, ScoreRange range, long offset, long count,
+                                                  boolean reverse) {
+        ZSet zset = zset(key, false);
+        List<Tuple> result = new ArrayList<>();
+        if (zset == null) {
+            return result;
+        }
+        long skipped = 0;
+        for (ZMember member : reverse ? zset.ordered.descendingSet() : zset.ordered) {
+            if (!range.contains(member.score())) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            if (count >= 0 && result.size() >= count) {
+                break;
+            }
+            result.add(tuple(member));
+        }
+        return result;
+    }
+
+    // ===============================List=================================
+
+    public synchronized long rPush(byte[] key, byte[]... values) {
+        List<byte[]> list = list(key, true);
+        list.addAll(Arrays.asList(values));
+        return list.size();
+    }
+
+    public synchronized long lPush(byte[] key, byte[]... values) {
+        List<byte[]> list = list(key, true);
+        for (byte[] value : values) {
+            list.add(0, value);
+        }
+        return list.size();
+    }
+
+    public synchronized List<byte[]> lRange(byte[] key, long start, long stop) {
+        List<byte[]> list = list(key, false);
+        return list == null ? new ArrayList<>() : new ArrayList<>(slice(list, start, stop));
+    }
+
+    public synchronized long lLen(byte[] key) {
+        List<byte[]> list = list(key, false);
+        return list == null ? 0 : list.size();
+    }
+
+    public synchronized byte[] lIndex(byte[] key, long index) {
+        List<byte[]> list = list(key, false);
+        if (list == null) {
+            return null;
+        }
+        long position = index < 0 ? list.size() + index : index;
+        return position < 0 || position >= list.size() ? null : list.get((int) position);
+    }
+
+    public synchronized void lSet(byte[] key, long index, byte[] value) {
+        List<byte[]> list = list(key, false);
+        if (list == null) {
+            throw new InvalidDataAccessApiUsageException("ERR no such key");
+        }
+        long position = index < 0 ? list.size() + index : index;
+        if (position < 0 || position >= list.size()) {
+            throw new InvalidDataAccessApiUsageException("ERR index out of range");
+        }
+        list.set((int) position, value);
+    }
+
+    /**
+     * 删除值为 value 的元素：count 大于 0 从头删，小于 0 从尾删，等于 0 全部删除
+     */
+    public synchronized long lRem(byte[] key, long count, byte[] value) {
+        List<byte[]> list = list(key, false);
+        if (list == null) {
+            return 0;
+        }
+        long removed = 0;
+        long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        if (count >= 0) {
+            for (Iterator<byte[]> iterator = list.iterator(); iterator.hasNext() && removed < limit; ) {
+                if (Arrays.equals(iterator.next(), value)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        } else {
+            for (int i = list.size() - 1; i >= 0 && removed < limit; i--) {
+                if (Arrays.equals(list.get(i), value)) {
+                    list.remove(i);
+                    removed++;
+                }
+            }
+        }
+        removeIfEmpty(key, list.isEmpty());
+        return removed;
+    }
+
+    public synchronized byte[] lPop(byte[] key) {
+        List<byte[]> list = list(key, false);
+        if (list == null) {
+            return null;
+        }
+        byte[] value = list.remove(0);
+        removeIfEmpty(key, list.isEmpty());
+        return value;
+    }
+
+    public synchronized byte[] rPop(byte[] key) {
+        List<byte[]> list = list(key, false);
+        if (list == null) {
+            return null;
+        }
+        byte[] value = list.remove(list.size() - 1);
+        removeIfEmpty(key, list.isEmpty());
+        return value;
+    }
+
+    // ============================发布订阅=============================
+
+    /**
+     * 发布消息
+     *
+     * @return 收到消息的订阅数
+     */
+    public long publish(byte[] channel, byte[] message) {
+        String name = str(channel);
+        long receivers = 0;
+        for (InMemorySubscription subscription : subscriptions) {
+            if (!subscription.isAlive()) {
+                continue;
+            }
+            for (byte[] subscribed : subscription.getChannels()) {
+                if (Arrays.equals(subscribed, channel)) {
+                    receivers++;
+                    pubSubExecutor.execute(() -> subscription.deliver(new DefaultMessage(channel, message), null));
+                }
+            }
+            for (byte[] pattern : subscription.getPatterns()) {
+                if (globMatches(str(pattern), name)) {
+                    receivers++;
+                    pubSubExecutor.execute(() -> subscription.deliver(new DefaultMessage(channel, message), pattern));
+                }
+            }
+        }
+        return receivers;
+    }
+
+    void addSubscription(InMemorySubscription subscription) {
+        subscriptions.add(subscription);
+    }
+
+    void removeSubscription(InMemorySubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * 停止过期清理与消息投递线程
+     */
+    public void shutdown() {
+        expireExecutor.shutdownNow();
+        pubSubExecutor.shutdownNow();
+    }
+
+    // ============================内部方法=============================
+
+    /**
+     * 未过期的条目，已过期的顺带删除
+     */
+    private Entry entry(byte[] key) {
+        String name = str(key);
+        Entry entry = data.get(name);
+        if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+            data.remove(name);
+            return null;
+        }
+        return entry;
+    }
+
+    private <T> T value(byte[] key, Class<T> type) {
+        Entry entry = entry(key);
+        return entry == null ? null : cast(entry, type);
+    }
+
+    private static <T> T cast(Entry entry, Class<T> type) {
+        if (!type.isInstance(entry.value)) {
+            throw new InvalidDataAccessApiUsageException(
+                    "WRONGTYPE Operation against a key holding the wrong kind of value");
+        }
+        return type.cast(entry.value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> hash(byte[] key, boolean create) {
+        return (Map<String, byte[]>) container(key, Map.class, create, LinkedHashMap::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> set(byte[] key, boolean create) {
+        Entry entry = entry(key);
+        if (entry != null && entry.value instanceof ZSet) {
+            throw new InvalidDataAccessApiUsageException(
+                    "WRONGTYPE Operation against a key holding the wrong kind of value");
+        }
+        return (Set<String>) container(key, Set.class, create, LinkedHashSet::new);
+    }
+
+    private ZSet zset(byte[] key, boolean create) {
+        return container(key, ZSet.class, create, ZSet::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<byte[]> list(byte[] key, boolean create) {
+        return (List<byte[]>) container(key, List.class, create, ArrayList::new);
+    }
+
+    private <T> T container(byte[] key, Class<T> type, boolean create, java.util.function.Supplier<T> factory) {
+        Entry entry = entry(key);
+        if (entry != null) {
+            return cast(entry, type);
+        }
+        if (!create) {
+            return null;
+        }
+        T value = factory.get();
+        data.put(str(key), new Entry(value));
+        return value;
+    }
+
+    private void removeIfEmpty(byte[] key, boolean empty) {
+        if (empty) {
+            data.remove(str(key));
+        }
+    }
+
+    private void expireAt(String key, Entry entry, long timestamp) {
+        entry.expireAt = timestamp;
+        wheel[slot(timestamp)].add(key);
+    }
+
+    private static int slot(long timestamp) {
+        return (int) ((timestamp / TICK_MILLIS) % WHEEL_SIZE);
+    }
+
+    /**
+     * 时间轮推进：处理自上次以来经过的各格，删除已过期的键；
+     * 还未到期（属于之后轮次）的键留在原格，过期时间已变化的引用直接丢弃
+     */
+    private synchronized void advanceWheel() {
+        try {
+            long now = System.currentTimeMillis();
+            long currentTick = now / TICK_MILLIS;
+            long from = Math.max(lastTick + 1, currentTick - WHEEL_SIZE + 1);
+            for (long tick = from; tick <= currentTick; tick++) {
+                int index = (int) (tick % WHEEL_SIZE);
+                Iterator<String> iterator = wheel[index].iterator();
+                while (iterator.hasNext()) {
+                    String key = iterator.next();
+                    Entry entry = data.get(key);
+                    if (entry == null || entry.expireAt == 0 || slot(entry.expireAt) != index) {
+                        iterator.remove();
+                    } else if (entry.isExpired(now)) {
+                        data.remove(key);
+                        iterator.remove();
+                    }
+                }
+            }
+            lastTick = currentTick;
+        } catch (Exception e) {
+            log.warn("内存 Redis 过期清理失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按下标截取（与 Redis 一致：负数从尾部计，越界截断）
+     */
+    private static <T> List<T> slice(List<T> list, long start, long stop) {
+        int size = list.size();
+        long from = start < 0 ? Math.max(0, size + start) : start;
+        long to = stop < 0 ? size + stop : Math.min(stop, size - 1L);
+        if (from > to || from >= size) {
+            return new ArrayList<>();
+        }
+        return list.subList((int) from, (int) to + 1);
+    }
+
+    private static Tuple tuple(ZMember member) {
+        return new DefaultTuple(bytes(member.name()), member.score());
+    }
+
+    boolean globMatches(String pattern, String value) {
+        return glob(pattern).matcher(value).matches();
+    }
+
+    /**
+     * Redis glob 模式（* ? [abc] [^a] [a-z] \x）转为正则表达式
+     */
+    private Pattern glob(String pattern) {
+        synchronized (globPatterns) {
+            return globPatterns.computeIfAbsent(pattern, InMemoryRedisStore::compileGlob);
+        }
+    }
+
+    private static Pattern compileGlob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        boolean inClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                    regex.append(']');
+                } else if (c == '^' && pattern.charAt(i - 1) == '[') {
+                    regex.append('^');
+                } else if (c == '-') {
+                    regex.append('-');
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            } else if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '[') {
+                inClass = true;
+                regex.append('[');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        if (inClass) {
+            regex.append(']');
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    static String str(byte[] bytes) {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long parseLong(byte[] raw) {
+        try {
+            return Long.parseLong(new String(raw, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            throw new InvalidDataAccessApiUsageException("ERR value is not an integer or out of range");
+        }
+    }
+
+    /**
+     * 分值范围
+     */
+    public record ScoreRange(double min, boolean minInclusive, double max, boolean maxInclusive) {
+
+        public static ScoreRange closed(double min, double max) {
+            return new ScoreRange(min, true, max, true);
+        }
+
+        boolean contains(double score) {
+            return (minInclusive ? score >= min : score > min) && (maxInclusive ? score <= max : score < max);
+        }
+    }
+
+    private static final class Entry {
+
+        private Object value;
+
+        /**
+         * 过期时间戳（毫秒），0 表示不过期
+         */
+        private long expireAt;
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt != 0 && expireAt <= now;
+        }
+    }
+
+    private record ZMember(String name, double score) {
+    }
+
+    /**
+     * 有序集合：成员 -> 分值，以及按（分值，成员）排序的集合
+     */
+    private static final class ZSet {
+
+        private static final Comparator<ZMember> ORDER =
+                Comparator.comparingDouble(ZMember::score).thenComparing(ZMember::name);
+
+        private final Map<String, Double> scores = new HashMap<>();
+        private final TreeSet<ZMember> ordered = new TreeSet<>(ORDER);
+
+        private void put(String name, double score) {
+            Double old = scores.put(name, score);
+            if (old != null) {
+                ordered.remove(new ZMember(name, old));
+            }
+            ordered.add(new ZMember(name, score));
+        }
+
+        private boolean remove(String name) {
+            Double old = scores.remove(name);
+            if (old == null) {
+                return false;
+            }
+            ordered.remove(new ZMember(name, old));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.aox.common.redis.memory;
+
+import com.aox.common.redis.memory.InMemoryRedisStore.ScoreRange;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.aox.common.redis.memory.InMemoryRedisStore.bytes;
+import static com.aox.common.redis.memory.InMemoryRedisStore.str;
+
+/**
+ * 内存 Redis 的 Lua 脚本替代实现
+ * 内存存储无法执行 Lua，classpath:scripts 下的脚本在这里各有一个语义一致的 Java 实现，
+ * 按脚本 SHA1 匹配（EVALSHA 与 EVAL 都按脚本内容的 SHA1 查找），在存储的锁内执行以保证原子性。
+ * 新增 Lua 脚本时需要同时在这里补充实现，未实现的脚本执行时报错。
+ *
+ * @author Aox Team
+ */
+public class InMemoryScripts {
+
+    private static final String SCRIPT_LOCATION = "scripts/";
+
+    private final InMemoryRedisStore store;
+
+    /**
+     * 脚本 SHA1 -> 替代实现
+     */
+    private final Map<String, ScriptFunction> functions = new ConcurrentHashMap<>();
+
+    public InMemoryScripts(InMemoryRedisStore store) {
+        this.store = store;
+        register("rate_limit_fixed_window", this::fixedWindow);
+        register("rate_limit_sliding_window", this::slidingWindow);
+        register("rate_limit_token_bucket", this::tokenBucket);
+        register("cache_tag_pop", this::tagPop);
+    }
+
+    private void register(String name, ScriptFunction function) {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(SCRIPT_LOCATION + name + ".lua")));
+        functions.put(script.getSha1(), function);
+        functions.put(sha1(script.getScriptAsString().getBytes(StandardCharsets.UTF_8)), function);
+    }
+
+    /**
+     * SCRIPT LOAD：只计算 SHA1，未实现的脚本在执行时报错
+     */
+    public String load(byte[] script) {
+        return sha1(script);
+    }
+
+    public boolean exists(String sha1) {
+        return functions.containsKey(sha1);
+    }
+
+    /**
+     * 执行脚本
+     *
+     * @param sha1        脚本 SHA1
+     * @param numKeys     键的个数
+     * @param keysAndArgs 键与参数
+     */
+    public Object execute(String sha1, int numKeys, byte[]... keysAndArgs) {
+        ScriptFunction function = functions.get(sha1);
+        if (function == null) {
+            throw new InvalidDataAccessApiUsageException("内存 Redis 未实现该 Lua 脚本: sha1=" + sha1);
+        }
+        byte[][] keys = new byte[numKeys][];
+        String[] args = new String[keysAndArgs.length - numKeys];
+        System.arraycopy(keysAndArgs, 0, keys, 0, numKeys);
+        for (int i = 0; i < args.length; i++) {
+            args[i] = new String(keysAndArgs[numKeys + i], StandardCharsets.UTF_8);
+        }
+        return store.atomically(() -> function.apply(keys, args));
+    }
+
+    /**
+     * rate_limit_fixed_window.lua
+     */
+    private List<Long> fixedWindow(byte[][] keys, String[] args) {
+        long limit = Long.parseLong(args[0]);
+        long window = Long.parseLong(args[1]);
+        long permits = Long.parseLong(args[2]);
+
+        byte[] raw = store.get(keys[0]);
+        long current = raw == null ? 0 : Long.parseLong(str(raw));
+        long ttl = store.pTtl(keys[0]);
+        long granted = 0;
+        if (current < limit) {
+            granted = Math.min(permits, limit - current);
+            current = store.incrBy(keys[0], granted);
+        }
+        if (ttl < 0) {
+            store.pExpire(keys[0], window);
+            ttl = window;
+        }
+        return List.of(granted, Math.max(0, limit - current), ttl);
+    }
+
+    /**
+     * rate_limit_sliding_window.lua
+     */
+    private List<Long> slidingWindow(byte[][] keys, String[] args) {
+        long limit = Long.parseLong(args[0]);
+        long window = Long.parseLong(args[1]);
+        long permits = Long.parseLong(args[2]);
+        long now = System.currentTimeMillis();
+
+        store.zRemRangeByScore(keys[0], ScoreRange.closed(0, now - window));
+        long count = store.zCard(keys[0]);
+        if (count >= limit) {
+            List<Tuple> oldest = store.zRange(keys[0], 0, 0, false);
+            long retry = window;
+            if (!oldest.isEmpty()) {
+                retry = Math.max(1, (long) (oldest.get(0).getScore() + window - now));
+            }
+            return List.of(0L, 0L, retry);
+        }
+
+        long granted = Math.min(permits, limit - count);
+        for (long i = 1; i <= granted; i++) {
+            store.zAdd(keys[0], now, bytes(args[3] + ":" + i), false, false);
+        }
+        store.pExpire(keys[0], window);
+        return List.of(granted, limit - count - granted, window);
+    }
+
+    /**
+     * rate_limit_token_bucket.lua
+     */
+    private List<Long> tokenBucket(byte[][] keys, String[] args) {
+        double capacity = Double.parseDouble(args[0]);
+        long period = Long.parseLong(args[1]);
+        double permits = Double.parseDouble(args[2]);
+        double rate = capacity / period;
+        long now = System.currentTimeMillis();
+
+        List<byte[]> bucket = store.hMGet(keys[0], bytes("tokens"), bytes("ts"));
+        Double tokens = parseDouble(bucket.get(0));
+        Double ts = parseDouble(bucket.get(1));
+        if (tokens == null || ts == null) {
+            tokens = capacity;
+            ts = (double) now;
+        }
+        tokens = Math.min(capacity, tokens + Math.max(0, now - ts) * rate);
+
+        long granted = (long) Math.min(permits, Math.floor(tokens));
+        tokens -= granted;
+        store.hSet(keys[0], bytes("tokens"), bytes(String.valueOf(tokens)));
+        store.hSet(keys[0], bytes("ts"), bytes(String.valueOf(now)));
+        store.pExpire(keys[0], period);
+
+        long retry = 0;
+        if (tokens < 1) {
+            retry = (long) Math.ceil((1 - tokens) / rate);
+        }
+        return List.of(granted, (long) Math.floor(tokens), retry);
+    }
+
+    /**
+     * cache_tag_pop.lua
+     */
+    private List<byte[]> tagPop(byte[][] keys, String[] args) {
+        List<byte[]> members = new ArrayList<>(store.sMembers(keys[0]));
+        store.del(keys[0]);
+        return members;
+    }
+
+    private static Double parseDouble(byte[] raw) {
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(str(raw));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String sha1(byte[] script) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(script));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ScriptFunction {
+
+        /**
+         * 执行脚本，返回值与 Lua 脚本一致（数字按 Long 返回）
+         */
+        Object apply(byte[][] keys, String[] args);
+    }
+}
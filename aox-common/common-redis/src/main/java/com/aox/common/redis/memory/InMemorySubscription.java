@@ -0,0 +1,93 @@
+package com.aox.common.redis.memory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.connection.util.AbstractSubscription;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 内存 Redis 订阅
+ * 与 Jedis 一样，SUBSCRIBE 阻塞调用线程直到订阅关闭（RedisMessageListenerContainer 在订阅返回后即关闭连接），
+ * 消息由存储的投递线程按发布顺序回调监听器。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+class InMemorySubscription extends AbstractSubscription {
+
+    private final InMemoryRedisStore store;
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    InMemorySubscription(MessageListener listener, InMemoryRedisStore store) {
+        super(listener, null, null);
+        this.store = store;
+        store.addSubscription(this);
+    }
+
+    /**
+     * 阻塞直到订阅关闭
+     */
+    void await() {
+        try {
+            closed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void deliver(Message message, byte[] pattern) {
+        if (!isAlive()) {
+            return;
+        }
+        try {
+            getListener().onMessage(message, pattern);
+        } catch (Exception e) {
+            log.warn("内存 Redis 消息处理失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected void doSubscribe(byte[]... channels) {
+        if (getListener() instanceof SubscriptionListener listener && channels != null) {
+            for (byte[] channel : channels) {
+                listener.onChannelSubscribed(channel, getChannels().size() + getPatterns().size());
+            }
+        }
+    }
+
+    @Override
+    protected void doPsubscribe(byte[]... patterns) {
+        if (getListener() instanceof SubscriptionListener listener && patterns != null) {
+            for (byte[] pattern : patterns) {
+                listener.onPatternSubscribed(pattern, getChannels().size() + getPatterns().size());
+            }
+        }
+    }
+
+    @Override
+    protected void doUnsubscribe(boolean all, byte[]... channels) {
+        if (getListener() instanceof SubscriptionListener listener && channels != null) {
+            for (byte[] channel : channels) {
+                listener.onChannelUnsubscribed(channel, getChannels().size() + getPatterns().size());
+            }
+        }
+    }
+
+    @Override
+    protected void doPUnsubscribe(boolean all, byte[]... patterns) {
+        if (getListener() instanceof SubscriptionListener listener && patterns != null) {
+            for (byte[] pattern : patterns) {
+                listener.onPatternUnsubscribed(pattern, getChannels().size() + getPatterns().size());
+            }
+        }
+    }
+
+    @Override
+    protected void doClose() {
+        store.removeSubscription(this);
+        closed.countDown();
+    }
+}
@@ -0,0 +1,109 @@
+package com.aox.common.redis.script;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua 脚本注册表
+ * 脚本放在 classpath:scripts/{name}.lua，注册时只读取一次并计算 SHA1，同时 SCRIPT LOAD 预加载到 Redis；
+ * 执行时发送 EVALSHA，仅传输 SHA1 而不是脚本全文。Redis 重启或主从切换导致脚本缓存丢失时，
+ * 底层执行器收到 NOSCRIPT 后会自动退回 EVAL 并重新缓存。
+ * 脚本参数与返回值按字符串传输，因此统一通过 StringRedisTemplate 执行。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Component
+public class RedisScriptRegistry {
+
+    private static final String SCRIPT_LOCATION = "scripts/";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 脚本名 -> 脚本
+     */
+    private final Map<String, RedisScript<?>> scripts = new ConcurrentHashMap<>();
+
+    public RedisScriptRegistry(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 注册脚本（同名脚本只加载一次）
+     *
+     * @param name       脚本名，对应 classpath:scripts/{name}.lua
+     * @param resultType 返回值类型（Long、Boolean、List、String）
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisScript<T> register(String name, Class<T> resultType) {
+        return (RedisScript<T>) scripts.computeIfAbsent(name, scriptName -> {
+            DefaultRedisScript<T> script = new DefaultRedisScript<>();
+            script.setScriptSource(new ResourceScriptSource(
+                    new ClassPathResource(SCRIPT_LOCATION + scriptName + ".lua")));
+            script.setResultType(resultType);
+            preload(scriptName, script);
+            return script;
+        });
+    }
+
+    /**
+     * 执行脚本
+     *
+     * @param script 已注册的脚本
+     * @param keys   脚本访问的键
+     * @param args   参数（按字符串传递）
+     */
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return stringRedisTemplate.execute(script, keys, toStrings(args));
+    }
+
+    /**
+     * 执行脚本，返回值按指定的序列化器反序列化（如返回 RedisTemplate 写入的值或集合成员）
+     *
+     * @param script           已注册的脚本
+     * @param resultSerializer 返回值序列化器（List 返回值按元素反序列化）
+     * @param keys             脚本访问的键
+     * @param args             参数（按字符串传递）
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, RedisSerializer<?> resultSerializer, List<String> keys, Object... args) {
+        // List 返回值由执行器逐个元素反序列化，序列化器的类型参数是元素类型而不是 T
+        return stringRedisTemplate.execute(script, stringRedisTemplate.getStringSerializer(),
+                (RedisSerializer<T>) resultSerializer, keys, toStrings(args));
+    }
+
+    private static Object[] toStrings(Object[] args) {
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = String.valueOf(args[i]);
+        }
+        return values;
+    }
+
+    /**
+     * 预加载脚本，失败不影响启动（首次执行时由 EVAL 兜底）
+     */
+    private void preload(String name, RedisScript<?> script) {
+        try {
+            byte[] source = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+            String sha1 = stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.scriptingCommands().scriptLoad(source));
+            log.info("Lua 脚本已加载: name={}, sha1={}", name, sha1);
+        } catch (Exception e) {
+            log.warn("Lua 脚本预加载失败，首次执行时再加载: name={}, error={}", name, e.getMessage());
+        }
+    }
+}
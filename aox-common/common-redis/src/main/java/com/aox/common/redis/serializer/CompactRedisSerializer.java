@@ -0,0 +1,342 @@
+package com.aox.common.redis.serializer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 紧凑二进制 Redis 值序列化器
+ * 格式：魔数(0xAC) + 标志字节(高 4 位格式版本，最低位表示 Deflate 压缩) + 载荷，载荷首字节为类型标签：
+ * 1. 字符串、布尔、浮点数直接编码；字符串 List/Set（权限、角色列表）编码为长度前缀的字符串序列
+ * 2. 已注册的类型写入类型编号 + 不含类型元数据的 JSON，省去每个值里的 @class
+ * 3. 其他值回退为 GenericJackson2JsonRedisSerializer 的 JSON
+ * 整数保持十进制文本，INCR/DECR 仍可直接操作；载荷超过阈值时 Deflate 压缩（压缩后更大则不压缩）。
+ * 读取时首字节不是魔数的值按旧版 JSON 解析，切换期间新旧值可以共存。
+ *
+ * @author Aox Team
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xAC;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int FLAG_DEFLATE = 0x01;
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_BOOLEAN = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_STRING_LIST = 4;
+    private static final byte TAG_STRING_SET = 5;
+    private static final byte TAG_TYPED = 6;
+    private static final byte TAG_JSON = 7;
+
+    /**
+     * 压缩器按线程复用（每次新建需要分配约 256KB 的 zlib 状态）
+     */
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer =
+            new GenericJackson2JsonRedisSerializer().configure(ObjectMapper::findAndRegisterModules);
+
+    /**
+     * 已注册类型的 JSON 映射器（不写类型元数据与 null 字段，读取时忽略未知字段）
+     */
+    private final ObjectMapper typedMapper;
+
+    private final Map<Class<?>, Integer> typeIds = new HashMap<>();
+    private final Map<Integer, Class<?>> typesById;
+    private final int compressThreshold;
+
+    /**
+     * @param types             类型编号 -> 类型（编号写入 Redis，上线后不可修改或复用）
+     * @param compressThreshold 载荷超过该字节数时压缩，小于等于 0 表示不压缩
+     */
+    public CompactRedisSerializer(Map<Integer, Class<?>> types, int compressThreshold) {
+        this.typesById = Map.copyOf(types);
+        this.typesById.forEach((id, type) -> typeIds.put(type, id));
+        this.compressThreshold = compressThreshold;
+        this.typedMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        byte[] payload = encode(value);
+        int flags = FORMAT_VERSION << 4;
+        if (compressThreshold > 0 && payload.length > compressThreshold) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        byte[] bytes = new byte[payload.length + 2];
+        bytes[0] = MAGIC;
+        bytes[1] = (byte) flags;
+        System.arraycopy(payload, 0, bytes, 2, payload.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            // 旧版 JSON 值与十进制整数
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < 3) {
+            throw new SerializationException("紧凑格式数据不完整");
+        }
+        int flags = bytes[1] & 0xFF;
+        if ((flags >>> 4) > FORMAT_VERSION) {
+            throw new SerializationException("不支持的紧凑格式版本: " + (flags >>> 4));
+        }
+        byte[] payload = (flags & FLAG_DEFLATE) != 0
+                ? inflate(bytes, 2)
+                : Arrays.copyOfRange(bytes, 2, bytes.length);
+        return decode(new Reader(payload));
+    }
+
+    private byte[] encode(Object value) {
+        Writer writer = new Writer();
+        if (value instanceof String text) {
+            writer.write(TAG_STRING);
+            writer.writeRaw(text.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Boolean flag) {
+            writer.write(TAG_BOOLEAN);
+            writer.write(flag ? 1 : 0);
+        } else if (value instanceof Double number) {
+            writer.write(TAG_DOUBLE);
+            writer.writeLong(Double.doubleToLongBits(number));
+        } else if (value instanceof List<?> list && isStringCollection(list)) {
+            writer.write(TAG_STRING_LIST);
+            writer.writeStrings(list);
+        } else if (value instanceof Set<?> set && isStringCollection(set)) {
+            writer.write(TAG_STRING_SET);
+            writer.writeStrings(set);
+        } else if (typeIds.containsKey(value.getClass())) {
+            writer.write(TAG_TYPED);
+            writer.writeVarInt(typeIds.get(value.getClass()));
+            try {
+                writer.writeRaw(typedMapper.writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new SerializationException("紧凑格式序列化失败: " + value.getClass().getName(), e);
+            }
+        } else {
+            writer.write(TAG_JSON);
+            writer.writeRaw(jsonSerializer.serialize(value));
+        }
+        return writer.toByteArray();
+    }
+
+    private Object decode(Reader reader) {
+        byte tag = reader.read();
+        switch (tag) {
+            case TAG_STRING:
+                return reader.readRemainingString();
+            case TAG_BOOLEAN:
+                return reader.read() != 0;
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(reader.readLong());
+            case TAG_STRING_LIST:
+                return reader.readStrings(new ArrayList<>());
+            case TAG_STRING_SET:
+                return reader.readStrings(new LinkedHashSet<>());
+            case TAG_TYPED:
+                int typeId = reader.readVarInt();
+                Class<?> type = typesById.get(typeId);
+                if (type == null) {
+                    throw new SerializationException("未注册的紧凑格式类型编号: " + typeId);
+                }
+                try {
+                    return typedMapper.readValue(reader.remaining(), type);
+                } catch (IOException e) {
+                    throw new SerializationException("紧凑格式反序列化失败: " + type.getName(), e);
+                }
+            case TAG_JSON:
+                return jsonSerializer.deserialize(reader.remaining());
+            default:
+                throw new SerializationException("未知的紧凑格式类型标签: " + tag);
+        }
+    }
+
+    private static boolean isStringCollection(Collection<?> collection) {
+        for (Object element : collection) {
+            if (!(element instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset) {
+        Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream((data.length - offset) * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("紧凑格式压缩数据不完整");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("紧凑格式解压失败", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    /**
+     * 载荷写入器
+     */
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(64);
+        }
+
+        void writeRaw(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift) & 0xFF);
+            }
+        }
+
+        void writeStrings(Collection<?> strings) {
+            writeVarInt(strings.size());
+            for (Object element : strings) {
+                byte[] bytes = ((String) element).getBytes(StandardCharsets.UTF_8);
+                writeVarInt(bytes.length);
+                writeRaw(bytes);
+            }
+        }
+    }
+
+    /**
+     * 载荷读取器
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte read() {
+            if (position >= data.length) {
+                throw new SerializationException("紧凑格式数据不完整");
+            }
+            return data[position++];
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = read();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("紧凑格式长度字段无效");
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (read() & 0xFF);
+            }
+            return value;
+        }
+
+        String readRemainingString() {
+            String value = new String(data, position, data.length - position, StandardCharsets.UTF_8);
+            position = data.length;
+            return value;
+        }
+
+        <C extends Collection<String>> C readStrings(C target) {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                int length = readVarInt();
+                if (length < 0 || length > data.length - position) {
+                    throw new SerializationException("紧凑格式字符串长度无效");
+                }
+                target.add(new String(data, position, length, StandardCharsets.UTF_8));
+                position += length;
+            }
+            return target;
+        }
+
+        byte[] remaining() {
+            byte[] bytes = Arrays.copyOfRange(data, position, data.length);
+            position = data.length;
+            return bytes;
+        }
+    }
+}
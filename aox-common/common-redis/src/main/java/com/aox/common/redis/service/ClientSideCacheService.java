@@ -0,0 +1,287 @@
+package com.aox.common.redis.service;
+
+import com.aox.common.redis.config.ClientSideCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateAdapter;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 客户端缓存（服务端协助失效）
+ * 使用单独的 RESP3 连接开启 CLIENT TRACKING BCAST，服务端在配置前缀下的任意键被修改、删除或过期时推送失效消息，
+ * 本地副本收到失效消息前始终可信，不需要猜测过期时间：
+ * 1. 匹配前缀的键通过该连接读取，值（包括键不存在）缓存在本地，内存按序列化字节数限制
+ * 2. 读取期间收到的失效消息会使这次读取的结果不入缓存，避免旧值覆盖失效
+ * 3. 连接断开期间的失效消息会丢失，断开时清空本地缓存并绕过缓存，重连后重新开启跟踪再恢复
+ * 仅支持单机模式，集群与哨兵模式下不启用。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class ClientSideCacheService {
+
+    /**
+     * 键不存在的占位值
+     */
+    private static final Object ABSENT = new Object();
+
+    private final ClientSideCacheProperties clientSideCacheProperties;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisSerializer<Object> redisValueSerializer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 键 -> 本地副本
+     */
+    private Cache<String, CachedValue> cache;
+
+    /**
+     * 正在读取的键 -> 本次读取的令牌，收到失效消息时移除，读取结束时令牌不在则放弃写入
+     */
+    private final Map<String, Object> pending = new ConcurrentHashMap<>();
+
+    private RedisClient client;
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+
+    /**
+     * 服务端跟踪是否生效，未生效时绕过本地缓存
+     */
+    private volatile boolean tracking;
+
+    private Counter invalidationCounter;
+
+    public ClientSideCacheService(ClientSideCacheProperties clientSideCacheProperties,
+                                  RedisConnectionFactory connectionFactory,
+                                  RedisSerializer<Object> redisValueSerializer,
+                                  MeterRegistry meterRegistry) {
+        this.clientSideCacheProperties = clientSideCacheProperties;
+        this.connectionFactory = connectionFactory;
+        this.redisValueSerializer = redisValueSerializer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!clientSideCacheProperties.isEnabled() || clientSideCacheProperties.getPrefixes().isEmpty()) {
+            return;
+        }
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                || lettuce.getClusterConfiguration() != null || lettuce.getSentinelConfiguration() != null) {
+            log.warn("Redis 客户端缓存仅支持 Lettuce 单机模式，已禁用");
+            return;
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumWeight(clientSideCacheProperties.getMaxSize().toBytes())
+                .weigher((String key, CachedValue value) -> key.length() + value.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "redis-client-side");
+        Gauge.builder("aox.redis.client.cache.bytes", this, service -> service.weightedSize())
+                .description("Redis 客户端缓存占用（序列化后的字节数）")
+                .register(meterRegistry);
+        invalidationCounter = Counter.builder("aox.redis.client.cache.invalidations")
+                .description("Redis 服务端推送的客户端缓存失效键数")
+                .register(meterRegistry);
+
+        try {
+            connect(lettuce);
+            log.info("Redis 客户端缓存已启用, prefixes={}, maxSize={}",
+                    clientSideCacheProperties.getPrefixes(), clientSideCacheProperties.getMaxSize());
+        } catch (Exception e) {
+            // Redis 6 以下不支持 RESP3 / CLIENT TRACKING，退化为直接读取
+            log.warn("Redis 客户端缓存启用失败，已禁用: {}", e.getMessage());
+            shutdown();
+        }
+    }
+
+    private void connect(LettuceConnectionFactory lettuce) {
+        RedisStandaloneConfiguration standalone = lettuce.getStandaloneConfiguration();
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(standalone.getHostName())
+                .withPort(standalone.getPort())
+                .withDatabase(standalone.getDatabase())
+                .withSsl(lettuce.getClientConfiguration().isUseSsl())
+                .withTimeout(lettuce.getClientConfiguration().getCommandTimeout());
+        standalone.getPassword().toOptional().ifPresent(password -> {
+            if (standalone.getUsername() != null) {
+                uri.withAuthentication(standalone.getUsername(), password);
+            } else {
+                uri.withPassword(password);
+            }
+        });
+
+        client = RedisClient.create(uri.build());
+        client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        client.addListener(new RedisConnectionStateAdapter() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                // 首次连接时 connection 尚未赋值，由 connect 同步开启跟踪
+                StatefulRedisConnection<String, byte[]> current = connection;
+                if (current != null) {
+                    current.async().clientTracking(trackingArgs()).whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.warn("Redis 客户端缓存重新开启跟踪失败: {}", error.getMessage());
+                        } else {
+                            tracking = true;
+                            log.info("Redis 客户端缓存重连后已恢复跟踪");
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                tracking = false;
+                invalidateAll();
+                log.warn("Redis 客户端缓存连接断开，已清空本地副本");
+            }
+        });
+
+        StatefulRedisConnection<String, byte[]> newConnection =
+                client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        newConnection.addListener(this::onPushMessage);
+        newConnection.sync().clientTracking(trackingArgs());
+        connection = newConnection;
+        tracking = true;
+    }
+
+    private TrackingArgs trackingArgs() {
+        return TrackingArgs.Builder.enabled()
+                .bcast()
+                .prefixes(clientSideCacheProperties.getPrefixes().toArray(new String[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> list) {
+            for (String key : (List<String>) list) {
+                invalidate(key);
+            }
+            invalidationCounter.increment(list.size());
+        } else {
+            // FLUSHDB / FLUSHALL 时 keys 为 null
+            invalidateAll();
+        }
+    }
+
+    /**
+     * 键是否走客户端缓存
+     */
+    public boolean isCacheable(String key) {
+        if (!tracking) {
+            return false;
+        }
+        for (String prefix : clientSideCacheProperties.getPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取键（调用前需确认 isCacheable）
+     */
+    public Object get(String key) {
+        CachedValue cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.value() == ABSENT ? null : cached.value();
+        }
+
+        Object token = new Object();
+        pending.put(key, token);
+        byte[] bytes;
+        try {
+            bytes = connection.sync().get(key);
+        } catch (RuntimeException e) {
+            pending.remove(key, token);
+            throw e;
+        }
+        Object value = bytes == null ? null : redisValueSerializer.deserialize(bytes);
+        if (pending.remove(key, token) && tracking) {
+            cache.put(key, new CachedValue(value == null ? ABSENT : value, bytes == null ? 0 : bytes.length));
+        }
+        return value;
+    }
+
+    /**
+     * 本节点写入后立即失效本地副本（服务端的失效推送是异步的）
+     */
+    public void invalidate(String key) {
+        if (cache == null) {
+            return;
+        }
+        pending.remove(key);
+        cache.invalidate(key);
+    }
+
+    private void invalidateAll() {
+        if (cache == null) {
+            return;
+        }
+        pending.clear();
+        cache.invalidateAll();
+    }
+
+    private long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tracking = false;
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (client != null) {
+            client.shutdown();
+            client = null;
+        }
+    }
+
+    /**
+     * 本地副本
+     *
+     * @param value 值（键不存在时为 ABSENT）
+     * @param size  序列化后的字节数
+     */
+    private record CachedValue(Object value, int size) {
+    }
+}
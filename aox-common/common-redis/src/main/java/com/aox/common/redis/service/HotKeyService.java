@@ -0,0 +1,254 @@
+package com.aox.common.redis.service;
+
+import com.aox.common.redis.cache.CountMinSketch;
+import com.aox.common.redis.config.HotKeyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 热点键探测与本地提升（RedisService#get 使用）
+ * 1. 按采样率对读取的键计数，计数存放在带衰减的 Count-Min Sketch 中，每个衰减周期减半，内存占用固定
+ * 2. 折算后的单节点 QPS 达到阈值的键登记为热点，其值提升到 LocalCacheService 的 hot-key 缓存（短过期），
+ *    之后的读取直接命中本地；每次衰减时重新估算，QPS 降到阈值一半以下的键摘除
+ * 3. 通过 RedisService 写入或删除热点键时，删除本地副本并经 CacheInvalidationBus 广播到其他节点；
+ *    只有本节点也认定为热点的键才会广播，其他节点上的副本最多在 hot-key 缓存的过期时间内读到旧值
+ * 4. 读到旧值会被固化的键（excluded-prefixes，默认权限与角色列表）不计数、不提升，始终读 Redis
+ * 衰减在读取路径上惰性触发，不需要额外的调度线程。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class HotKeyService {
+
+    private final HotKeyProperties hotKeyProperties;
+    private final LocalCacheService localCacheService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 热点键 -> 热点信息
+     */
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 上次衰减时间（毫秒）
+     */
+    private final AtomicLong lastDecayAt = new AtomicLong(System.currentTimeMillis());
+
+    private CountMinSketch sketch;
+    private long decayMillis;
+
+    /**
+     * 稳定的 QPS 对应的计数：每周期新增 QPS × 采样率 × 周期秒数，减半衰减后稳定在其 2 倍以内
+     */
+    private double countsPerQps;
+
+    private Counter localHitCounter;
+    private Counter redisCounter;
+    private Counter promotionCounter;
+
+    public HotKeyService(HotKeyProperties hotKeyProperties, LocalCacheService localCacheService,
+                         MeterRegistry meterRegistry) {
+        this.hotKeyProperties = hotKeyProperties;
+        this.localCacheService = localCacheService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (hotKeyProperties.getSampleRate() <= 0 || hotKeyProperties.getSampleRate() > 1) {
+            throw new IllegalStateException("redis.hot-key.sample-rate 需在 (0, 1] 之间");
+        }
+        sketch = new CountMinSketch(hotKeyProperties.getSketchDepth(), hotKeyProperties.getSketchWidth());
+        decayMillis = Math.max(1L, hotKeyProperties.getDecayInterval().toMillis());
+        countsPerQps = 2 * hotKeyProperties.getSampleRate() * decayMillis / 1000.0;
+
+        Gauge.builder("aox.redis.hotkey.size", hotKeys, Map::size)
+                .description("当前热点键数")
+                .register(meterRegistry);
+        localHitCounter = requestCounter("local_hit");
+        redisCounter = requestCounter("redis");
+        promotionCounter = Counter.builder("aox.redis.hotkey.promotions")
+                .description("键被认定为热点的次数")
+                .register(meterRegistry);
+
+        log.info("HotKeyService 初始化完成, enabled={}, sampleRate={}, qpsThreshold={}",
+                hotKeyProperties.isEnabled(), hotKeyProperties.getSampleRate(), hotKeyProperties.getQpsThreshold());
+    }
+
+    /**
+     * 读取键：热点键优先读本地副本，未命中时调用 loader 读取 Redis 并提升到本地
+     *
+     * @param key    键
+     * @param loader 从 Redis 读取
+     */
+    public Object get(String key, Function<String, Object> loader) {
+        if (!hotKeyProperties.isEnabled() || isExcluded(key)) {
+            return loader.apply(key);
+        }
+        record(key);
+        if (!hotKeys.containsKey(key)) {
+            return loader.apply(key);
+        }
+        Object value = localCacheService.getIfPresent(LocalCacheService.HOT_KEY_CACHE, key);
+        if (value != null) {
+            localHitCounter.increment();
+            return value;
+        }
+        redisCounter.increment();
+        value = loader.apply(key);
+        if (value != null) {
+            localCacheService.put(LocalCacheService.HOT_KEY_CACHE, key, value);
+        }
+        return value;
+    }
+
+    private boolean isExcluded(String key) {
+        for (String prefix : hotKeyProperties.getExcludedPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 键被写入或删除：热点键的本地副本失效并广播
+     */
+    public void invalidate(String key) {
+        if (hotKeys.containsKey(key)) {
+            localCacheService.remove(LocalCacheService.HOT_KEY_CACHE, key);
+        }
+    }
+
+    /**
+     * 多个键被写入或删除（合并为一条广播）
+     */
+    public void invalidate(Collection<String> keys) {
+        if (hotKeys.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> hot = keys.stream().filter(hotKeys::containsKey).toList();
+        if (!hot.isEmpty()) {
+            localCacheService.removeAll(LocalCacheService.HOT_KEY_CACHE, hot);
+        }
+    }
+
+    /**
+     * 当前热点键（按 QPS 降序）
+     */
+    public List<HotKeyInfo> getHotKeys() {
+        List<HotKeyInfo> result = new ArrayList<>(hotKeys.size());
+        hotKeys.forEach((key, hotKey) -> result.add(new HotKeyInfo(key, hotKey.qps,
+                Instant.ofEpochMilli(hotKey.promotedAt),
+                localCacheService.getIfPresent(LocalCacheService.HOT_KEY_CACHE, key) != null)));
+        result.sort(Comparator.comparingLong(HotKeyInfo::qps).reversed());
+        return result;
+    }
+
+    /**
+     * 当前配置
+     */
+    public HotKeyProperties getProperties() {
+        return hotKeyProperties;
+    }
+
+    /**
+     * 采样计数，估算 QPS 达到阈值时登记为热点
+     */
+    private void record(String key) {
+        decayIfDue();
+        if (ThreadLocalRandom.current().nextDouble() >= hotKeyProperties.getSampleRate()) {
+            return;
+        }
+        long qps = toQps(sketch.increment(key));
+        if (qps < hotKeyProperties.getQpsThreshold()) {
+            return;
+        }
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey != null) {
+            hotKey.qps = Math.max(hotKey.qps, qps);
+            return;
+        }
+        if (hotKeys.size() >= hotKeyProperties.getMaxHotKeys()) {
+            return;
+        }
+        if (hotKeys.putIfAbsent(key, new HotKey(qps, System.currentTimeMillis())) == null) {
+            promotionCounter.increment();
+            log.info("检测到热点键，提升到本地缓存: key={}, qps≈{}", key, qps);
+        }
+    }
+
+    /**
+     * 到达衰减周期时（由一个线程）先按衰减前的计数重新估算热点键，再将计数减半；
+     * 期间没有访问而错过的周期一并补上
+     */
+    private void decayIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastDecayAt.get();
+        long periods = (now - last) / decayMillis;
+        if (periods <= 0 || !lastDecayAt.compareAndSet(last, last + periods * decayMillis)) {
+            return;
+        }
+        int shift = (int) Math.min(periods - 1, 63);
+        hotKeys.forEach((key, hotKey) -> {
+            long qps = toQps(sketch.estimate(key) >>> shift);
+            if (qps * 2 < hotKeyProperties.getQpsThreshold()) {
+                hotKeys.remove(key);
+                localCacheService.remove(LocalCacheService.HOT_KEY_CACHE, key);
+                log.info("热点键降温，移出本地缓存: key={}, qps≈{}", key, qps);
+            } else {
+                hotKey.qps = qps;
+            }
+        });
+        sketch.decay((int) Math.min(periods, 63));
+    }
+
+    private long toQps(long count) {
+        return (long) (count / countsPerQps);
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("aox.redis.hotkey.requests")
+                .description("热点键读取次数（local_hit 为命中本地副本）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 热点键信息
+     *
+     * @param key        键
+     * @param qps        估算的单节点读取 QPS
+     * @param promotedAt 认定为热点的时间
+     * @param cached     本地是否持有副本
+     */
+    public record HotKeyInfo(String key, long qps, Instant promotedAt, boolean cached) {
+    }
+
+    private static final class HotKey {
+
+        private final long promotedAt;
+        private volatile long qps;
+
+        private HotKey(long qps, long promotedAt) {
+            this.qps = qps;
+            this.promotedAt = promotedAt;
+        }
+    }
+}
@@ -1,17 +1,41 @@
 package com.aox.common.redis.service;
 
+import com.aox.common.redis.cache.CacheInvalidationBus;
+import com.aox.common.redis.cache.TenantCachePartitions;
+import com.aox.common.redis.config.LocalCacheProperties;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
  * 本地缓存服务（Caffeine）
- * 用于高频访问数据的本地缓存，减少 Redis 访问压力
+ * 用于高频访问数据的本地缓存，减少 Redis 访问压力。
+ * 缓存按名称注册，容量与过期策略由 redis.local-cache.caches 配置，统计数据绑定到 Micrometer（cache.* 指标）。
+ * 删除/清空操作会通过 CacheInvalidationBus 广播到所有节点，
+ * 订阅断线重连后全量清空，避免读到其他节点已失效的数据。
+ * 配置了 tenant-quota 的缓存（默认 permission、data）按键中的租户段分区，每个租户有保底配额，
+ * 大租户只会淘汰自己的条目；租户下线时通过 invalidateTenant 一次清除其所有分区。
  *
  * @author Aox Team
  */
@@ -20,60 +44,395 @@ import java.util.function.Function;
 public class LocalCacheService {
 
     /**
-     * 用户权限缓存
-     * 容量: 1000, 过期时间: 5分钟
+     * 用户权限缓存：高频访问，短过期
      */
-    private Cache<String, Object> permissionCache;
+    public static final String PERMISSION_CACHE = "permission";
 
     /**
      * 用户信息缓存
-     * 容量: 500, 过期时间: 10分钟
      */
-    private Cache<String, Object> userCache;
+    public static final String USER_CACHE = "user";
 
     /**
      * 通用短期缓存
-     * 容量: 2000, 过期时间: 1分钟
      */
-    private Cache<String, Object> shortTermCache;
+    public static final String SHORT_TERM_CACHE = "short-term";
 
     /**
-     * 系统配置缓存
-     * 容量: 200, 过期时间: 30分钟
+     * 系统配置缓存：低频变更，长过期
      */
-    private Cache<String, Object> configCache;
+    public static final String CONFIG_CACHE = "config";
+
+    /**
+     * 声明式二级缓存的一级缓存（条目自带过期时间，此处为上限）
+     */
+    public static final String DATA_CACHE = "data";
+
+    /**
+     * 热点键的本地副本（由 HotKeyService 维护，短过期）
+     */
+    public static final String HOT_KEY_CACHE = "hot-key";
+
+    /**
+     * 失效广播中的缓存名称前缀
+     */
+    private static final String BUS_PREFIX = "local:";
+
+    /**
+     * 租户下线广播的缓存名称（键为租户ID）
+     */
+    private static final String BUS_TENANT = "local-tenant";
+
+    /**
+     * 按所有租户删除的广播前缀（键不带租户段）
+     */
+    private static final String BUS_ALL_TENANTS_PREFIX = "local-all-tenants:";
+
+    /**
+     * 后台刷新线程数与排队上限（排满时跳过本次刷新，下次读取再触发）
+     */
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final LocalCacheProperties localCacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 缓存名称 -> 缓存
+     */
+    private final Map<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名称 -> 按租户分区的缓存
+     */
+    private final Map<String, TenantCachePartitions> partitioned = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名称 -> 生效的配置
+     */
+    private final Map<String, LocalCacheProperties.CacheSpec> specs = new LinkedHashMap<>();
+
+    /**
+     * 正在后台刷新的键（缓存名称:键）
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 后台刷新线程池（有界，不占用公共 ForkJoinPool）
+     */
+    private ThreadPoolExecutor refreshExecutor;
+
+    public LocalCacheService(CacheInvalidationBus cacheInvalidationBus,
+                             LocalCacheProperties localCacheProperties,
+                             MeterRegistry meterRegistry) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.localCacheProperties = localCacheProperties;
+        this.meterRegistry = meterRegistry;
+    }
 
     @PostConstruct
     public void init() {
-        // 权限缓存：高频访问，短过期
-        permissionCache = Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .recordStats()
-                .build();
-
-        // 用户缓存
-        userCache = Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .recordStats()
-                .build();
-
-        // 短期缓存
-        shortTermCache = Caffeine.newBuilder()
-                .maximumSize(2000)
-                .expireAfterWrite(1, TimeUnit.MINUTES)
-                .recordStats()
-                .build();
-
-        // 配置缓存：低频变更，长过期
-        configCache = Caffeine.newBuilder()
-                .maximumSize(200)
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .recordStats()
-                .build();
-
-        log.info("LocalCacheService 初始化完成");
+        // 内置缓存的默认配置，可被配置文件覆盖
+        specs.put(PERMISSION_CACHE, new LocalCacheProperties.CacheSpec(500, 1000, Duration.ofMinutes(5)));
+        specs.put(USER_CACHE, new LocalCacheProperties.CacheSpec(500, Duration.ofMinutes(10)));
+        specs.put(SHORT_TERM_CACHE, new LocalCacheProperties.CacheSpec(2000, Duration.ofMinutes(1)));
+        specs.put(CONFIG_CACHE, new LocalCacheProperties.CacheSpec(200, Duration.ofMinutes(30)));
+        specs.put(DATA_CACHE, new LocalCacheProperties.CacheSpec(2000, 5000, Duration.ofMinutes(10)));
+        specs.put(HOT_KEY_CACHE, new LocalCacheProperties.CacheSpec(1000, Duration.ofSeconds(2)));
+        // 配置文件只覆盖设置了的字段，未设置的沿用默认值
+        localCacheProperties.getCaches().forEach((name, spec) ->
+                specs.merge(name, spec, LocalCacheProperties.CacheSpec::merge));
+
+        specs.forEach((name, spec) -> {
+            if (!spec.hasSizeBound()) {
+                throw new IllegalStateException("本地缓存 " + name + " 需配置 max-size、max-weight 或 tenant-quota");
+            }
+            if (spec.getTenantQuota() != null) {
+                long overflow = spec.getTenantOverflow() == null ? 0L : spec.getTenantOverflow();
+                partitioned.put(name, new TenantCachePartitions(name, spec.getTenantQuota(), spec.getTenantQuotas(),
+                        overflow, quota -> buildPartition(name, spec, quota), meterRegistry));
+                cacheInvalidationBus.register(BUS_ALL_TENANTS_PREFIX + name, key -> evictAllTenantsLocal(name, key));
+            } else {
+                Cache<String, Object> cache = build(name, spec);
+                caches.put(name, cache);
+                CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            }
+            // 订阅失效广播
+            cacheInvalidationBus.register(BUS_PREFIX + name, key -> evictLocal(name, key));
+        });
+        cacheInvalidationBus.register(BUS_TENANT, tenantId -> invalidateTenantLocal(Long.parseLong(tenantId)));
+        cacheInvalidationBus.registerResetListener(this::clearAllLocal);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "local-cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("LocalCacheService 初始化完成, caches={}", specs.keySet());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdown();
+        }
+    }
+
+    private static Cache<String, Object> build(String name, LocalCacheProperties.CacheSpec spec) {
+        Caffeine<Object, Object> builder = newBuilder(name, spec);
+        if (spec.getMaxWeight() != null) {
+            builder.maximumWeight(spec.getMaxWeight()).weigher((key, value) -> weigh(value));
+        } else if (spec.getMaxSize() != null) {
+            builder.maximumSize(spec.getMaxSize());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 租户分区：容量按权重计，初始为租户配额，借用溢出池后调大
+     */
+    private static Cache<String, Object> buildPartition(String name, LocalCacheProperties.CacheSpec spec, long quota) {
+        return newBuilder(name, spec).maximumWeight(quota).weigher((key, value) -> weigh(value)).build();
+    }
+
+    private static Caffeine<Object, Object> newBuilder(String name, LocalCacheProperties.CacheSpec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        if (spec.getRefreshAfterWrite() != null && (spec.getExpireAfterWrite() == null
+                || spec.getRefreshAfterWrite().compareTo(spec.getExpireAfterWrite()) >= 0)) {
+            throw new IllegalStateException("本地缓存 " + name + " 的 refresh-after-write 需小于 expire-after-write");
+        }
+        return builder;
+    }
+
+    /**
+     * 估算缓存值的权重
+     */
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        if (value instanceof Object[] array) {
+            return Math.max(1, array.length);
+        }
+        return 1;
+    }
+
+    // ==================== 通用操作 ====================
+
+    /**
+     * 获取缓存值，未命中时调用 loader 加载；配置了 refresh-after-write 时，超过刷新时间的值会在后台重新加载
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String key, Function<String, T> loader) {
+        Cache<String, Object> cache = getCache(cacheName, key);
+        T value = (T) cache.get(key, loader::apply);
+        afterWrite(cacheName, key);
+        refreshIfStale(cacheName, cache, key, loader);
+        return value;
+    }
+
+    /**
+     * 获取缓存值（未命中返回 null，不触发加载）
+     */
+    public Object getIfPresent(String cacheName, String key) {
+        Cache<String, Object> cache = getCacheIfPresent(cacheName, key);
+        return cache == null ? null : cache.getIfPresent(key);
+    }
+
+    /**
+     * 设置缓存值（仅本节点）
+     */
+    public void put(String cacheName, String key, Object value) {
+        getCache(cacheName, key).put(key, value);
+        afterWrite(cacheName, key);
+    }
+
+    /**
+     * 删除缓存值（并广播到其他节点）
+     */
+    public void remove(String cacheName, String key) {
+        checkCache(cacheName);
+        evictLocal(cacheName, key);
+        cacheInvalidationBus.publish(BUS_PREFIX + cacheName, key);
+    }
+
+    /**
+     * 批量删除缓存值（合并为一条广播）
+     */
+    public void removeAll(String cacheName, Collection<String> keys) {
+        checkCache(cacheName);
+        keys.forEach(key -> evictLocal(cacheName, key));
+        cacheInvalidationBus.publishAll(BUS_PREFIX + cacheName, keys);
+    }
+
+    /**
+     * 从分区缓存的所有租户分区中删除键（并广播到其他节点），未分区的缓存按原键删除
+     *
+     * @param keys 不带租户段的键
+     */
+    public void removeAllTenants(String cacheName, Collection<String> keys) {
+        if (!partitioned.containsKey(cacheName)) {
+            removeAll(cacheName, keys);
+            return;
+        }
+        keys.forEach(key -> evictAllTenantsLocal(cacheName, key));
+        cacheInvalidationBus.publishAll(BUS_ALL_TENANTS_PREFIX + cacheName, keys);
+    }
+
+    /**
+     * 清空缓存（并广播到其他节点）
+     */
+    public void clear(String cacheName) {
+        checkCache(cacheName);
+        evictLocal(cacheName, null);
+        cacheInvalidationBus.publishClear(BUS_PREFIX + cacheName);
+        log.info("本地缓存已清空: {}", cacheName);
+    }
+
+    /**
+     * 所有缓存名称
+     */
+    public Set<String> getCacheNames() {
+        return specs.keySet();
+    }
+
+    /**
+     * 缓存是否存在
+     */
+    public boolean hasCache(String cacheName) {
+        return caches.containsKey(cacheName) || partitioned.containsKey(cacheName);
+    }
+
+    /**
+     * 获取缓存的配置与统计信息
+     */
+    public Map<String, Object> getCacheInfo(String cacheName) {
+        checkCache(cacheName);
+        LocalCacheProperties.CacheSpec spec = specs.get(cacheName);
+        TenantCachePartitions partitions = partitioned.get(cacheName);
+        CacheStats stats;
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", cacheName);
+        if (partitions != null) {
+            stats = partitions.stats();
+            info.put("size", partitions.estimatedSize());
+            info.put("tenantQuota", partitions.getDefaultQuota());
+            info.put("tenantOverflow", partitions.getOverflow());
+            info.put("tenantOverflowBorrowed", partitions.getOverflowGranted());
+            info.put("tenants", partitions.usage());
+        } else {
+            Cache<String, Object> cache = caches.get(cacheName);
+            stats = cache.stats();
+            info.put("size", cache.estimatedSize());
+            cache.policy().eviction().ifPresent(eviction -> {
+                info.put(eviction.isWeighted() ? "maxWeight" : "maxSize", eviction.getMaximum());
+                eviction.weightedSize().ifPresent(weight -> info.put("weight", weight));
+            });
+        }
+        info.put("expireAfterWrite", spec.getExpireAfterWrite());
+        info.put("expireAfterAccess", spec.getExpireAfterAccess());
+        info.put("refreshAfterWrite", spec.getRefreshAfterWrite());
+        info.put("hitCount", stats.hitCount());
+        info.put("missCount", stats.missCount());
+        info.put("hitRate", stats.hitRate());
+        info.put("loadCount", stats.loadCount());
+        info.put("loadFailureCount", stats.loadFailureCount());
+        info.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000);
+        info.put("evictionCount", stats.evictionCount());
+        return info;
+    }
+
+    /**
+     * 键所在的缓存（分区缓存取键所属租户的分区）
+     */
+    private Cache<String, Object> getCache(String cacheName, String key) {
+        TenantCachePartitions partitions = partitioned.get(cacheName);
+        if (partitions != null) {
+            return partitions.partition(key);
+        }
+        checkCache(cacheName);
+        return caches.get(cacheName);
+    }
+
+    /**
+     * 键所在的缓存，租户分区尚未创建时返回 null
+     */
+    private Cache<String, Object> getCacheIfPresent(String cacheName, String key) {
+        TenantCachePartitions partitions = partitioned.get(cacheName);
+        if (partitions != null) {
+            return partitions.partitionIfPresent(key);
+        }
+        checkCache(cacheName);
+        return caches.get(cacheName);
+    }
+
+    private void checkCache(String cacheName) {
+        if (!hasCache(cacheName)) {
+            throw new IllegalArgumentException("本地缓存不存在: " + cacheName);
+        }
+    }
+
+    private void afterWrite(String cacheName, String key) {
+        TenantCachePartitions partitions = partitioned.get(cacheName);
+        if (partitions != null) {
+            partitions.afterWrite(key);
+        }
+    }
+
+    /**
+     * 值的写入时间超过 refresh-after-write 时在后台重新加载（同一个键同时只刷新一次），刷新期间读到的仍是旧值。
+     * 只有缓存里仍是发起刷新时的那个值才会被替换：刷新期间键被删除或已被重新加载时丢弃结果，
+     * 避免把已失效的数据写回缓存
+     */
+    private <T> void refreshIfStale(String cacheName, Cache<String, Object> cache, String key, Function<String, T> loader) {
+        Duration refreshAfterWrite = specs.get(cacheName).getRefreshAfterWrite();
+        if (refreshAfterWrite == null) {
+            return;
+        }
+        Policy.FixedExpiration<String, Object> expiration = cache.policy().expireAfterWrite().orElse(null);
+        if (expiration == null || expiration.ageOf(key).map(age -> age.compareTo(refreshAfterWrite) < 0).orElse(true)) {
+            return;
+        }
+        Object stale = cache.getIfPresent(key);
+        if (stale == null) {
+            return;
+        }
+        String refreshKey = cacheName + ":" + key;
+        if (!refreshing.add(refreshKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    T value = loader.apply(key);
+                    if (value != null) {
+                        cache.asMap().computeIfPresent(key, (k, current) -> current == stale ? value : current);
+                    }
+                } catch (Exception e) {
+                    log.warn("本地缓存后台刷新失败: cache={}, key={}, error={}", cacheName, key, e.getMessage());
+                } finally {
+                    refreshing.remove(refreshKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(refreshKey);
+            log.debug("本地缓存后台刷新排队已满，跳过: cache={}, key={}", cacheName, key);
+        }
     }
 
     // ==================== 权限缓存 ====================
@@ -81,84 +440,124 @@ public class LocalCacheService {
     /**
      * 获取用户权限（优先本地缓存）
      */
-    @SuppressWarnings("unchecked")
     public <T> T getPermission(String key, Function<String, T> loader) {
-        return (T) permissionCache.get(key, loader::apply);
+        return get(PERMISSION_CACHE, key, loader);
+    }
+
+    /**
+     * 获取用户权限缓存（未命中返回 null，不触发加载）
+     */
+    public Object getPermissionIfPresent(String key) {
+        return getIfPresent(PERMISSION_CACHE, key);
     }
 
     /**
      * 设置用户权限缓存
      */
     public void setPermission(String key, Object value) {
-        permissionCache.put(key, value);
+        put(PERMISSION_CACHE, key, value);
     }
 
     /**
      * 删除用户权限缓存
      */
     public void removePermission(String key) {
-        permissionCache.invalidate(key);
+        remove(PERMISSION_CACHE, key);
+    }
+
+    /**
+     * 批量删除用户权限缓存（合并为一条广播）
+     */
+    public void removePermissions(Collection<String> keys) {
+        removeAll(PERMISSION_CACHE, keys);
+    }
+
+    /**
+     * 从所有租户分区删除用户权限缓存（合并为一条广播）
+     * 权限缓存键的租户段来自用户自己的 Token，操作人（如平台管理员）与用户的租户可能不同
+     *
+     * @param userIds 用户ID（不带租户段）
+     */
+    public void removePermissionsAllTenants(Collection<String> userIds) {
+        removeAllTenants(PERMISSION_CACHE, userIds);
     }
 
     /**
      * 清空所有权限缓存
      */
     public void clearPermissionCache() {
-        permissionCache.invalidateAll();
-        log.info("权限缓存已清空");
+        clear(PERMISSION_CACHE);
     }
 
     // ==================== 用户缓存 ====================
 
-    @SuppressWarnings("unchecked")
     public <T> T getUser(String key, Function<String, T> loader) {
-        return (T) userCache.get(key, loader::apply);
+        return get(USER_CACHE, key, loader);
     }
 
     public void setUser(String key, Object value) {
-        userCache.put(key, value);
+        put(USER_CACHE, key, value);
     }
 
     public void removeUser(String key) {
-        userCache.invalidate(key);
+        remove(USER_CACHE, key);
     }
 
     public void clearUserCache() {
-        userCache.invalidateAll();
+        clear(USER_CACHE);
     }
 
     // ==================== 短期缓存 ====================
 
-    @SuppressWarnings("unchecked")
     public <T> T getShortTerm(String key, Function<String, T> loader) {
-        return (T) shortTermCache.get(key, loader::apply);
+        return get(SHORT_TERM_CACHE, key, loader);
     }
 
     public void setShortTerm(String key, Object value) {
-        shortTermCache.put(key, value);
+        put(SHORT_TERM_CACHE, key, value);
     }
 
     public void removeShortTerm(String key) {
-        shortTermCache.invalidate(key);
+        remove(SHORT_TERM_CACHE, key);
     }
 
     // ==================== 配置缓存 ====================
 
-    @SuppressWarnings("unchecked")
     public <T> T getConfig(String key, Function<String, T> loader) {
-        return (T) configCache.get(key, loader::apply);
+        return get(CONFIG_CACHE, key, loader);
     }
 
     public void setConfig(String key, Object value) {
-        configCache.put(key, value);
+        put(CONFIG_CACHE, key, value);
     }
 
     public void removeConfig(String key) {
-        configCache.invalidate(key);
+        remove(CONFIG_CACHE, key);
     }
 
     public void clearConfigCache() {
-        configCache.invalidateAll();
+        clear(CONFIG_CACHE);
+    }
+
+    // ==================== 数据缓存 ====================
+
+    public Object getDataIfPresent(String key) {
+        return getIfPresent(DATA_CACHE, key);
+    }
+
+    public void setData(String key, Object value) {
+        put(DATA_CACHE, key, value);
+    }
+
+    /**
+     * 批量删除数据缓存（合并为一条广播）
+     */
+    public void removeData(Collection<String> keys) {
+        removeAll(DATA_CACHE, keys);
+    }
+
+    public void clearDataCache() {
+        clear(DATA_CACHE);
     }
 
     // ==================== 统计信息 ====================
@@ -169,21 +568,88 @@ public class LocalCacheService {
     public String getCacheStats() {
         StringBuilder sb = new StringBuilder();
         sb.append("=== 本地缓存统计 ===\n");
-        sb.append("权限缓存: ").append(permissionCache.stats()).append("\n");
-        sb.append("用户缓存: ").append(userCache.stats()).append("\n");
-        sb.append("短期缓存: ").append(shortTermCache.stats()).append("\n");
-        sb.append("配置缓存: ").append(configCache.stats()).append("\n");
+        caches.forEach((name, cache) -> sb.append(name).append(": ").append(cache.stats()).append("\n"));
+        partitioned.forEach((name, partitions) -> sb.append(name).append(": ").append(partitions.stats()).append("\n"));
         return sb.toString();
     }
 
     /**
-     * 清空所有本地缓存
+     * 清空所有本地缓存（并广播到其他节点）
      */
     public void clearAll() {
-        permissionCache.invalidateAll();
-        userCache.invalidateAll();
-        shortTermCache.invalidateAll();
-        configCache.invalidateAll();
+        clearAllLocal();
+        specs.keySet().forEach(name -> cacheInvalidationBus.publishClear(BUS_PREFIX + name));
+    }
+
+    /**
+     * 仅清空本节点的本地缓存
+     */
+    private void clearAllLocal() {
+        caches.values().forEach(Cache::invalidateAll);
+        partitioned.values().forEach(TenantCachePartitions::invalidateAll);
         log.info("所有本地缓存已清空");
     }
+
+    /**
+     * 处理失效广播：key 为 null 时清空整个缓存
+     */
+    private void evictLocal(String cacheName, String key) {
+        TenantCachePartitions partitions = partitioned.get(cacheName);
+        if (partitions != null) {
+            if (key == null) {
+                partitions.invalidateAll();
+            } else {
+                Cache<String, Object> partition = partitions.partitionIfPresent(key);
+                if (partition != null) {
+                    partition.invalidate(key);
+                }
+            }
+            return;
+        }
+        Cache<String, Object> cache = caches.get(cacheName);
+        if (key == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 处理按所有租户删除的广播：key 为 null 时清空整个缓存
+     */
+    private void evictAllTenantsLocal(String cacheName, String key) {
+        TenantCachePartitions partitions = partitioned.get(cacheName);
+        if (key == null) {
+            partitions.invalidateAll();
+        } else {
+            partitions.invalidateInAllTenants(key);
+        }
+    }
+
+    // ==================== 租户分区 ====================
+
+    /**
+     * 租户下线：清除该租户在所有分区缓存中的条目（并广播到其他节点）
+     *
+     * @return 本节点清除的条目数
+     */
+    public long invalidateTenant(Long tenantId) {
+        long removed = invalidateTenantLocal(tenantId);
+        cacheInvalidationBus.publish(BUS_TENANT, String.valueOf(tenantId));
+        log.info("租户本地缓存已清除: tenantId={}, entries={}", tenantId, removed);
+        return removed;
+    }
+
+    private long invalidateTenantLocal(long tenantId) {
+        return partitioned.values().stream().mapToLong(partitions -> partitions.invalidateTenant(tenantId)).sum();
+    }
+
+    /**
+     * 各分区缓存的租户用量：缓存名称 -> 各租户用量
+     */
+    public Map<String, List<TenantCachePartitions.TenantUsage>> getTenantUsage() {
+        Map<String, List<TenantCachePartitions.TenantUsage>> usage = new LinkedHashMap<>();
+        partitioned.forEach((name, partitions) -> usage.put(name, partitions.usage()));
+        return usage;
+    }
 }
@@ -0,0 +1,140 @@
+package com.aox.common.redis.service;
+
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 管道命令集合
+ * 在 RedisService#pipeline 回调内使用，所有命令在同一次网络往返中发送；
+ * 命令本身不返回结果，结果按调用顺序出现在 pipeline 的返回列表中
+ *
+ * @author Aox Team
+ */
+public class PipelineOps {
+
+    private final RedisOperations<String, Object> operations;
+
+    private int commandCount;
+
+    /**
+     * 写入或删除的字符串键（执行后用于失效热点键的本地副本）
+     */
+    private final List<String> writtenKeys = new ArrayList<>();
+
+    PipelineOps(RedisOperations<String, Object> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * 获取值
+     */
+    public void get(String key) {
+        commandCount++;
+        operations.opsForValue().get(key);
+    }
+
+    /**
+     * 设置值，time 小于等于 0 时不过期
+     */
+    public void set(String key, Object value, long time) {
+        commandCount++;
+        writtenKeys.add(key);
+        if (time > 0) {
+            operations.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+        } else {
+            operations.opsForValue().set(key, value);
+        }
+    }
+
+    /**
+     * 递增
+     */
+    public void incr(String key, long delta) {
+        commandCount++;
+        writtenKeys.add(key);
+        operations.opsForValue().increment(key, delta);
+    }
+
+    /**
+     * 删除多个键（一条 DEL 命令）
+     */
+    public void del(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        commandCount++;
+        writtenKeys.addAll(keys);
+        operations.delete(keys);
+    }
+
+    /**
+     * 设置过期时间（秒）
+     */
+    public void expire(String key, long time) {
+        commandCount++;
+        operations.expire(key, time, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 获取剩余过期时间（秒），结果 -1 表示永久有效，-2 表示键不存在
+     */
+    public void ttl(String key) {
+        commandCount++;
+        operations.getExpire(key, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 获取 Hash 的所有键值
+     */
+    public void hgetAll(String key) {
+        commandCount++;
+        operations.opsForHash().entries(key);
+    }
+
+    /**
+     * 写入 Hash 的多个键值，time 大于 0 时同时设置过期时间
+     */
+    public void hmset(String key, Map<String, Object> map, long time) {
+        commandCount++;
+        operations.opsForHash().putAll(key, map);
+        if (time > 0) {
+            expire(key, time);
+        }
+    }
+
+    /**
+     * 向集合添加元素
+     */
+    public void sadd(String key, Object... values) {
+        commandCount++;
+        operations.opsForSet().add(key, values);
+    }
+
+    /**
+     * 获取集合的所有元素
+     */
+    public void smembers(String key) {
+        commandCount++;
+        operations.opsForSet().members(key);
+    }
+
+    /**
+     * 底层操作对象（用于上面未覆盖的命令，不计入批量指标）
+     */
+    public RedisOperations<String, Object> operations() {
+        return operations;
+    }
+
+    int getCommandCount() {
+        return commandCount;
+    }
+
+    List<String> getWrittenKeys() {
+        return writtenKeys;
+    }
+}
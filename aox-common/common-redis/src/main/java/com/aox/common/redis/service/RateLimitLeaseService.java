@@ -0,0 +1,186 @@
+package com.aox.common.redis.service;
+
+import com.aox.common.redis.annotation.RateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地租约限流
+ * 每个节点一次从 Redis 领取一批许可（租约），之后在本地用原子计数扣减，只在租约用完或到期时再访问 Redis：
+ * 1. 许可在领取时已经在 Redis 中扣除，各节点合计放行数不会超过全局限制；
+ *    未用完的租约到期作废，误差只会是少放行，最多为 节点数 × 租约大小
+ * 2. 租约有效期不超过当前窗口的剩余时间，并受 max-hold-ms 限制，避免单个节点长期占用额度
+ * 3. Redis 拒绝后在本地记住拒绝状态直到建议的重试时间，突发流量下被拒绝的请求也不再访问 Redis
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class RateLimitLeaseService {
+
+    private final RateLimitService rateLimitService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${redis.rate-limit.lease.max-hold-ms:1000}")
+    private long maxHoldMs;
+
+    @Value("${redis.rate-limit.lease.max-size:100000}")
+    private long maxSize;
+
+    /**
+     * 限流键 -> 本地租约
+     */
+    private Cache<String, Lease> leases;
+
+    private Counter localAllowedCounter;
+    private Counter localDeniedCounter;
+    private Counter redisCounter;
+
+    public RateLimitLeaseService(RateLimitService rateLimitService, MeterRegistry meterRegistry) {
+        this.rateLimitService = rateLimitService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        leases = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Lease>() {
+                    @Override
+                    public long expireAfterCreate(String key, Lease lease, long currentTime) {
+                        return Math.max(0L, lease.expiresAt - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Lease lease, long currentTime, long currentDuration) {
+                        return Math.max(0L, lease.expiresAt - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Lease lease, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        Gauge.builder("aox.ratelimit.lease.size", this, service -> service.leases.estimatedSize())
+                .description("本地限流租约数")
+                .register(meterRegistry);
+        localAllowedCounter = leaseCounter("local_allowed");
+        localDeniedCounter = leaseCounter("local_denied");
+        redisCounter = leaseCounter("redis");
+        log.info("RateLimitLeaseService 初始化完成, maxHoldMs={}, maxSize={}", maxHoldMs, maxSize);
+    }
+
+    /**
+     * 申请一个许可，优先使用本地租约
+     *
+     * @param algorithm    限流算法
+     * @param key          限流键
+     * @param limit        窗口内允许次数（令牌桶为桶容量）
+     * @param windowMillis 窗口长度（令牌桶为补满整个桶的时间），毫秒
+     * @param leaseSize    每次从 Redis 领取的许可数
+     * @return 限流结果
+     */
+    public RateLimitService.Result tryAcquire(RateLimiter.Algorithm algorithm, String key,
+                                              long limit, long windowMillis, long leaseSize) {
+        long now = System.nanoTime();
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null && now < lease.expiresAt) {
+            if (lease.denied) {
+                localDeniedCounter.increment();
+                return new RateLimitService.Result(0L, 0L, toMillis(lease.expiresAt - now));
+            }
+            long remaining = lease.tryTake();
+            if (remaining >= 0) {
+                localAllowedCounter.increment();
+                return new RateLimitService.Result(1L, remaining, toMillis(lease.expiresAt - now));
+            }
+        }
+
+        // 租约用完或已到期，从 Redis 领取新租约（自己使用其中一个许可）
+        redisCounter.increment();
+        RateLimitService.Result result = rateLimitService.tryAcquire(algorithm, key, limit, windowMillis, leaseSize);
+        if (!result.isAllowed()) {
+            if (result.resetMillis() > 0) {
+                leases.put(key, new Lease(0L, now + TimeUnit.MILLISECONDS.toNanos(result.resetMillis()), true));
+            }
+            return result;
+        }
+
+        long spare = result.granted() - 1;
+        if (spare > 0) {
+            long holdMillis = Math.min(windowMillis, maxHoldMs);
+            if (result.resetMillis() > 0) {
+                holdMillis = Math.min(holdMillis, result.resetMillis());
+            }
+            Lease fresh = new Lease(spare, now + TimeUnit.MILLISECONDS.toNanos(holdMillis), false);
+            // 并发领取时合并到仍有效的租约上，不丢弃已经扣除的许可
+            leases.asMap().merge(key, fresh, (old, ignored) -> old.isUsable(now) ? old.add(spare) : fresh);
+        }
+        return new RateLimitService.Result(1L, result.remaining(), result.resetMillis());
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private Counter leaseCounter(String result) {
+        return Counter.builder("aox.ratelimit.lease")
+                .description("本地租约限流判定次数（redis 为访问 Redis 的次数）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 本地租约
+     */
+    private static final class Lease {
+
+        private final AtomicLong remaining;
+        private final long expiresAt;
+        private final boolean denied;
+
+        Lease(long remaining, long expiresAt, boolean denied) {
+            this.remaining = new AtomicLong(remaining);
+            this.expiresAt = expiresAt;
+            this.denied = denied;
+        }
+
+        /**
+         * 无锁扣减一个许可
+         *
+         * @return 扣减后的剩余许可数，-1 表示已用完
+         */
+        long tryTake() {
+            long current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return -1L;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return current - 1;
+        }
+
+        Lease add(long permits) {
+            remaining.addAndGet(permits);
+            return this;
+        }
+
+        boolean isUsable(long now) {
+            return !denied && now < expiresAt;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.aox.common.redis.service;
+
+import com.aox.common.redis.annotation.RateLimiter;
+import com.aox.common.redis.script.RedisScriptRegistry;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分布式限流服务
+ * 每种算法对应一个 Lua 脚本，检查与扣减在 Redis 中一次原子执行（一次网络往返），
+ * 不存在先 INCR 再 EXPIRE 的竞态，也不会留下没有过期时间的计数键。
+ * 脚本支持一次申请多个许可，按剩余额度部分授予。
+ *
+ * @author Aox Team
+ */
+@Service
+public class RateLimitService {
+
+    private final RedisScriptRegistry scriptRegistry;
+
+    @SuppressWarnings("rawtypes")
+    private final Map<RateLimiter.Algorithm, RedisScript<List>> scripts = new EnumMap<>(RateLimiter.Algorithm.class);
+
+    /**
+     * 滑动窗口日志成员的唯一标识：节点标识 + 自增序号
+     */
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RateLimitService(RedisScriptRegistry scriptRegistry) {
+        this.scriptRegistry = scriptRegistry;
+        scripts.put(RateLimiter.Algorithm.FIXED_WINDOW,
+                scriptRegistry.register("rate_limit_fixed_window", List.class));
+        scripts.put(RateLimiter.Algorithm.SLIDING_WINDOW,
+                scriptRegistry.register("rate_limit_sliding_window", List.class));
+        scripts.put(RateLimiter.Algorithm.TOKEN_BUCKET,
+                scriptRegistry.register("rate_limit_token_bucket", List.class));
+    }
+
+    /**
+     * 申请许可
+     *
+     * @param algorithm    限流算法
+     * @param key          限流键
+     * @param limit        窗口内允许次数（令牌桶为桶容量）
+     * @param windowMillis 窗口长度（令牌桶为补满整个桶的时间），毫秒
+     * @param permits      申请的许可数
+     * @return 限流结果
+     */
+    public Result tryAcquire(RateLimiter.Algorithm algorithm, String key, long limit, long windowMillis, long permits) {
+        List<?> values = algorithm == RateLimiter.Algorithm.SLIDING_WINDOW
+                ? scriptRegistry.execute(scripts.get(algorithm), List.of(key), limit, windowMillis, permits,
+                        nodeId + ":" + sequence.incrementAndGet())
+                : scriptRegistry.execute(scripts.get(algorithm), List.of(key), limit, windowMillis, permits);
+        if (values == null || values.size() < 3) {
+            // 脚本没有返回结果（如事务/管道上下文中），按放行处理
+            return new Result(permits, limit, windowMillis);
+        }
+        return new Result(toLong(values.get(0)), toLong(values.get(1)), toLong(values.get(2)));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    /**
+     * 限流结果
+     *
+     * @param granted     授予的许可数，0 表示被限流
+     * @param remaining   剩余许可数
+     * @param resetMillis 被限流时为建议的重试等待时间，否则为当前窗口剩余时间，毫秒
+     */
+    public record Result(long granted, long remaining, long resetMillis) {
+
+        public boolean isAllowed() {
+            return granted > 0;
+        }
+    }
+}
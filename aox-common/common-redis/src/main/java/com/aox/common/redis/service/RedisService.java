@@ -1,26 +1,67 @@
 package com.aox.common.redis.service;
 
+import cn.hutool.core.collection.ListUtil;
 import com.aox.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis 服务类
+ * 普通缓存读取：匹配客户端缓存前缀的键经 ClientSideCacheService（服务端推送失效），
+ * 其他键经 HotKeyService（读取频率超过阈值的热点键从本地副本返回），再按 ReplicaReadService 的前缀决定读主节点还是从节点；
+ * 通过本类写入或删除键时同步失效本节点的本地副本。
  *
  * @author Aox Team
  */
 @Service
 public class RedisService {
 
+    /**
+     * 单条 MGET 的最大键数，超出后分批发送，避免单条命令阻塞 Redis 过久
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final HotKeyService hotKeyService;
+    private final ClientSideCacheService clientSideCacheService;
+    private final ReplicaReadService replicaReadService;
+
+    /**
+     * 批量操作指标（按操作类型缓存，避免每次调用都查找注册表）
+     */
+    private final Map<String, DistributionSummary> batchSizeSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> roundTripCounters = new ConcurrentHashMap<>();
 
-    public RedisService(RedisTemplate<String, Object> redisTemplate) {
+    public RedisService(RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry,
+                        HotKeyService hotKeyService, ClientSideCacheService clientSideCacheService,
+                        ReplicaReadService replicaReadService) {
         this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.hotKeyService = hotKeyService;
+        this.clientSideCacheService = clientSideCacheService;
+        this.replicaReadService = replicaReadService;
     }
 
     // =============================通用============================
@@ -66,12 +107,121 @@ public class RedisService {
         if (key != null && key.length > 0) {
             if (key.length == 1) {
                 redisTemplate.delete(key[0]);
+                invalidateLocal(key[0]);
             } else {
                 redisTemplate.delete(List.of(key));
+                invalidateLocal(List.of(key));
+            }
+        }
+    }
+
+    /**
+     * 批量删除缓存（一条 DEL 命令）
+     *
+     * @param keys 键集合
+     * @return 删除的个数
+     */
+    public long del(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        record("del", keys.size(), 1);
+        Long deleted = redisTemplate.delete(keys);
+        invalidateLocal(keys);
+        return deleted == null ? 0L : deleted;
+    }
+
+    /**
+     * 管道批量执行（所有命令一次网络往返）
+     * 回调内的命令返回值均为 null，实际结果按命令顺序在返回列表中
+     *
+     * @param commands 要执行的命令
+     * @return 各命令的执行结果
+     */
+    public List<Object> pipeline(Consumer<PipelineOps> commands) {
+        int[] commandCount = new int[1];
+        List<String> writtenKeys = new ArrayList<>();
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                PipelineOps pipelineOps = new PipelineOps((RedisOperations<String, Object>) operations);
+                commands.accept(pipelineOps);
+                commandCount[0] = pipelineOps.getCommandCount();
+                writtenKeys.addAll(pipelineOps.getWrittenKeys());
+                return null;
+            }
+        });
+        record("pipeline", commandCount[0], 1);
+        invalidateLocal(writtenKeys);
+        return results;
+    }
+
+    /**
+     * 增量遍历匹配的键（SCAN，替代会阻塞 Redis 的 KEYS）
+     * 集群连接不支持整个键空间的 SCAN，集群模式下逐个主节点遍历
+     *
+     * @param pattern 键模式，如 sms:code:*
+     * @param batch   每次 SCAN 的建议数量
+     * @param action  对每个键的处理
+     */
+    public void scan(String pattern, int batch, Consumer<String> action) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batch).build();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            if (connection instanceof RedisClusterConnection clusterConnection) {
+                for (RedisClusterNode node : clusterConnection.clusterGetNodes()) {
+                    if (node.isMaster()) {
+                        consumeKeys(clusterConnection.scan(node, options), action);
+                    }
+                }
+            } else {
+                consumeKeys(connection.keyCommands().scan(options), action);
+            }
+            return null;
+        });
+    }
+
+    private void consumeKeys(Cursor<byte[]> cursor, Consumer<String> action) {
+        try (cursor) {
+            while (cursor.hasNext()) {
+                action.accept((String) redisTemplate.getKeySerializer().deserialize(cursor.next()));
             }
         }
     }
 
+    /**
+     * 记录一次批量操作的键数与往返次数
+     *
+     * @param operation  操作类型
+     * @param batchSize  涉及的键（命令）数
+     * @param roundTrips 网络往返次数
+     */
+    public void record(String operation, int batchSize, int roundTrips) {
+        batchSizeSummaries.computeIfAbsent(operation, op -> DistributionSummary.builder("aox.redis.batch.size")
+                        .description("Redis 批量操作涉及的键数")
+                        .tag("operation", op)
+                        .register(meterRegistry))
+                .record(batchSize);
+        roundTripCounters.computeIfAbsent(operation, op -> Counter.builder("aox.redis.batch.round.trips")
+                        .description("Redis 批量操作的网络往返次数")
+                        .tag("operation", op)
+                        .register(meterRegistry))
+                .increment(roundTrips);
+    }
+
+    /**
+     * 键被写入或删除后，失效本节点的热点副本与客户端缓存
+     */
+    private void invalidateLocal(String key) {
+        hotKeyService.invalidate(key);
+        clientSideCacheService.invalidate(key);
+    }
+
+    private void invalidateLocal(Collection<String> keys) {
+        hotKeyService.invalidate(keys);
+        keys.forEach(clientSideCacheService::invalidate);
+    }
+
     // ============================String=============================
 
     /**
@@ -81,9 +231,30 @@ public class RedisService {
      * @return 值
      */
     public Object get(String key) {
+        if (key == null) {
+            return null;
+        }
+        if (clientSideCacheService.isCacheable(key)) {
+            return clientSideCacheService.get(key);
+        }
+        return hotKeyService.get(key, this::readValue);
+    }
+
+    /**
+     * 直接从主节点读取，不经客户端缓存、热点键副本与从节点
+     * 用于结果会按版本号固化到本地的读取（如权限重载），这类读取读到旧值后不会再被失效
+     *
+     * @param key 键
+     * @return 值
+     */
+    public Object getFromPrimary(String key) {
         return key == null ? null : redisTemplate.opsForValue().get(key);
     }
 
+    private Object readValue(String key) {
+        return replicaReadService.routes(key) ? replicaReadService.get(key) : redisTemplate.opsForValue().get(key);
+    }
+
     /**
      * 普通缓存放入
      *
@@ -92,6 +263,7 @@ public class RedisService {
      */
     public void set(String key, Object value) {
         redisTemplate.opsForValue().set(key, value);
+        invalidateLocal(key);
     }
 
     /**
@@ -104,11 +276,56 @@ public class RedisService {
     public void set(String key, Object value, long time) {
         if (time > 0) {
             redisTemplate.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+            invalidateLocal(key);
         } else {
             set(key, value);
         }
     }
 
+    /**
+     * 批量获取（MGET，超过 1000 个键时分批）
+     *
+     * @param keys 键列表
+     * @return 值列表，顺序与键一致，不存在的键对应 null
+     */
+    public List<Object> mget(List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<List<String>> batches = ListUtil.partition(keys, MAX_BATCH_SIZE);
+        List<Object> values = new ArrayList<>(keys.size());
+        for (List<String> batch : batches) {
+            List<Object> batchValues = redisTemplate.opsForValue().multiGet(batch);
+            if (batchValues == null) {
+                batch.forEach(key -> values.add(null));
+            } else {
+                values.addAll(batchValues);
+            }
+        }
+        record("mget", keys.size(), batches.size());
+        return values;
+    }
+
+    /**
+     * 批量放入并设置时间（一次管道往返）
+     *
+     * @param map  键值
+     * @param time 时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     */
+    public void mset(Map<String, Object> map, long time) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        if (time > 0) {
+            // MSET 不支持过期时间，改为管道中逐条 SET EX
+            pipeline(ops -> map.forEach((key, value) -> ops.set(key, value, time)));
+        } else {
+            redisTemplate.opsForValue().multiSet(map);
+            invalidateLocal(map.keySet());
+            record("mset", map.size(), 1);
+        }
+    }
+
     /**
      * 递增
      *
@@ -119,7 +336,9 @@ public class RedisService {
         if (delta < 0) {
             throw new BusinessException("递增因子必须大于0");
         }
-        return redisTemplate.opsForValue().increment(key, delta);
+        Long value = redisTemplate.opsForValue().increment(key, delta);
+        invalidateLocal(key);
+        return value;
     }
 
     /**
@@ -132,7 +351,9 @@ public class RedisService {
         if (delta < 0) {
             throw new BusinessException("递减因子必须大于0");
         }
-        return redisTemplate.opsForValue().increment(key, -delta);
+        Long value = redisTemplate.opsForValue().increment(key, -delta);
+        invalidateLocal(key);
+        return value;
     }
 
     // ================================Map=================================
@@ -157,6 +378,55 @@ public class RedisService {
         return redisTemplate.opsForHash().entries(key);
     }
 
+    /**
+     * 获取 Hash 中多个项的值（HMGET）
+     *
+     * @param key   键
+     * @param items 项
+     * @return 值列表，顺序与项一致
+     */
+    public List<Object> hmget(String key, Collection<String> items) {
+        if (items == null || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        record("hmget", items.size(), 1);
+        return redisTemplate.opsForHash().multiGet(key, new ArrayList<>(items));
+    }
+
+    /**
+     * 批量获取多个 Hash 的所有键值（一次管道往返）
+     *
+     * @param keys 键集合
+     * @return 键 -> Hash 内容，不存在的键对应空 Map
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<Object, Object>> hgetAll(Collection<String> keys) {
+        Map<String, Map<Object, Object>> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> values = pipeline(ops -> keyList.forEach(ops::hgetAll));
+        for (int i = 0; i < keyList.size(); i++) {
+            Object value = i < values.size() ? values.get(i) : null;
+            result.put(keyList.get(i), value instanceof Map<?, ?> map ? (Map<Object, Object>) map : new HashMap<>());
+        }
+        return result;
+    }
+
+    /**
+     * 批量写入多个 Hash（一次管道往返）
+     *
+     * @param hashes 键 -> Hash 内容
+     * @param time   时间(秒)，小于等于 0 时不设置
+     */
+    public void hmsetAll(Map<String, Map<String, Object>> hashes, long time) {
+        if (hashes == null || hashes.isEmpty()) {
+            return;
+        }
+        pipeline(ops -> hashes.forEach((key, map) -> ops.hmset(key, map, time)));
+    }
+
     /**
      * HashSet
      *
@@ -0,0 +1,123 @@
+package com.aox.common.redis.service;
+
+import com.aox.common.redis.config.ReplicaReadProperties;
+import io.lettuce.core.ReadFrom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis 从节点读取
+ * 哨兵或集群模式下按 redis.replica-read.read-from 另建一个只用于读取的连接工厂，
+ * 匹配 prefixes 的纯缓存读取（权限列表等）走从节点，分担主节点压力；
+ * 其他读取与所有写入（会话、限流计数、版本号）仍走主 RedisTemplate。
+ * 单机模式或读取偏好为 upstream 时不启用，所有读取走主节点。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class ReplicaReadService {
+
+    private final ReplicaReadProperties replicaReadProperties;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private LettuceConnectionFactory replicaConnectionFactory;
+    private RedisTemplate<String, Object> replicaTemplate;
+    private Counter replicaReadCounter;
+
+    public ReplicaReadService(ReplicaReadProperties replicaReadProperties,
+                              RedisConnectionFactory connectionFactory,
+                              RedisTemplate<String, Object> redisTemplate,
+                              MeterRegistry meterRegistry) {
+        this.replicaReadProperties = replicaReadProperties;
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        String readFrom = replicaReadProperties.getReadFrom();
+        if (readFrom == null || "upstream".equalsIgnoreCase(readFrom) || "master".equalsIgnoreCase(readFrom)
+                || replicaReadProperties.getPrefixes().isEmpty()) {
+            return;
+        }
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                || (lettuce.getSentinelConfiguration() == null && lettuce.getClusterConfiguration() == null)) {
+            log.info("Redis 非哨兵/集群模式，从节点读取不生效");
+            return;
+        }
+
+        LettuceClientConfiguration primary = lettuce.getClientConfiguration();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.valueOf(readFrom))
+                .commandTimeout(primary.getCommandTimeout())
+                .shutdownTimeout(primary.getShutdownTimeout());
+        if (primary.isUseSsl()) {
+            builder.useSsl();
+        }
+        // 沿用主连接的客户端选项（集群拓扑刷新等）与事件循环资源
+        primary.getClientOptions().ifPresent(builder::clientOptions);
+        primary.getClientResources().ifPresent(builder::clientResources);
+        primary.getClientName().ifPresent(builder::clientName);
+
+        replicaConnectionFactory = lettuce.getSentinelConfiguration() != null
+                ? new LettuceConnectionFactory(lettuce.getSentinelConfiguration(), builder.build())
+                : new LettuceConnectionFactory(lettuce.getClusterConfiguration(), builder.build());
+        replicaConnectionFactory.afterPropertiesSet();
+        replicaConnectionFactory.start();
+
+        replicaTemplate = new RedisTemplate<>();
+        replicaTemplate.setConnectionFactory(replicaConnectionFactory);
+        replicaTemplate.setKeySerializer(redisTemplate.getKeySerializer());
+        replicaTemplate.setValueSerializer(redisTemplate.getValueSerializer());
+        replicaTemplate.setHashKeySerializer(redisTemplate.getHashKeySerializer());
+        replicaTemplate.setHashValueSerializer(redisTemplate.getHashValueSerializer());
+        replicaTemplate.afterPropertiesSet();
+
+        replicaReadCounter = Counter.builder("aox.redis.replica.reads")
+                .description("路由到从节点的读取次数")
+                .register(meterRegistry);
+        log.info("Redis 从节点读取已启用, readFrom={}, prefixes={}", readFrom, replicaReadProperties.getPrefixes());
+    }
+
+    /**
+     * 键是否从从节点读取
+     */
+    public boolean routes(String key) {
+        if (replicaTemplate == null) {
+            return false;
+        }
+        for (String prefix : replicaReadProperties.getPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 从从节点读取（调用前需确认 routes）
+     */
+    public Object get(String key) {
+        replicaReadCounter.increment();
+        return replicaTemplate.opsForValue().get(key);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (replicaConnectionFactory != null) {
+            replicaConnectionFactory.destroy();
+        }
+    }
+}
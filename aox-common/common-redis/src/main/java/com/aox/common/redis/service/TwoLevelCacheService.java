@@ -0,0 +1,345 @@
+package com.aox.common.redis.service;
+
+import com.aox.common.core.constant.RedisConstants;
+import com.aox.common.redis.cache.TenantCacheKeys;
+import com.aox.common.redis.script.RedisScriptRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 二级缓存服务（AoxCacheable/AoxCacheEvict 的实现，也可直接调用）
+ * 1. 一级缓存为 LocalCacheService 的数据缓存，二级缓存为 Redis，条目写入时按 ttl 加随机抖动
+ * 2. 同一节点上同一个键并发未命中时只有一个线程回源，其余线程等待其结果（single-flight）
+ * 3. 空结果以占位值缓存 nullTtl 秒，避免不存在的键反复穿透到数据库
+ * 4. 每个条目登记到其缓存名称及标签对应的 Redis 集合中，按名称或标签失效时先删 Redis 再广播本地失效；
+ *    标签集合由 Lua 脚本原子地取出并删除，失效期间新登记的条目留在新集合中，不会丢失
+ * 5. Redis 不可用时退化为只用本地缓存与回源，不影响业务
+ * 6. 带租户段（t{租户ID}:）的键额外登记到租户标签，租户下线时按标签一次失效该租户的所有条目
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class TwoLevelCacheService {
+
+    /**
+     * 空结果占位值
+     */
+    private static final String NULL_VALUE = "@@aox:null@@";
+
+    /**
+     * 标签集合的最短过期时间（秒），集合中已过期的成员在失效时删除即可，无需单独清理
+     */
+    private static final long TAG_TTL_SECONDS = 7 * 24 * 3600;
+
+    private final LocalCacheService localCacheService;
+    private final RedisService redisService;
+    private final MeterRegistry meterRegistry;
+    private final RedisScriptRegistry scriptRegistry;
+    private final RedisSerializer<Object> redisValueSerializer;
+    private final RedisScript<List> tagPopScript;
+
+    /**
+     * 缓存键 -> 正在进行的回源加载
+     */
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名称 -> 指标
+     */
+    private final Map<String, CacheMetrics> metrics = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheService(LocalCacheService localCacheService, RedisService redisService,
+                                MeterRegistry meterRegistry, RedisScriptRegistry scriptRegistry,
+                                RedisSerializer<Object> redisValueSerializer) {
+        this.localCacheService = localCacheService;
+        this.redisService = redisService;
+        this.meterRegistry = meterRegistry;
+        this.scriptRegistry = scriptRegistry;
+        this.redisValueSerializer = redisValueSerializer;
+        this.tagPopScript = scriptRegistry.register("cache_tag_pop", List.class);
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 加载并写入两级缓存
+     *
+     * @param options 缓存选项
+     * @param key     缓存键（不含缓存名称前缀）
+     * @param loader  回源加载
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(CacheOptions options, String key, Supplier<T> loader) {
+        String cacheKey = cacheKey(options.cacheName(), key);
+        CacheMetrics cacheMetrics = metrics(options.cacheName());
+
+        LocalEntry local = getLocal(options, cacheKey);
+        if (local != null) {
+            cacheMetrics.localHit().increment();
+            return (T) local.value();
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(cacheKey, future);
+        if (inFlight != null) {
+            cacheMetrics.coalesced().increment();
+            return (T) join(inFlight);
+        }
+        try {
+            Object value = load(options, cacheKey, loader, cacheMetrics);
+            future.complete(value);
+            return (T) value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(cacheKey, future);
+        }
+    }
+
+    /**
+     * 失效单个缓存键
+     */
+    public void evict(String cacheName, String key) {
+        evictKeys(List.of(cacheKey(cacheName, key)));
+    }
+
+    /**
+     * 失效缓存名称下的全部条目
+     */
+    public void clear(String cacheName) {
+        evictTags(List.of(nameTag(cacheName)));
+    }
+
+    /**
+     * 按标签失效
+     */
+    public void evictTags(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        List<String> tagKeys = tags.stream().map(tag -> RedisConstants.CACHE_TAG_KEY + tag).toList();
+        Set<String> keys = new LinkedHashSet<>();
+        try {
+            // 每个标签单独执行：脚本只访问一个键，集群模式下不会跨槽
+            for (String tagKey : tagKeys) {
+                List<?> members = scriptRegistry.execute(tagPopScript, redisValueSerializer, List.of(tagKey));
+                if (members != null) {
+                    members.forEach(member -> keys.add(String.valueOf(member)));
+                }
+            }
+        } catch (Exception e) {
+            // 拿不到标签成员时无法精确失效，退化为清空所有节点的本地数据缓存，Redis 中的条目等待过期
+            log.warn("读取缓存标签失败，清空本地数据缓存: tags={}, error={}", tags, e.getMessage());
+            localCacheService.clearDataCache();
+            return;
+        }
+        evictKeys(keys);
+        log.debug("按标签失效缓存: tags={}, keys={}", tags, keys.size());
+    }
+
+    /**
+     * 租户下线：失效该租户的所有二级缓存条目（Redis 中按租户标签删除），并清除所有节点上该租户的本地缓存分区
+     */
+    public void evictTenant(Long tenantId) {
+        evictTags(List.of(tenantTag(tenantId)));
+        localCacheService.invalidateTenant(tenantId);
+    }
+
+    private void evictKeys(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        // 先删 Redis 再删本地，避免其他线程在两步之间用 Redis 中的旧值回填本地缓存
+        try {
+            redisService.del(keys);
+        } catch (Exception e) {
+            log.warn("删除 Redis 缓存失败: keys={}, error={}", keys.size(), e.getMessage());
+        }
+        localCacheService.removeData(keys);
+    }
+
+    private Object load(CacheOptions options, String cacheKey, Supplier<?> loader, CacheMetrics cacheMetrics) {
+        // 等待期间其他线程可能已经写入本地缓存
+        LocalEntry local = getLocal(options, cacheKey);
+        if (local != null) {
+            cacheMetrics.localHit().increment();
+            return local.value();
+        }
+
+        boolean redisAvailable = true;
+        Object cached = null;
+        try {
+            cached = redisService.get(cacheKey);
+        } catch (Exception e) {
+            redisAvailable = false;
+            log.warn("读取 Redis 缓存失败，直接回源: key={}, error={}", cacheKey, e.getMessage());
+        }
+        if (cached != null) {
+            cacheMetrics.redisHit().increment();
+            Object value = NULL_VALUE.equals(cached) ? null : cached;
+            putLocal(options, cacheKey, value);
+            return value;
+        }
+
+        cacheMetrics.miss().increment();
+        long start = System.nanoTime();
+        Object value = loader.get();
+        cacheMetrics.loadTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (value == null && options.nullTtl() <= 0) {
+            return null;
+        }
+        if (redisAvailable) {
+            putRedis(options, cacheKey, value);
+        }
+        putLocal(options, cacheKey, value);
+        return value;
+    }
+
+    private void putRedis(CacheOptions options, String cacheKey, Object value) {
+        long ttl = value == null ? options.nullTtl() : withJitter(options.ttl(), options.jitter());
+        long tagTtl = Math.max(ttl, TAG_TTL_SECONDS);
+        List<String> tags = new ArrayList<>(options.tags().size() + 2);
+        tags.add(nameTag(options.cacheName()));
+        tags.addAll(options.tags());
+        long tenantId = TenantCacheKeys.tenantOf(cacheKey);
+        if (tenantId != TenantCacheKeys.DEFAULT_TENANT_ID) {
+            tags.add(tenantTag(tenantId));
+        }
+        try {
+            redisService.pipeline(ops -> {
+                ops.set(cacheKey, value == null ? NULL_VALUE : value, ttl);
+                for (String tag : tags) {
+                    ops.sadd(RedisConstants.CACHE_TAG_KEY + tag, cacheKey);
+                    ops.expire(RedisConstants.CACHE_TAG_KEY + tag, tagTtl);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("写入 Redis 缓存失败: key={}, error={}", cacheKey, e.getMessage());
+        }
+    }
+
+    private LocalEntry getLocal(CacheOptions options, String cacheKey) {
+        if (options.localTtl() <= 0) {
+            return null;
+        }
+        if (localCacheService.getDataIfPresent(cacheKey) instanceof LocalEntry entry
+                && entry.expireAt() > System.currentTimeMillis()) {
+            return entry;
+        }
+        return null;
+    }
+
+    private void putLocal(CacheOptions options, String cacheKey, Object value) {
+        long ttl = Math.min(options.localTtl(), value == null ? options.nullTtl() : options.ttl());
+        if (ttl > 0) {
+            localCacheService.setData(cacheKey, new LocalEntry(value, System.currentTimeMillis() + ttl * 1000));
+        }
+    }
+
+    private static long withJitter(long ttl, double jitter) {
+        long bound = (long) (ttl * jitter);
+        return bound > 0 ? ttl + ThreadLocalRandom.current().nextLong(bound + 1) : ttl;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String cacheKey(String cacheName, String key) {
+        return RedisConstants.CACHE_DATA_KEY + cacheName + ":" + key;
+    }
+
+    /**
+     * 缓存名称对应的内置标签
+     */
+    private static String nameTag(String cacheName) {
+        return "@" + cacheName;
+    }
+
+    /**
+     * 租户对应的内置标签
+     */
+    private static String tenantTag(Long tenantId) {
+        return "@tenant:" + tenantId;
+    }
+
+    private CacheMetrics metrics(String cacheName) {
+        return metrics.computeIfAbsent(cacheName, name -> new CacheMetrics(
+                requestCounter(name, "local_hit"),
+                requestCounter(name, "redis_hit"),
+                requestCounter(name, "miss"),
+                requestCounter(name, "coalesced"),
+                Timer.builder("aox.cache.load")
+                        .description("二级缓存回源加载耗时")
+                        .tag("cache", name)
+                        .register(meterRegistry)));
+    }
+
+    private Counter requestCounter(String cacheName, String result) {
+        return Counter.builder("aox.cache.requests")
+                .description("二级缓存读取次数（coalesced 为等待其他线程回源的次数）")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 缓存选项
+     *
+     * @param cacheName 缓存名称
+     * @param ttl       Redis 过期时间（秒）
+     * @param localTtl  本地缓存过期时间（秒），0 表示不使用本地缓存
+     * @param nullTtl   空结果缓存时间（秒），0 表示不缓存空结果
+     * @param jitter    过期时间随机增加的比例
+     * @param tags      缓存标签
+     */
+    public record CacheOptions(String cacheName, long ttl, long localTtl, long nullTtl, double jitter,
+                               List<String> tags) {
+
+        /**
+         * 使用默认选项（本地 5 分钟、空结果 60 秒、抖动 10%、无标签）
+         */
+        public static CacheOptions of(String cacheName, long ttl) {
+            return new CacheOptions(cacheName, ttl, Math.min(ttl, 300), 60, 0.1, List.of());
+        }
+    }
+
+    /**
+     * 本地缓存条目（自带过期时间，value 可以为 null）
+     */
+    private record LocalEntry(Object value, long expireAt) {
+    }
+
+    private record CacheMetrics(Counter localHit, Counter redisHit, Counter miss, Counter coalesced,
+                                Timer loadTimer) {
+    }
+}
@@ -0,0 +1,6 @@
+-- 原子取出并删除缓存标签集合
+-- KEYS[1] 标签集合
+-- 返回 集合成员（集合已删除，之后登记的条目写入新集合，不会被本次失效一起丢弃）
+local members = redis.call('SMEMBERS', KEYS[1])
+redis.call('DEL', KEYS[1])
+return members
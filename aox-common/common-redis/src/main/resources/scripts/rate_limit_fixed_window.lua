@@ -0,0 +1,21 @@
+-- 固定窗口限流
+-- KEYS[1] 计数键
+-- ARGV[1] 窗口内允许次数  ARGV[2] 窗口长度（毫秒）  ARGV[3] 申请许可数
+-- 返回 {授予许可数, 剩余许可数, 距窗口重置毫秒数}
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local ttl = redis.call('PTTL', KEYS[1])
+local granted = 0
+if current < limit then
+    granted = math.min(permits, limit - current)
+    current = redis.call('INCRBY', KEYS[1], granted)
+end
+-- 新窗口，或旧版两步写入遗留的无过期时间计数键
+if ttl < 0 then
+    redis.call('PEXPIRE', KEYS[1], window)
+    ttl = window
+end
+return {granted, math.max(0, limit - current), ttl}
@@ -0,0 +1,28 @@
+-- 滑动窗口（滑动日志）限流，时间取 Redis 服务端时间，避免各节点时钟偏差
+-- KEYS[1] 请求日志 ZSET
+-- ARGV[1] 窗口内允许次数  ARGV[2] 窗口长度（毫秒）  ARGV[3] 申请许可数  ARGV[4] 请求唯一标识
+-- 返回 {授予许可数, 剩余许可数, 最早一条记录滑出窗口的毫秒数}
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], 0, now - window)
+local count = redis.call('ZCARD', KEYS[1])
+if count >= limit then
+    local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+    local retry = window
+    if oldest[2] then
+        retry = math.max(1, tonumber(oldest[2]) + window - now)
+    end
+    return {0, 0, retry}
+end
+
+local granted = math.min(permits, limit - count)
+for i = 1, granted do
+    redis.call('ZADD', KEYS[1], now, ARGV[4] .. ':' .. i)
+end
+redis.call('PEXPIRE', KEYS[1], window)
+return {granted, limit - count - granted, window}
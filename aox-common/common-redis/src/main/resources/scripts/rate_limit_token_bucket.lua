@@ -0,0 +1,32 @@
+-- 令牌桶限流，时间取 Redis 服务端时间
+-- KEYS[1] 令牌桶 Hash（tokens 当前令牌数，ts 上次补充时间）
+-- ARGV[1] 桶容量  ARGV[2] 补满整个桶所需时间（毫秒）  ARGV[3] 申请许可数
+-- 返回 {授予许可数, 剩余令牌数, 下一个令牌可用的毫秒数}
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+local rate = capacity / period
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local granted = math.min(permits, math.floor(tokens))
+tokens = tokens - granted
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- 桶补满后的状态与键不存在等价，过期即可回收
+redis.call('PEXPIRE', KEYS[1], period)
+
+local retry = 0
+if tokens < 1 then
+    retry = math.ceil((1 - tokens) / rate)
+end
+return {granted, math.floor(tokens), retry}
@@ -0,0 +1,19 @@
+package com.aox.common.security.annotation;
+
+/**
+ * 多个权限标识的组合方式
+ *
+ * @author Aox Team
+ */
+public enum Logical {
+
+    /**
+     * 必须拥有全部权限
+     */
+    AND,
+
+    /**
+     * 拥有任一权限即可
+     */
+    OR
+}
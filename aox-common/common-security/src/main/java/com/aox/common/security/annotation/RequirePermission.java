@@ -8,14 +8,21 @@ import java.lang.annotation.Target;
 /**
  * 权限校验注解
  *
- * 使用示例：@RequirePermission("banner:list")
+ * 使用示例：
+ * {@code @RequirePermission("banner:list")}
+ * {@code @RequirePermission(value = {"system:user:add", "system:user:edit"}, logical = Logical.OR)}
  */
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RequirePermission {
 
     /**
-     * 权限标识
+     * 权限标识（支持多个）
      */
-    String value();
+    String[] value();
+
+    /**
+     * 多个权限标识的组合方式，默认需要全部拥有
+     */
+    Logical logical() default Logical.AND;
 }
@@ -1,7 +1,9 @@
 package com.aox.common.security.aspect;
 
-import com.aox.common.security.annotation.RequirePermission;
 import com.aox.common.security.context.SecurityContextHolder;
+import com.aox.common.security.domain.LoginUser;
+import com.aox.common.security.metadata.HandlerMethodRegistry;
+import com.aox.common.security.metadata.PermissionRequirement;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -10,15 +12,20 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Method;
-
 /**
  * 权限校验切面
+ * 权限要求在启动时预先解析到 HandlerMethodRegistry，每次调用只做一次查找
  */
 @Aspect
 @Component
 public class RequirePermissionAspect {
 
+    private final HandlerMethodRegistry handlerMethodRegistry;
+
+    public RequirePermissionAspect(HandlerMethodRegistry handlerMethodRegistry) {
+        this.handlerMethodRegistry = handlerMethodRegistry;
+    }
+
     @Pointcut("@annotation(com.aox.common.security.annotation.RequirePermission) || " +
             "@within(com.aox.common.security.annotation.RequirePermission)")
     public void requirePermissionPointcut() {
@@ -27,19 +34,14 @@ public class RequirePermissionAspect {
     @Around("requirePermissionPointcut()")
     public Object around(ProceedingJoinPoint point) throws Throwable {
         MethodSignature signature = (MethodSignature) point.getSignature();
-        Method method = signature.getMethod();
-
-        RequirePermission annotation = method.getAnnotation(RequirePermission.class);
-        if (annotation == null) {
-            annotation = point.getTarget().getClass().getAnnotation(RequirePermission.class);
-        }
-
-        if (annotation != null) {
-            String permission = annotation.value();
-            if (permission != null && !permission.trim().isEmpty()) {
-                if (!SecurityContextHolder.hasPermission(permission)) {
-                    throw new AccessDeniedException("无权限访问");
-                }
+        PermissionRequirement requirement = handlerMethodRegistry
+                .get(signature.getMethod(), point.getTarget().getClass())
+                .getPermissionRequirement();
+
+        if (!requirement.isEmpty()) {
+            LoginUser loginUser = SecurityContextHolder.getLoginUser();
+            if (loginUser == null || !requirement.isSatisfiedBy(loginUser.getPermissionMatcher())) {
+                throw new AccessDeniedException("无权限访问");
             }
         }
 
@@ -0,0 +1,133 @@
+package com.aox.common.security.cache;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.aox.common.redis.cache.CacheInvalidationBus;
+import com.aox.common.security.domain.ParsedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已验签 Token 缓存
+ * 以 Token 的 SHA-256 摘要为键缓存解析结果，命中时跳过 HMAC 验签与 Claims 解码；
+ * 每个条目的存活时间不超过 Token 自身的 exp。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * 缓存名称（用于失效广播）
+     */
+    public static final String CACHE_NAME = "jwt:verified";
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, ParsedToken> cache;
+
+    public VerifiedTokenCache(CacheInvalidationBus cacheInvalidationBus) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        // 订阅其他节点的失效广播，订阅重连后全量清空
+        cacheInvalidationBus.register(CACHE_NAME, digest -> {
+            if (digest == null) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidate(digest);
+            }
+        });
+        cacheInvalidationBus.registerResetListener(cache::invalidateAll);
+        log.info("VerifiedTokenCache 初始化完成, enabled={}, maxSize={}", enabled, maxSize);
+    }
+
+    /**
+     * 获取已验签的 Token 信息
+     *
+     * @param token Token
+     * @return 命中且未过期时返回解析结果，否则返回 null
+     */
+    public ParsedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        ParsedToken parsedToken = cache.getIfPresent(digest(token));
+        return parsedToken != null && !parsedToken.isExpired() ? parsedToken : null;
+    }
+
+    /**
+     * 缓存已验签的 Token 信息
+     */
+    public void put(String token, ParsedToken parsedToken) {
+        if (enabled && parsedToken != null && !parsedToken.isExpired()) {
+            cache.put(digest(token), parsedToken);
+        }
+    }
+
+    /**
+     * 失效 Token（本节点立即失效，并广播到其他节点）
+     */
+    public void evict(String token) {
+        String digest = digest(token);
+        cache.invalidate(digest);
+        cacheInvalidationBus.publish(CACHE_NAME, digest);
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public String getCacheStats() {
+        return "已验签Token缓存: size=" + cache.estimatedSize() + ", " + cache.stats();
+    }
+
+    /**
+     * 计算 Token 摘要
+     */
+    private static String digest(String token) {
+        return DigestUtil.sha256Hex(token);
+    }
+
+    /**
+     * 按 Token 自身 exp 计算条目存活时间
+     */
+    private static class TokenExpiry implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken value, long currentTime) {
+            long remainingMillis = value.getExpiration() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
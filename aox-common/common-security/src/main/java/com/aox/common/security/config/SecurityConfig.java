@@ -1,6 +1,7 @@
 package com.aox.common.security.config;
 
 import com.aox.common.security.filter.JwtAuthenticationFilter;
+import com.aox.common.security.filter.SecurityPathMatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -37,39 +38,17 @@ import java.util.Map;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final SecurityPathMatcher securityPathMatcher;
     private final ObjectMapper objectMapper;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                         SecurityPathMatcher securityPathMatcher,
                          ObjectMapper objectMapper) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.securityPathMatcher = securityPathMatcher;
         this.objectMapper = objectMapper;
     }
 
-    /**
-     * 白名单路径（无需认证）
-     */
-    private static final String[] WHITE_LIST = {
-            // 认证相关
-            "/api/auth/**",
-            "/api/v1/auth/**",
-            // 小程序认证
-            "/api/miniapp/auth/**",
-            "/api/v1/miniapp/auth/**",
-            // Swagger/OpenAPI
-            "/swagger-ui/**",
-            "/swagger-ui.html",
-            "/swagger-resources/**",
-            "/v3/api-docs/**",
-            "/doc.html",
-            "/webjars/**",
-            // 静态资源
-            "/static/**",
-            "/favicon.ico",
-            // 健康检查
-            "/actuator/**",
-            "/health"
-    };
-
     /**
      * 安全过滤链配置
      */
@@ -85,8 +64,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 // 配置请求授权
                 .authorizeHttpRequests(auth -> auth
-                        // 白名单路径允许匿名访问
-                        .requestMatchers(WHITE_LIST).permitAll()
+                        // 白名单路径允许匿名访问（公开资源、认证接口、配置的匿名路径）
+                        .requestMatchers(securityPathMatcher.getPermitAllPaths()).permitAll()
                         // 其他请求需要认证
                         .anyRequest().authenticated())
                 // 异常处理
@@ -147,9 +126,10 @@ public class SecurityConfig {
 
     /**
      * 密码编码器
+     * 哈希与校验请通过 PasswordHashService 调用，避免占用请求线程
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
@@ -71,20 +71,17 @@ public class SecurityContextHolder {
 
     /**
      * 判断当前用户是否拥有指定权限
+     * 通过编译后的权限匹配器判断，支持 system:user:* 通配授权，超级管理员拥有所有权限
      *
      * @param permission 权限标识
      * @return 是否拥有权限
      */
     public static boolean hasPermission(String permission) {
         LoginUser loginUser = getLoginUser();
-        if (loginUser == null || loginUser.getPermissions() == null) {
+        if (loginUser == null) {
             return false;
         }
-        // 超级管理员拥有所有权限
-        if (loginUser.getRoles() != null && loginUser.getRoles().contains("ROLE_ADMIN")) {
-            return true;
-        }
-        return loginUser.getPermissions().contains(permission);
+        return loginUser.getPermissionMatcher().matches(permission);
     }
 
     /**
@@ -1,24 +1,25 @@
 package com.aox.common.security.domain;
 
+import com.aox.common.core.domain.AuthenticatedPrincipal;
+import com.aox.common.security.permission.PermissionMatcher;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 登录用户信息
  *
  * @author Aox Team
  */
-public class LoginUser implements UserDetails {
+public class LoginUser implements UserDetails, AuthenticatedPrincipal {
 
     private static final long serialVersionUID = 1L;
 
@@ -77,6 +78,11 @@ public class LoginUser implements UserDetails {
      */
     private Set<String> roles;
 
+    /**
+     * 权限匹配器（由权限与角色编译，相同角色的用户共享）
+     */
+    private transient PermissionMatcher permissionMatcher;
+
     /**
      * 登录IP
      */
@@ -146,10 +152,33 @@ public class LoginUser implements UserDetails {
     public void setUserType(String userType) { this.userType = userType; }
 
     public Set<String> getPermissions() { return permissions; }
-    public void setPermissions(Set<String> permissions) { this.permissions = permissions; }
+    public void setPermissions(Set<String> permissions) {
+        this.permissions = permissions;
+        this.permissionMatcher = null;
+    }
 
     public Set<String> getRoles() { return roles; }
-    public void setRoles(Set<String> roles) { this.roles = roles; }
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+        this.permissionMatcher = null;
+    }
+
+    /**
+     * 获取权限匹配器，未设置时按当前权限与角色编译
+     */
+    @JsonIgnore
+    public PermissionMatcher getPermissionMatcher() {
+        PermissionMatcher matcher = permissionMatcher;
+        if (matcher == null) {
+            matcher = PermissionMatcher.compile(permissions, roles);
+            permissionMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    public void setPermissionMatcher(PermissionMatcher permissionMatcher) {
+        this.permissionMatcher = permissionMatcher;
+    }
 
     public String getLoginIp() { return loginIp; }
     public void setLoginIp(String loginIp) { this.loginIp = loginIp; }
@@ -173,6 +202,7 @@ public class LoginUser implements UserDetails {
         private String userType;
         private Set<String> permissions;
         private Set<String> roles;
+        private PermissionMatcher permissionMatcher;
         private String loginIp;
         private Long loginTime;
         private Long expireTime;
@@ -232,6 +262,16 @@ public class LoginUser implements UserDetails {
             return this;
         }
 
+        /**
+         * 设置已编译的权限匹配器，同时以匹配器中的权限与角色填充 permissions/roles
+         */
+        public LoginUserBuilder permissionMatcher(PermissionMatcher permissionMatcher) {
+            this.permissionMatcher = permissionMatcher;
+            this.permissions = permissionMatcher.getPermissions();
+            this.roles = permissionMatcher.getRoles();
+            return this;
+        }
+
         public LoginUserBuilder loginIp(String loginIp) {
             this.loginIp = loginIp;
             return this;
@@ -248,17 +288,18 @@ public class LoginUser implements UserDetails {
         }
 
         public LoginUser build() {
-            return new LoginUser(userId, username, password, nickname, avatar, status, deptId,
+            LoginUser loginUser = new LoginUser(userId, username, password, nickname, avatar, status, deptId,
                     tenantId, userType, permissions, roles, loginIp, loginTime, expireTime);
+            loginUser.permissionMatcher = permissionMatcher;
+            return loginUser;
         }
     }
 
     @Override
+    @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // 将权限和角色合并为 GrantedAuthority
-        return permissions.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        // 权限对应的 GrantedAuthority 在匹配器编译时生成，这里直接复用
+        return getPermissionMatcher().getAuthorities();
     }
 
     @Override
@@ -272,21 +313,25 @@ public class LoginUser implements UserDetails {
     }
 
     @Override
+    @JsonIgnore
     public boolean isAccountNonExpired() {
         return true;
     }
 
     @Override
+    @JsonIgnore
     public boolean isAccountNonLocked() {
         return true;
     }
 
     @Override
+    @JsonIgnore
     public boolean isCredentialsNonExpired() {
         return true;
     }
 
     @Override
+    @JsonIgnore
     public boolean isEnabled() {
         return this.status != null && this.status == 0;
     }
@@ -0,0 +1,49 @@
+package com.aox.common.security.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 在线用户（由会话索引汇总）
+ *
+ * @author Aox Team
+ */
+@Data
+@NoArgsConstructor
+public class OnlineUser implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名（由业务模块补充）
+     */
+    private String username;
+
+    /**
+     * 昵称（由业务模块补充）
+     */
+    private String nickname;
+
+    /**
+     * 有效会话数
+     */
+    private Integer sessionCount;
+
+    /**
+     * 最近一次会话的过期时间（毫秒）
+     */
+    private Long expireTime;
+
+    public OnlineUser(Long userId, Integer sessionCount, Long expireTime) {
+        this.userId = userId;
+        this.sessionCount = sessionCount;
+        this.expireTime = expireTime;
+    }
+}
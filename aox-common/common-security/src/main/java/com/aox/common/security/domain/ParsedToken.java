@@ -0,0 +1,85 @@
+package com.aox.common.security.domain;
+
+/**
+ * 已验签的 Token 信息（不可变）
+ * 由 JwtTokenUtil#parse 一次性解析生成，避免同一请求内重复验签
+ *
+ * @author Aox Team
+ */
+public final class ParsedToken {
+
+    /**
+     * Token 唯一标识（jti，旧版本签发的 Token 为 null）
+     */
+    private final String jti;
+
+    /**
+     * 会话ID（Redis 登录态的短键：jti，旧 Token 取 SHA-256 前 32 位）
+     */
+    private final String sessionId;
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 类型 (admin/miniapp)
+     */
+    private final String type;
+
+    /**
+     * 租户ID
+     */
+    private final Long tenantId;
+
+    /**
+     * 签发时间（毫秒，旧 Token 没有毫秒签发时间，取 iat 即精确到秒）
+     */
+    private final long issuedAt;
+
+    /**
+     * 过期时间（毫秒）
+     */
+    private final long expiration;
+
+    public ParsedToken(String jti, String sessionId, Long userId, String username, String type, Long tenantId,
+                       long issuedAt, long expiration) {
+        this.jti = jti;
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.username = username;
+        this.type = type;
+        this.tenantId = tenantId == null ? 0L : tenantId;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+    }
+
+    public String getJti() { return jti; }
+
+    public String getSessionId() { return sessionId; }
+
+    public Long getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    public String getType() { return type; }
+
+    public Long getTenantId() { return tenantId; }
+
+    public long getIssuedAt() { return issuedAt; }
+
+    public long getExpiration() { return expiration; }
+
+    /**
+     * 是否已过期
+     */
+    public boolean isExpired() {
+        return expiration <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,38 @@
+package com.aox.common.security.domain;
+
+import com.aox.common.security.permission.PermissionMatcher;
+
+/**
+ * 会话快照（不可变）
+ * 一次 Redis 往返读取的登录态与编译后的权限匹配器
+ *
+ * @author Aox Team
+ */
+public final class SessionSnapshot {
+
+    /**
+     * 登录态中缓存的用户ID（Token 已登出或过期时为 null）
+     */
+    private final Long cachedUserId;
+
+    /**
+     * 权限匹配器（相同角色的用户共享同一实例）
+     */
+    private final PermissionMatcher permissionMatcher;
+
+    public SessionSnapshot(Long cachedUserId, PermissionMatcher permissionMatcher) {
+        this.cachedUserId = cachedUserId;
+        this.permissionMatcher = permissionMatcher == null ? PermissionMatcher.EMPTY : permissionMatcher;
+    }
+
+    public Long getCachedUserId() { return cachedUserId; }
+
+    public PermissionMatcher getPermissionMatcher() { return permissionMatcher; }
+
+    /**
+     * 登录态是否存在
+     */
+    public boolean isActive() {
+        return cachedUserId != null;
+    }
+}
@@ -1,25 +1,24 @@
 package com.aox.common.security.filter;
 
 import cn.hutool.core.util.StrUtil;
-import com.aox.common.core.constant.RedisConstants;
 import com.aox.common.security.context.SecurityContextHolder;
 import com.aox.common.security.domain.LoginUser;
+import com.aox.common.security.domain.ParsedToken;
+import com.aox.common.security.domain.SessionSnapshot;
+import com.aox.common.security.service.TokenRevocationService;
+import com.aox.common.security.service.TokenSessionService;
 import com.aox.common.security.utils.JwtTokenUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 /**
  * JWT 认证过滤器
@@ -31,17 +30,31 @@ import java.util.Set;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenSessionService tokenSessionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityPathMatcher securityPathMatcher;
 
     public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil,
-                                   RedisTemplate<String, Object> redisTemplate) {
+                                   TokenSessionService tokenSessionService,
+                                   TokenRevocationService tokenRevocationService,
+                                   SecurityPathMatcher securityPathMatcher) {
         this.jwtTokenUtil = jwtTokenUtil;
-        this.redisTemplate = redisTemplate;
+        this.tokenSessionService = tokenSessionService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.securityPathMatcher = securityPathMatcher;
     }
 
     private static final String TOKEN_PREFIX = "Bearer ";
     private static final String TOKEN_HEADER = "Authorization";
 
+    /**
+     * 公开路径（文档、健康检查、配置的匿名接口）直接跳过，不提取 Token、不访问 Redis
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return securityPathMatcher.isPublic(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -57,41 +70,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.debug("请求URI: {}, Token是否存在: {}", requestUri, StrUtil.isNotBlank(token));
 
             if (StrUtil.isNotBlank(token)) {
-                // 2. 验证 Token
-                if (jwtTokenUtil.validateToken(token)) {
-                    // 3. 检查 Token 是否在 Redis 中存在（用于支持登出功能）
-                    String tokenKey = RedisConstants.LOGIN_TOKEN_KEY + token;
-                    Object cachedUserId = redisTemplate.opsForValue().get(tokenKey);
-
-                    if (cachedUserId != null) {
-                        // 4. 从 Token 中解析用户信息
-                        Long userId = jwtTokenUtil.getUserIdFromToken(token);
-                        String username = jwtTokenUtil.getUsernameFromToken(token);
-                        String userType = jwtTokenUtil.getTypeFromToken(token);
-                        Long tenantId = jwtTokenUtil.getTenantIdFromToken(token);
-
-                        Long cachedUserIdLong = parseUserId(cachedUserId);
-                        if (cachedUserIdLong == null || !cachedUserIdLong.equals(userId)) {
+                // 2. 解析并验证 Token（只验签一次）
+                ParsedToken parsedToken = jwtTokenUtil.parse(token);
+                // 3. 检查本地吊销镜像（登出、禁用用户）
+                if (parsedToken != null && !tokenRevocationService.isRevoked(parsedToken)) {
+                    // 4. 有状态模式一次 Redis 往返读取登录态与权限版本号（登录态用于支持登出功能）；
+                    //    无状态模式不访问 Redis，权限匹配器取本地缓存
+                    SessionSnapshot session = jwtTokenUtil.isStateless()
+                            ? tokenSessionService.resolveStateless(parsedToken)
+                            : tokenSessionService.resolve(token, parsedToken);
+
+                    if (session.isActive()) {
+                        // 5. 校验登录态与 Token 中的用户ID一致
+                        Long userId = parsedToken.getUserId();
+                        if (!session.getCachedUserId().equals(userId)) {
                             log.warn("Token与缓存用户ID不一致，忽略本次认证: tokenUserId={}, cachedUserId={}, uri={}",
-                                    userId, cachedUserId, requestUri);
+                                    userId, session.getCachedUserId(), requestUri);
                             filterChain.doFilter(request, response);
                             return;
                         }
 
-                        // 5. 构建 LoginUser 对象
-                        LoginUser loginUser = buildLoginUser(userId, username, userType, tenantId);
+                        // 6. 构建 LoginUser 对象
+                        LoginUser loginUser = buildLoginUser(parsedToken, session);
 
-                        // 6. 设置到 SecurityContext
+                        // 7. 设置到 SecurityContext
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(loginUser, null, loginUser.getAuthorities());
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         org.springframework.security.core.context.SecurityContextHolder.getContext()
                                 .setAuthentication(authentication);
 
-                        // 7. 设置到自定义 SecurityContextHolder
+                        // 8. 设置到自定义 SecurityContextHolder
                         SecurityContextHolder.setLoginUser(loginUser);
 
-                        log.debug("用户 {} 认证成功", username);
+                        log.debug("用户 {} 认证成功", parsedToken.getUsername());
                     }
                 }
             }
@@ -111,75 +123,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StrUtil.isNotBlank(bearerToken) && bearerToken.startsWith(TOKEN_PREFIX)) {
             return bearerToken.substring(TOKEN_PREFIX.length());
         }
-        // 也支持从 query 参数获取 token（用于某些特殊场景，如文件下载）
-        return request.getParameter("token");
+        // 仅配置的下载路径支持从 query 参数获取 token，避免其他请求触发表单/查询参数解析
+        if (securityPathMatcher.allowsQueryToken(request)) {
+            return request.getParameter("token");
+        }
+        return null;
     }
 
     /**
      * 构建 LoginUser 对象
-     * 注意：权限和角色将在阶段二由 PermissionService 加载
      */
-    private LoginUser buildLoginUser(Long userId, String username, String userType, Long tenantId) {
-        // 从 Redis 获取用户的权限和角色信息
-        // 在阶段二完成后，这里将调用 PermissionService 获取真实的权限数据
-        Set<String> permissions = getUserPermissionsFromCache(userId);
-        Set<String> roles = getUserRolesFromCache(userId);
-
+    private LoginUser buildLoginUser(ParsedToken parsedToken, SessionSnapshot session) {
         return LoginUser.builder()
-                .userId(userId)
-                .username(username)
-                .userType(userType)
-                .tenantId(tenantId == null ? 0L : tenantId)
-                .permissions(permissions)
-                .roles(roles)
+                .userId(parsedToken.getUserId())
+                .username(parsedToken.getUsername())
+                .userType(parsedToken.getType())
+                .tenantId(parsedToken.getTenantId())
+                .permissionMatcher(session.getPermissionMatcher())
                 .loginTime(System.currentTimeMillis())
                 .build();
     }
-
-    /**
-     * 将缓存中的 userId 转为 Long
-     */
-    private Long parseUserId(Object cachedUserId) {
-        if (cachedUserId instanceof Number number) {
-            return number.longValue();
-        }
-        if (cachedUserId instanceof String value) {
-            try {
-                return Long.parseLong(value);
-            } catch (NumberFormatException ignored) {
-                return null;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * 从缓存获取用户权限
-     * 阶段二将实现真正的权限查询
-     */
-    @SuppressWarnings("unchecked")
-    private Set<String> getUserPermissionsFromCache(Long userId) {
-        String permissionKey = RedisConstants.USER_PERMISSIONS_KEY + userId;
-        Object cached = redisTemplate.opsForValue().get(permissionKey);
-        if (cached instanceof List) {
-            return new HashSet<>((List<String>) cached);
-        }
-        // 默认返回空权限集，阶段二将实现完整的权限加载
-        return new HashSet<>();
-    }
-
-    /**
-     * 从缓存获取用户角色
-     * 阶段二将实现真正的角色查询
-     */
-    @SuppressWarnings("unchecked")
-    private Set<String> getUserRolesFromCache(Long userId) {
-        String roleKey = RedisConstants.USER_ROLES_KEY + userId;
-        Object cached = redisTemplate.opsForValue().get(roleKey);
-        if (cached instanceof List) {
-            return new HashSet<>((List<String>) cached);
-        }
-        // 默认返回空角色集，阶段二将实现完整的角色加载
-        return new HashSet<>();
-    }
 }
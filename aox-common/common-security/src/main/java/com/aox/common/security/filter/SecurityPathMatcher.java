@@ -0,0 +1,147 @@
+package com.aox.common.security.filter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 安全路径匹配器（启动时预编译）
+ * 1. 公开路径：允许匿名访问，JWT 过滤器直接跳过，不提取 Token、不访问 Redis
+ * 2. 匿名路径：允许匿名访问，未携带 Authorization 头时跳过 JWT 过滤器；
+ *    携带时仍解析 Token，登录用户按自己的租户读取数据（如小程序轮播图）
+ * 3. 认证接口：允许匿名访问，但仍解析 Token（如获取当前用户）
+ * 4. 下载路径：仅这些路径允许从 query 参数读取 token，其他请求不解析表单/查询参数
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Component
+public class SecurityPathMatcher {
+
+    /**
+     * 公开资源（无需认证，跳过 JWT 处理）
+     */
+    private static final String[] PUBLIC_RESOURCES = {
+            // Swagger/OpenAPI
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/swagger-resources/**",
+            "/v3/api-docs/**",
+            "/doc.html",
+            "/webjars/**",
+            // 静态资源
+            "/static/**",
+            "/favicon.ico",
+            // 健康检查与指标（其他 Actuator 端点如 localcache 需要登录）
+            "/actuator",
+            "/actuator/health/**",
+            "/actuator/info",
+            "/actuator/metrics/**",
+            "/health"
+    };
+
+    /**
+     * 认证相关接口（无需认证，但携带 Token 时仍会解析）
+     */
+    private static final String[] AUTH_ENDPOINTS = {
+            "/api/auth/**",
+            "/api/v1/auth/**",
+            "/api/miniapp/auth/**",
+            "/api/v1/miniapp/auth/**"
+    };
+
+    /**
+     * 额外的匿名访问路径（未携带 Authorization 头时跳过 JWT 处理）
+     */
+    @Value("${security.anonymous-paths:/api/v1/miniapp/banners/**}")
+    private List<String> anonymousPaths;
+
+    /**
+     * 允许通过 query 参数传递 token 的下载路径
+     */
+    @Value("${security.token-query-paths:/api/v1/system/logs/*/export,/api/v1/admin/payment/orders/export}")
+    private List<String> tokenQueryPaths;
+
+    private List<PathPattern> skipPatterns;
+    private List<PathPattern> anonymousPatterns;
+    private List<PathPattern> tokenQueryPatterns;
+    private String[] permitAllPaths;
+
+    @PostConstruct
+    public void init() {
+        List<String> skipPaths = Arrays.asList(PUBLIC_RESOURCES);
+
+        skipPatterns = compile(skipPaths);
+        anonymousPatterns = compile(anonymousPaths);
+        tokenQueryPatterns = compile(tokenQueryPaths);
+
+        List<String> permitAll = new ArrayList<>(skipPaths);
+        permitAll.addAll(anonymousPaths);
+        permitAll.addAll(Arrays.asList(AUTH_ENDPOINTS));
+        permitAllPaths = permitAll.toArray(new String[0]);
+
+        log.info("SecurityPathMatcher 初始化完成, 跳过JWT路径={}, 匿名路径={}, 允许query token路径={}",
+                skipPaths, anonymousPaths, tokenQueryPaths);
+    }
+
+    /**
+     * 所有允许匿名访问的路径（供 SecurityFilterChain 配置 permitAll）
+     */
+    public String[] getPermitAllPaths() {
+        return permitAllPaths.clone();
+    }
+
+    /**
+     * 是否为公开路径（JWT 过滤器直接跳过）
+     * 匿名路径只在未携带 Authorization 头时跳过，否则登录用户的租户上下文会丢失，回落到租户 0
+     */
+    public boolean isPublic(HttpServletRequest request) {
+        if (matches(skipPatterns, request)) {
+            return true;
+        }
+        return !anonymousPatterns.isEmpty() && request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                && matches(anonymousPatterns, request);
+    }
+
+    /**
+     * 是否允许从 query 参数读取 token
+     */
+    public boolean allowsQueryToken(HttpServletRequest request) {
+        return !tokenQueryPatterns.isEmpty() && matches(tokenQueryPatterns, request);
+    }
+
+    private static boolean matches(List<PathPattern> patterns, HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        PathContainer path = PathContainer.parsePath(uri);
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> compile(List<String> paths) {
+        List<PathPattern> patterns = new ArrayList<>();
+        for (String path : paths) {
+            if (path != null && !path.isBlank()) {
+                patterns.add(PathPatternParser.defaultInstance.parse(path.trim()));
+            }
+        }
+        return List.copyOf(patterns);
+    }
+}
@@ -0,0 +1,75 @@
+package com.aox.common.security.metadata;
+
+import com.aox.common.security.annotation.RequirePermission;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 处理方法元数据（不可变，启动时预先解析）
+ * 包含权限要求、方法上的注解（如 @Log）以及预先拼接好的方法签名字符串
+ *
+ * @author Aox Team
+ */
+public final class HandlerMethodDescriptor {
+
+    private final String signature;
+    private final PermissionRequirement permissionRequirement;
+    private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+    private HandlerMethodDescriptor(String signature, PermissionRequirement permissionRequirement,
+                                    Map<Class<? extends Annotation>, Annotation> annotations) {
+        this.signature = signature;
+        this.permissionRequirement = permissionRequirement;
+        this.annotations = annotations;
+    }
+
+    /**
+     * 解析方法元数据
+     * 方法上的 @RequirePermission 优先，其次为类上的
+     *
+     * @param method     方法
+     * @param targetClass 方法所属的业务类（非代理类）
+     */
+    static HandlerMethodDescriptor resolve(Method method, Class<?> targetClass) {
+        RequirePermission requirePermission = AnnotatedElementUtils.findMergedAnnotation(method, RequirePermission.class);
+        if (requirePermission == null) {
+            requirePermission = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequirePermission.class);
+        }
+
+        Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<>();
+        for (Annotation annotation : method.getAnnotations()) {
+            annotations.put(annotation.annotationType(), annotation);
+        }
+
+        return new HandlerMethodDescriptor(
+                targetClass.getName() + "." + method.getName(),
+                PermissionRequirement.of(requirePermission),
+                Map.copyOf(annotations));
+    }
+
+    /**
+     * 方法签名（类全名.方法名）
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * 权限要求
+     */
+    public PermissionRequirement getPermissionRequirement() {
+        return permissionRequirement;
+    }
+
+    /**
+     * 获取方法上的注解
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        return (A) annotations.get(annotationType);
+    }
+}
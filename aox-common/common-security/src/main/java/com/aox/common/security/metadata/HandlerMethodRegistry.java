@@ -0,0 +1,74 @@
+package com.aox.common.security.metadata;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 处理方法元数据注册表
+ * 启动时扫描所有 Controller 方法，构建不可变的 Method -> 描述符映射，
+ * 切面每次调用只需一次查找，无需重复反射注解、拼接方法签名；
+ * 非 Controller 方法（如 Service 上的注解）首次调用时解析并缓存。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Component
+public class HandlerMethodRegistry implements SmartInitializingSingleton {
+
+    private final ApplicationContext applicationContext;
+
+    /**
+     * 启动时扫描得到的 Controller 方法描述符（不可变）
+     */
+    private volatile Map<Method, HandlerMethodDescriptor> handlerDescriptors = Map.of();
+
+    /**
+     * 运行时按需解析的其他方法描述符
+     */
+    private final Map<Method, HandlerMethodDescriptor> lazyDescriptors = new ConcurrentHashMap<>();
+
+    public HandlerMethodRegistry(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, HandlerMethodDescriptor> descriptors = new HashMap<>();
+        for (RequestMappingHandlerMapping mapping :
+                applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                Class<?> beanType = ClassUtils.getUserClass(handlerMethod.getBeanType());
+                descriptors.putIfAbsent(handlerMethod.getMethod(),
+                        HandlerMethodDescriptor.resolve(handlerMethod.getMethod(), beanType));
+            }
+        }
+        handlerDescriptors = Map.copyOf(descriptors);
+        log.info("HandlerMethodRegistry 初始化完成, 已预解析 {} 个接口方法", descriptors.size());
+    }
+
+    /**
+     * 获取方法描述符
+     *
+     * @param method      切面拦截到的方法
+     * @param targetClass 目标对象类型（用于解析类上的注解）
+     * @return 描述符
+     */
+    public HandlerMethodDescriptor get(Method method, Class<?> targetClass) {
+        HandlerMethodDescriptor descriptor = handlerDescriptors.get(method);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        return lazyDescriptors.computeIfAbsent(method,
+                key -> HandlerMethodDescriptor.resolve(key, ClassUtils.getUserClass(targetClass)));
+    }
+}
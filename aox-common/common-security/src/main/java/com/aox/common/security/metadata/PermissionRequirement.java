@@ -0,0 +1,80 @@
+package com.aox.common.security.metadata;
+
+import com.aox.common.security.annotation.Logical;
+import com.aox.common.security.annotation.RequirePermission;
+import com.aox.common.security.permission.PermissionMatcher;
+
+import java.util.Arrays;
+
+/**
+ * 权限要求（不可变，由 @RequirePermission 预先解析）
+ *
+ * @author Aox Team
+ */
+public final class PermissionRequirement {
+
+    /**
+     * 无权限要求
+     */
+    public static final PermissionRequirement NONE = new PermissionRequirement(new String[0], Logical.AND);
+
+    private final String[] permissions;
+    private final Logical logical;
+
+    private PermissionRequirement(String[] permissions, Logical logical) {
+        this.permissions = permissions;
+        this.logical = logical;
+    }
+
+    /**
+     * 从注解解析（忽略空白的权限标识）
+     */
+    public static PermissionRequirement of(RequirePermission annotation) {
+        if (annotation == null) {
+            return NONE;
+        }
+        String[] permissions = Arrays.stream(annotation.value())
+                .filter(permission -> permission != null && !permission.trim().isEmpty())
+                .map(String::trim)
+                .toArray(String[]::new);
+        return permissions.length == 0 ? NONE : new PermissionRequirement(permissions, annotation.logical());
+    }
+
+    /**
+     * 是否没有权限要求
+     */
+    public boolean isEmpty() {
+        return permissions.length == 0;
+    }
+
+    /**
+     * 判断匹配器是否满足要求
+     */
+    public boolean isSatisfiedBy(PermissionMatcher matcher) {
+        if (permissions.length == 0) {
+            return true;
+        }
+        if (matcher == null) {
+            return false;
+        }
+        if (logical == Logical.OR) {
+            for (String permission : permissions) {
+                if (matcher.matches(permission)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (String permission : permissions) {
+            if (!matcher.matches(permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(logical == Logical.OR ? " OR " : " AND ", permissions);
+    }
+}
@@ -0,0 +1,70 @@
+package com.aox.common.security.permission;
+
+import com.aox.common.security.context.SecurityContextHolder;
+import com.aox.common.security.domain.LoginUser;
+import org.springframework.stereotype.Component;
+
+/**
+ * 权限表达式（@PreAuthorize 桥接）
+ * 与 @RequirePermission 共用同一个编译后的权限匹配器，用法：
+ * <pre>
+ * &#64;PreAuthorize("@perm.has('system:user:list')")
+ * &#64;PreAuthorize("@perm.hasAny('system:user:add', 'system:user:edit')")
+ * </pre>
+ *
+ * @author Aox Team
+ */
+@Component("perm")
+public class PermissionExpression {
+
+    /**
+     * 是否拥有指定权限
+     */
+    public boolean has(String permission) {
+        return SecurityContextHolder.hasPermission(permission);
+    }
+
+    /**
+     * 是否拥有任一权限
+     */
+    public boolean hasAny(String... permissions) {
+        PermissionMatcher matcher = currentMatcher();
+        if (matcher == null) {
+            return false;
+        }
+        for (String permission : permissions) {
+            if (matcher.matches(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否拥有全部权限
+     */
+    public boolean hasAll(String... permissions) {
+        PermissionMatcher matcher = currentMatcher();
+        if (matcher == null) {
+            return false;
+        }
+        for (String permission : permissions) {
+            if (!matcher.matches(permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否拥有指定角色
+     */
+    public boolean hasRole(String role) {
+        return SecurityContextHolder.hasRole(role);
+    }
+
+    private PermissionMatcher currentMatcher() {
+        LoginUser loginUser = SecurityContextHolder.getLoginUser();
+        return loginUser != null ? loginUser.getPermissionMatcher() : null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.aox.common.security.permission;
+
+import java.util.Set;
+
+/**
+ * 用户权限加载器
+ * 由业务模块实现（通常是权限服务），Redis 中的权限缓存缺失时用于回源加载
+ *
+ * @author Aox Team
+ */
+public interface PermissionLoader {
+
+    /**
+     * 加载用户权限标识（实现方负责回写 Redis 缓存）
+     *
+     * @param userId 用户ID
+     * @return 权限标识集合
+     */
+    Set<String> getPermissionCodesByUserId(Long userId);
+
+    /**
+     * 加载用户角色标识（实现方负责回写 Redis 缓存）
+     *
+     * @param userId 用户ID
+     * @return 角色标识集合
+     */
+    Set<String> getRoleCodesByUserId(Long userId);
+}
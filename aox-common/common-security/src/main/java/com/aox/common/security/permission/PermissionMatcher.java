@@ -0,0 +1,254 @@
+package com.aox.common.security.permission;
+
+import com.aox.common.core.constant.Constants;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译后的权限匹配器（不可变，线程安全）
+ * 权限标识按 ":" 分段构建前缀树，匹配时逐段查找，耗时与权限标识长度成正比且不产生对象分配。
+ *
+ * 支持的授权写法：
+ * 1. 精确授权：system:user:list
+ * 2. 前缀授权：system:user:* 授权 system:user 下的所有权限（任意层级）
+ * 3. 单段通配：system:*:list 匹配任意模块的 list 权限
+ * 4. 全部授权：* 或拥有 ROLE_ADMIN 角色
+ *
+ * @author Aox Team
+ */
+public final class PermissionMatcher {
+
+    private static final String WILDCARD = "*";
+    private static final char SEPARATOR = ':';
+
+    /**
+     * 空匹配器（不拥有任何权限）
+     */
+    public static final PermissionMatcher EMPTY = compile(Collections.emptySet(), Collections.emptySet());
+
+    private final Node root;
+    private final boolean all;
+    private final Set<String> permissions;
+    private final Set<String> roles;
+    private final List<GrantedAuthority> authorities;
+
+    private PermissionMatcher(Node root, boolean all, Set<String> permissions, Set<String> roles) {
+        this.root = root;
+        this.all = all;
+        this.permissions = permissions;
+        this.roles = roles;
+        this.authorities = permissions.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    /**
+     * 编译权限匹配器
+     *
+     * @param permissions 权限标识集合
+     * @param roles       角色集合
+     * @return 匹配器
+     */
+    public static PermissionMatcher compile(Collection<String> permissions, Collection<String> roles) {
+        Set<String> permissionSet = freeze(permissions);
+        Set<String> roleSet = freeze(roles);
+
+        boolean all = roleSet.contains(Constants.ROLE_ADMIN);
+        Builder root = new Builder();
+        for (String permission : permissionSet) {
+            if (permission.isEmpty()) {
+                continue;
+            }
+            if (WILDCARD.equals(permission)) {
+                all = true;
+                continue;
+            }
+            root.add(permission);
+        }
+        return new PermissionMatcher(root.build(), all, permissionSet, roleSet);
+    }
+
+    /**
+     * 是否拥有指定权限
+     *
+     * @param permission 权限标识
+     * @return 是否拥有
+     */
+    public boolean matches(String permission) {
+        if (permission == null) {
+            return false;
+        }
+        return all || match(root, permission, 0);
+    }
+
+    /**
+     * 是否拥有全部权限
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * 原始权限标识（不可变）
+     */
+    public Set<String> getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * 角色集合（不可变）
+     */
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * 权限对应的 GrantedAuthority 列表（不可变，编译时生成）
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * 从 from 位置开始匹配剩余的权限标识
+     * from 大于长度表示已全部匹配完
+     */
+    private static boolean match(Node node, String code, int from) {
+        int length = code.length();
+        if (from > length) {
+            return node.terminal;
+        }
+        if (node.subtree) {
+            return true;
+        }
+        int end = code.indexOf(SEPARATOR, from);
+        if (end < 0) {
+            end = length;
+        }
+        Node child = node.find(code, from, end);
+        if (child != null && match(child, code, end + 1)) {
+            return true;
+        }
+        return node.wildcard != null && match(node.wildcard, code, end + 1);
+    }
+
+    private static Set<String> freeze(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>(values);
+        result.remove(null);
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * 前缀树节点（构建完成后不可变）
+     * 子节点使用开放寻址哈希表，哈希算法与 String#hashCode 一致，查找时直接对原字符串区间计算，无需截取子串
+     */
+    private static final class Node {
+
+        private final String[] segments;
+        private final Node[] children;
+        private final int mask;
+        private final Node wildcard;
+        private final boolean terminal;
+        private final boolean subtree;
+
+        private Node(String[] segments, Node[] children, Node wildcard, boolean terminal, boolean subtree) {
+            this.segments = segments;
+            this.children = children;
+            this.mask = segments.length - 1;
+            this.wildcard = wildcard;
+            this.terminal = terminal;
+            this.subtree = subtree;
+        }
+
+        private Node find(String code, int from, int end) {
+            if (segments.length == 0) {
+                return null;
+            }
+            int hash = 0;
+            for (int i = from; i < end; i++) {
+                hash = 31 * hash + code.charAt(i);
+            }
+            int length = end - from;
+            for (int index = spread(hash) & mask; segments[index] != null; index = (index + 1) & mask) {
+                String segment = segments[index];
+                if (segment.length() == length && code.regionMatches(from, segment, 0, length)) {
+                    return children[index];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 构建期使用的可变节点
+     */
+    private static final class Builder {
+
+        private final Map<String, Builder> children = new LinkedHashMap<>();
+        private Builder wildcard;
+        private boolean terminal;
+        private boolean subtree;
+
+        private void add(String permission) {
+            Builder node = this;
+            int from = 0;
+            int length = permission.length();
+            while (true) {
+                int end = permission.indexOf(SEPARATOR, from);
+                if (end < 0) {
+                    end = length;
+                }
+                String segment = permission.substring(from, end).intern();
+                boolean last = end >= length;
+                if (WILDCARD.equals(segment)) {
+                    if (last) {
+                        node.subtree = true;
+                        return;
+                    }
+                    if (node.wildcard == null) {
+                        node.wildcard = new Builder();
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.children.computeIfAbsent(segment, key -> new Builder());
+                }
+                if (last) {
+                    node.terminal = true;
+                    return;
+                }
+                from = end + 1;
+            }
+        }
+
+        private Node build() {
+            int capacity = children.isEmpty() ? 0 : Integer.highestOneBit(children.size() * 2 - 1) << 1;
+            String[] segments = new String[capacity];
+            Node[] nodes = new Node[capacity];
+            int mask = capacity - 1;
+            for (Map.Entry<String, Builder> entry : children.entrySet()) {
+                int index = spread(entry.getKey().hashCode()) & mask;
+                while (segments[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                segments[index] = entry.getKey();
+                nodes[index] = entry.getValue().build();
+            }
+            return new Node(segments, nodes, wildcard != null ? wildcard.build() : null, terminal, subtree);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.aox.common.security.permission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 权限匹配器注册表
+ * 按 (角色集合, 权限集合) 共享编译后的匹配器，拥有相同角色的用户复用同一个实例，
+ * 避免每个请求重复构建权限集合
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Component
+public class PermissionMatcherRegistry {
+
+    @Value("${security.permission.matcher-cache-size:1000}")
+    private long maxSize;
+
+    private Cache<MatcherKey, PermissionMatcher> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        log.info("PermissionMatcherRegistry 初始化完成, maxSize={}", maxSize);
+    }
+
+    /**
+     * 获取（或编译）权限匹配器
+     *
+     * @param permissions 权限标识集合
+     * @param roles       角色集合
+     * @return 共享的匹配器
+     */
+    public PermissionMatcher getMatcher(Collection<String> permissions, Collection<String> roles) {
+        if ((permissions == null || permissions.isEmpty()) && (roles == null || roles.isEmpty())) {
+            return PermissionMatcher.EMPTY;
+        }
+        MatcherKey key = new MatcherKey(normalize(permissions), normalize(roles));
+        return cache.get(key, k -> PermissionMatcher.compile(k.permissions(), k.roles()));
+    }
+
+    /**
+     * 清空所有已编译的匹配器
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public String getCacheStats() {
+        return "权限匹配器缓存: size=" + cache.estimatedSize() + ", " + cache.stats();
+    }
+
+    /**
+     * 转为不可变 Set：Redis 反序列化得到的 List 与 PermissionLoader 回源得到的 Set、
+     * 以及元素顺序不同的集合都得到相同的键
+     */
+    private static Set<String> normalize(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        return values.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 缓存键（不可变 Set，与集合类型和元素顺序无关）
+     */
+    private record MatcherKey(Set<String> permissions, Set<String> roles) {
+    }
+}
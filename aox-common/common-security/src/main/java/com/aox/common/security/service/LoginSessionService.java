@@ -0,0 +1,268 @@
+package com.aox.common.security.service;
+
+import com.aox.common.core.constant.RedisConstants;
+import com.aox.common.core.domain.PageResult;
+import com.aox.common.security.domain.OnlineUser;
+import com.aox.common.security.domain.ParsedToken;
+import com.aox.common.security.utils.JwtTokenUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 登录会话服务
+ * 统一维护登录态与会话索引，后台和小程序的登录、登出都经由此处：
+ * 1. login:session:{sessionId}      登录态，值为用户ID字符串（会话ID为 jti，键长固定且远短于完整 JWT）
+ * 2. login:sessions:{userId}        ZSET，成员为会话ID，分值为过期时间
+ * 3. login:online                   ZSET，成员为用户ID，分值为最近一次会话的过期时间
+ * 4. login:online:tenant:{tenantId} ZSET，同上，按租户划分
+ * 在线用户列表、强制下线全部由索引驱动并通过 Pipeline 批量执行，不扫描键空间。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class LoginSessionService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final TokenRevocationService tokenRevocationService;
+
+    public LoginSessionService(StringRedisTemplate stringRedisTemplate,
+                               JwtTokenUtil jwtTokenUtil,
+                               TokenRevocationService tokenRevocationService) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * 登录成功后创建会话（一次 Pipeline 往返）
+     *
+     * @param token 新签发的 Token
+     */
+    public void createSession(String token) {
+        ParsedToken parsedToken = jwtTokenUtil.parse(token);
+        if (parsedToken == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long ttl = jwtTokenUtil.getExpirationSeconds();
+        long expireAt = parsedToken.getExpiration();
+        String sessionId = parsedToken.getSessionId();
+        String userId = String.valueOf(parsedToken.getUserId());
+        String sessionsKey = RedisConstants.USER_SESSIONS_KEY + userId;
+        String tenantKey = RedisConstants.TENANT_ONLINE_USERS_KEY + parsedToken.getTenantId();
+
+        pipeline(ops -> {
+            // 无状态会话模式不写登录态，只维护索引
+            if (!jwtTokenUtil.isStateless()) {
+                ops.opsForValue().set(RedisConstants.LOGIN_SESSION_KEY + sessionId, userId, ttl, TimeUnit.SECONDS);
+            }
+            ops.opsForZSet().removeRangeByScore(sessionsKey, 0, now);
+            ops.opsForZSet().add(sessionsKey, sessionId, expireAt);
+            ops.expire(sessionsKey, ttl, TimeUnit.SECONDS);
+            ops.opsForZSet().add(RedisConstants.ONLINE_USERS_KEY, userId, expireAt);
+            ops.opsForZSet().add(tenantKey, userId, expireAt);
+            ops.expire(tenantKey, ttl, TimeUnit.SECONDS);
+        });
+    }
+
+    /**
+     * 登出：删除登录态（无状态模式下吊销 jti），并从会话索引中移除
+     *
+     * @param token Token
+     */
+    public void removeSession(String token) {
+        ParsedToken parsedToken = jwtTokenUtil.parse(token);
+        if (parsedToken != null) {
+            if (jwtTokenUtil.isStateless()) {
+                tokenRevocationService.revoke(parsedToken);
+            }
+            long now = System.currentTimeMillis();
+            String sessionId = parsedToken.getSessionId();
+            String userId = String.valueOf(parsedToken.getUserId());
+            String sessionsKey = RedisConstants.USER_SESSIONS_KEY + userId;
+
+            List<Object> results = pipeline(ops -> {
+                // 同时删除旧版以完整 JWT 为键的登录态
+                ops.delete(List.of(RedisConstants.LOGIN_SESSION_KEY + sessionId, RedisConstants.LOGIN_TOKEN_KEY + token));
+                ops.opsForZSet().remove(sessionsKey, sessionId);
+                ops.opsForZSet().count(sessionsKey, now, Double.MAX_VALUE);
+            });
+            // 最后一个会话登出时同步移出在线索引
+            if (toLong(results.get(2)) == 0L) {
+                pipeline(ops -> {
+                    ops.opsForZSet().remove(RedisConstants.ONLINE_USERS_KEY, userId);
+                    ops.opsForZSet().remove(RedisConstants.TENANT_ONLINE_USERS_KEY + parsedToken.getTenantId(), userId);
+                });
+            }
+        } else {
+            stringRedisTemplate.delete(RedisConstants.LOGIN_TOKEN_KEY + token);
+        }
+        // 失效本节点及其他节点的已验签 Token 缓存
+        jwtTokenUtil.invalidate(token);
+    }
+
+    /**
+     * 强制下线用户的全部会话
+     *
+     * @param userId 用户ID
+     * @return 下线的会话数
+     */
+    public int forceLogout(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        String sessionsKey = RedisConstants.USER_SESSIONS_KEY + userId;
+        Set<String> sessionIds = stringRedisTemplate.opsForZSet().range(sessionsKey, 0, -1);
+
+        // 租户索引不在此处清理：残留成员的会话数为 0，查询在线用户时顺带剔除
+        pipeline(ops -> {
+            deleteSessions(ops, sessionIds);
+            ops.delete(sessionsKey);
+            ops.opsForZSet().remove(RedisConstants.ONLINE_USERS_KEY, String.valueOf(userId));
+        });
+        // 已签发的 Token 全部吊销，覆盖无状态会话与各节点的已验签缓存
+        tokenRevocationService.revokeUser(userId);
+
+        int count = sessionIds == null ? 0 : sessionIds.size();
+        log.info("强制下线用户: userId={}, sessions={}", userId, count);
+        return count;
+    }
+
+    /**
+     * 强制下线租户下的全部在线用户（三次 Pipeline 往返，与用户数无关）
+     *
+     * @param tenantId 租户ID
+     * @return 下线的用户数
+     */
+    public int forceLogoutTenant(Long tenantId) {
+        if (tenantId == null) {
+            return 0;
+        }
+        String tenantKey = RedisConstants.TENANT_ONLINE_USERS_KEY + tenantId;
+        Set<String> members = stringRedisTemplate.opsForZSet()
+                .rangeByScore(tenantKey, System.currentTimeMillis(), Double.MAX_VALUE);
+        if (members == null || members.isEmpty()) {
+            stringRedisTemplate.delete(tenantKey);
+            return 0;
+        }
+        List<String> userIds = new ArrayList<>(members);
+
+        List<Object> sessions = pipeline(ops -> userIds.forEach(userId ->
+                ops.opsForZSet().range(RedisConstants.USER_SESSIONS_KEY + userId, 0, -1)));
+
+        pipeline(ops -> {
+            for (int i = 0; i < userIds.size(); i++) {
+                deleteSessions(ops, toStringSet(sessions.get(i)));
+                ops.delete(RedisConstants.USER_SESSIONS_KEY + userIds.get(i));
+            }
+            ops.opsForZSet().remove(RedisConstants.ONLINE_USERS_KEY, userIds.toArray());
+            ops.delete(tenantKey);
+        });
+        tokenRevocationService.revokeUsers(userIds.stream().map(Long::valueOf).toList());
+
+        log.info("强制下线租户: tenantId={}, users={}", tenantId, userIds.size());
+        return userIds.size();
+    }
+
+    /**
+     * 分页查询在线用户（按最近一次会话的过期时间倒序）
+     *
+     * @param tenantId 租户ID，为 null 时查询全部
+     * @param pageNum  页码
+     * @param pageSize 每页条数
+     */
+    public PageResult<OnlineUser> listOnlineUsers(Long tenantId, int pageNum, int pageSize) {
+        String indexKey = tenantId == null
+                ? RedisConstants.ONLINE_USERS_KEY
+                : RedisConstants.TENANT_ONLINE_USERS_KEY + tenantId;
+        long now = System.currentTimeMillis();
+        long offset = (long) (Math.max(pageNum, 1) - 1) * pageSize;
+
+        // 顺带清理已过期的索引成员
+        List<Object> page = pipeline(ops -> {
+            ops.opsForZSet().removeRangeByScore(indexKey, 0, now);
+            ops.opsForZSet().zCard(indexKey);
+            ops.opsForZSet().reverseRangeByScoreWithScores(indexKey, now, Double.MAX_VALUE, offset, pageSize);
+        });
+        long total = toLong(page.get(1));
+        List<ZSetOperations.TypedTuple<String>> tuples = toTupleList(page.get(2));
+        if (tuples.isEmpty()) {
+            return PageResult.of(total, Collections.emptyList(), pageNum, pageSize);
+        }
+
+        List<Object> counts = pipeline(ops -> tuples.forEach(tuple ->
+                ops.opsForZSet().count(RedisConstants.USER_SESSIONS_KEY + tuple.getValue(), now, Double.MAX_VALUE)));
+
+        List<OnlineUser> records = new ArrayList<>(tuples.size());
+        List<String> staleMembers = new ArrayList<>();
+        for (int i = 0; i < tuples.size(); i++) {
+            ZSetOperations.TypedTuple<String> tuple = tuples.get(i);
+            long sessionCount = toLong(counts.get(i));
+            if (sessionCount == 0L) {
+                // 会话已全部登出或被强制下线
+                staleMembers.add(tuple.getValue());
+                continue;
+            }
+            records.add(new OnlineUser(Long.valueOf(tuple.getValue()),
+                    (int) sessionCount, tuple.getScore().longValue()));
+        }
+        if (!staleMembers.isEmpty()) {
+            stringRedisTemplate.opsForZSet().remove(indexKey, staleMembers.toArray());
+            total = Math.max(0L, total - staleMembers.size());
+        }
+        return PageResult.of(total, records, pageNum, pageSize);
+    }
+
+    private void deleteSessions(RedisOperations<String, String> ops, Collection<String> sessionIds) {
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(sessionIds.size());
+        sessionIds.forEach(sessionId -> keys.add(RedisConstants.LOGIN_SESSION_KEY + sessionId));
+        ops.delete(keys);
+    }
+
+    /**
+     * 在同一连接上批量执行命令，返回各命令结果（顺序与调用顺序一致）
+     */
+    private List<Object> pipeline(Consumer<RedisOperations<String, String>> action) {
+        return stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                action.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private static long toLong(Object result) {
+        return result instanceof Number number ? number.longValue() : 0L;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> toStringSet(Object result) {
+        return result instanceof Set<?> set ? (Set<String>) set : Collections.emptySet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ZSetOperations.TypedTuple<String>> toTupleList(Object result) {
+        return result instanceof Collection<?> collection
+                ? new ArrayList<>((Collection<ZSetOperations.TypedTuple<String>>) collection)
+                : Collections.emptyList();
+    }
+}
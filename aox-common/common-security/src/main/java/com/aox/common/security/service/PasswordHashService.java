@@ -0,0 +1,173 @@
+package com.aox.common.security.service;
+
+import cn.hutool.core.util.StrUtil;
+import com.aox.common.core.enums.ErrorCode;
+import com.aox.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希服务
+ * BCrypt 计算放到独立的有界线程池执行，登录高峰时排队超出上限直接返回 503，
+ * 避免 CPU 密集的哈希计算占满 Tomcat 请求线程而拖垮其他接口。
+ * 校验通过时若存储的哈希强度与当前配置不一致，顺带生成新的哈希供调用方回写。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class PasswordHashService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.pool-size:0}")
+    private int poolSize;
+
+    @Value("${security.password.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${security.password.timeout-ms:3000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private Counter rejectedCounter;
+
+    public PasswordHashService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hash");
+        rejectedCounter = Counter.builder("aox.password.hash.rejected")
+                .description("密码哈希线程池拒绝（排队已满或等待超时）次数")
+                .register(meterRegistry);
+        log.info("PasswordHashService 初始化完成, threads={}, queueCapacity={}, bcryptStrength={}",
+                threads, queueCapacity, bcryptStrength);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 计算密码哈希
+     *
+     * @param rawPassword 明文密码
+     * @return 哈希值
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 校验密码
+     * 未设置密码的账号（如短信注册）直接返回不匹配，不做哈希计算
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 存储的哈希值
+     * @return 校验结果
+     */
+    public Verification verify(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || StrUtil.isBlank(encodedPassword)) {
+            return Verification.MISMATCH;
+        }
+        return execute(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return Verification.MISMATCH;
+            }
+            String upgraded = needsRehash(encodedPassword) ? passwordEncoder.encode(rawPassword) : null;
+            return new Verification(true, upgraded);
+        });
+    }
+
+    /**
+     * 存储的哈希强度与当前配置不一致时需要重新哈希（格式：$2a$10$...）
+     */
+    private boolean needsRehash(String encodedPassword) {
+        if (encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != bcryptStrength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("密码哈希线程池已满，拒绝请求: active={}, queued={}",
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "服务繁忙，请稍后重试");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("密码哈希等待超时: timeoutMs={}", timeoutMs);
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "服务繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "服务繁忙，请稍后重试");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码哈希计算失败", cause);
+        }
+    }
+
+    /**
+     * 密码校验结果
+     *
+     * @param matched      是否匹配
+     * @param upgradedHash 哈希强度变化时按当前配置重新生成的哈希（无需升级时为 null）
+     */
+    public record Verification(boolean matched, String upgradedHash) {
+
+        private static final Verification MISMATCH = new Verification(false, null);
+    }
+}
@@ -0,0 +1,278 @@
+package com.aox.common.security.service;
+
+import com.aox.common.security.domain.SessionSnapshot;
+import com.aox.common.security.permission.PermissionMatcher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 认证会话降级保护
+ * Redis 变慢或不可用时，避免每个请求都在 JWT 过滤器里阻塞到 Lettuce 超时：
+ * 1. 认证路径上的 Redis 读取放到独立的有界线程池执行，超过短超时即视为失败
+ * 2. 连续失败达到阈值后熔断，熔断期间直接短路，到期后放行一次探测请求（半开）
+ * 3. 每次成功解析的会话写入本地副本；Redis 不可用时，验签通过的 Token 在副本有效期内
+ *    按副本中的用户与权限放行，副本不再刷新，因此降级窗口不超过副本有效期
+ * 关闭降级模式（默认）时直接在调用线程访问 Redis，行为与之前一致。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class SessionDegradeGuard {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.degraded.enabled:false}")
+    private boolean enabled;
+
+    @Value("${security.degraded.redis-timeout-ms:200}")
+    private long redisTimeoutMs;
+
+    @Value("${security.degraded.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${security.degraded.open-duration-ms:10000}")
+    private long openDurationMs;
+
+    @Value("${security.degraded.pool-size:0}")
+    private int poolSize;
+
+    @Value("${security.degraded.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${security.degraded.replica-ttl-seconds:300}")
+    private long replicaTtlSeconds;
+
+    @Value("${security.degraded.replica-max-size:100000}")
+    private long replicaMaxSize;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 会话ID -> 最近一次成功校验的会话
+     */
+    private Cache<String, ReplicaEntry> replica;
+
+    private Counter successCounter;
+    private Counter failureCounter;
+    private Counter shortCircuitCounter;
+    private Counter fallbackHitCounter;
+    private Counter fallbackMissCounter;
+
+    public SessionDegradeGuard(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        replica = Caffeine.newBuilder()
+                .maximumSize(replicaMaxSize)
+                .expireAfterWrite(replicaTtlSeconds, TimeUnit.SECONDS)
+                .build();
+
+        Gauge.builder("aox.auth.redis.breaker.state", state, ref -> ref.get().ordinal())
+                .description("认证 Redis 熔断器状态（0=关闭，1=打开，2=半开）")
+                .register(meterRegistry);
+        Gauge.builder("aox.auth.degraded.replica.size", this, guard -> guard.replica.estimatedSize())
+                .description("认证会话本地副本条目数")
+                .register(meterRegistry);
+        successCounter = callCounter("success");
+        failureCounter = callCounter("failure");
+        shortCircuitCounter = callCounter("short_circuited");
+        fallbackHitCounter = fallbackCounter("hit");
+        fallbackMissCounter = fallbackCounter("miss");
+
+        if (enabled) {
+            int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "auth-redis-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            ExecutorServiceMetrics.monitor(meterRegistry, executor, "auth-redis");
+        }
+        log.info("SessionDegradeGuard 初始化完成, enabled={}, redisTimeoutMs={}, failureThreshold={}, openDurationMs={}, replicaTtlSeconds={}",
+                enabled, redisTimeoutMs, failureThreshold, openDurationMs, replicaTtlSeconds);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 是否开启降级模式
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 在熔断器保护下执行 Redis 读取
+     *
+     * @throws RedisUnavailableException 熔断打开、线程池已满、超时或 Redis 异常时抛出
+     */
+    public <T> T execute(Supplier<T> redisCall) {
+        if (!enabled) {
+            return redisCall.get();
+        }
+        if (!allowRequest()) {
+            shortCircuitCounter.increment();
+            throw new RedisUnavailableException("熔断器已打开");
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(redisCall::get);
+        } catch (RejectedExecutionException e) {
+            onFailure("线程池已满");
+            throw new RedisUnavailableException("线程池已满");
+        }
+        try {
+            T result = future.get(redisTimeoutMs, TimeUnit.MILLISECONDS);
+            onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            onFailure("超时");
+            throw new RedisUnavailableException("Redis 读取超时");
+        } catch (ExecutionException e) {
+            onFailure(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            throw new RedisUnavailableException("Redis 读取失败");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onFailure("线程中断");
+            throw new RedisUnavailableException("Redis 读取被中断");
+        }
+    }
+
+    /**
+     * 记录成功解析的会话（登录态不存在时移除副本，已登出的 Token 不能在降级期间复活）
+     */
+    public void remember(String sessionId, SessionSnapshot session) {
+        if (!enabled || sessionId == null) {
+            return;
+        }
+        if (session.isActive()) {
+            replica.put(sessionId, new ReplicaEntry(session.getCachedUserId(), session.getPermissionMatcher()));
+        } else {
+            replica.invalidate(sessionId);
+        }
+    }
+
+    /**
+     * Redis 不可用时从本地副本解析会话
+     */
+    public SessionSnapshot fallback(String sessionId) {
+        ReplicaEntry entry = sessionId != null ? replica.getIfPresent(sessionId) : null;
+        if (entry == null) {
+            fallbackMissCounter.increment();
+            return new SessionSnapshot(null, null);
+        }
+        fallbackHitCounter.increment();
+        return new SessionSnapshot(entry.userId(), entry.matcher());
+    }
+
+    /**
+     * 获取熔断器状态
+     */
+    public String getStats() {
+        return "认证降级保护: enabled=" + enabled + ", state=" + state.get()
+                + ", failures=" + consecutiveFailures.get() + ", replica=" + replica.estimatedSize();
+    }
+
+    /**
+     * 关闭状态放行；打开状态到期后切到半开并只放行一次探测请求
+     */
+    private boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        successCounter.increment();
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("认证 Redis 已恢复，熔断器关闭");
+        }
+    }
+
+    private void onFailure(String reason) {
+        failureCounter.increment();
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state.compareAndSet(State.HALF_OPEN, State.OPEN)
+                || (failures >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN))) {
+            openedAt = System.currentTimeMillis();
+            log.warn("认证 Redis 不可用，熔断器打开 {}ms: failures={}, reason={}", openDurationMs, failures, reason);
+        }
+    }
+
+    private Counter callCounter(String outcome) {
+        return Counter.builder("aox.auth.redis.breaker.calls")
+                .description("认证 Redis 读取次数")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter fallbackCounter(String result) {
+        return Counter.builder("aox.auth.degraded.fallback")
+                .description("Redis 不可用时本地会话副本命中次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 本地会话副本条目
+     */
+    private record ReplicaEntry(Long userId, PermissionMatcher matcher) {
+    }
+
+    /**
+     * 认证路径上的 Redis 暂不可用
+     */
+    public static class RedisUnavailableException extends RuntimeException {
+
+        public RedisUnavailableException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
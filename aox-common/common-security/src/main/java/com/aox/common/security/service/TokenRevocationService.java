@@ -0,0 +1,311 @@
+package com.aox.common.security.service;
+
+import com.aox.common.core.constant.RedisConstants;
+import com.aox.common.redis.cache.CacheInvalidationBus;
+import com.aox.common.security.domain.ParsedToken;
+import com.aox.common.security.utils.JwtTokenUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token 吊销服务（无状态会话模式的黑名单）
+ * 只有被吊销的 Token（登出、禁用用户）才写入 Redis：
+ * 1. auth:revoked:jti  ZSET，成员为 jti，分值为 Token 过期时间
+ * 2. auth:revoked:user ZSET，成员为用户ID，分值为吊销时间，早于该时间签发的 Token 全部失效
+ * 每个节点把两个集合镜像到本地（布隆过滤器 + 精确集合），吊销事件通过缓存失效总线广播，
+ * 因此正常请求的吊销检查不访问 Redis。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    /**
+     * 总线上的名称（用于广播吊销事件）
+     */
+    public static final String CACHE_NAME = "auth:revoked";
+
+    private static final String JTI_PREFIX = "jti:";
+    private static final String USER_PREFIX = "user:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @Value("${jwt.stateless.bloom-expected-insertions:100000}")
+    private volatile int expectedInsertions;
+
+    /**
+     * 已吊销 jti -> Token 过期时间（毫秒）
+     */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 用户ID -> 吊销时间（毫秒），签发时间不晚于该时间的 Token 失效
+     */
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    /**
+     * 已吊销 jti 的布隆过滤器（未命中即可确定未吊销）
+     */
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationService(StringRedisTemplate stringRedisTemplate,
+                                  CacheInvalidationBus cacheInvalidationBus,
+                                  JwtTokenUtil jwtTokenUtil) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.jwtTokenUtil = jwtTokenUtil;
+    }
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = new BloomFilter(expectedInsertions);
+        cacheInvalidationBus.register(CACHE_NAME, this::onRemoteRevoked);
+        cacheInvalidationBus.registerResetListener(this::reload);
+        reload();
+    }
+
+    /**
+     * 判断 Token 是否已被吊销（只读本地镜像）
+     * 签发时间为毫秒精度，被强制下线后立即重新登录拿到的 Token 不受之前的吊销时间影响
+     */
+    public boolean isRevoked(ParsedToken parsedToken) {
+        if (!revokedUsers.isEmpty()) {
+            Long cutoff = revokedUsers.get(parsedToken.getUserId());
+            if (cutoff != null && parsedToken.getIssuedAt() <= cutoff) {
+                return true;
+            }
+        }
+        String jti = parsedToken.getJti();
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * 吊销单个 Token（登出）
+     */
+    public void revoke(ParsedToken parsedToken) {
+        String jti = parsedToken.getJti();
+        if (jti == null) {
+            return;
+        }
+        long expiration = parsedToken.getExpiration();
+        addRevokedToken(jti, expiration);
+        try {
+            writeRevoked(RedisConstants.TOKEN_REVOKED_KEY,
+                    Set.of(ZSetOperations.TypedTuple.of(jti, (double) expiration)), System.currentTimeMillis());
+        } finally {
+            cacheInvalidationBus.publish(CACHE_NAME, JTI_PREFIX + jti + ":" + expiration);
+        }
+    }
+
+    /**
+     * 吊销用户在此之前签发的所有 Token（禁用、删除用户）
+     */
+    public void revokeUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        revokeUsers(List.of(userId));
+    }
+
+    /**
+     * 批量吊销用户在此之前签发的所有 Token（强制下线租户）
+     * 一条 ZADD 写入全部用户，吊销事件一次批量广播
+     */
+    public void revokeUsers(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>(userIds.size() * 2);
+        List<String> messages = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            revokedUsers.merge(userId, cutoff, Math::max);
+            tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(userId), (double) cutoff));
+            messages.add(USER_PREFIX + userId + ":" + cutoff);
+        }
+        try {
+            long lifetime = TimeUnit.SECONDS.toMillis(jwtTokenUtil.getExpirationSeconds());
+            writeRevoked(RedisConstants.USER_REVOKED_KEY, tuples, cutoff - lifetime);
+        } finally {
+            cacheInvalidationBus.publishAll(CACHE_NAME, messages);
+        }
+        log.info("已吊销 {} 个用户的全部 Token", userIds.size());
+    }
+
+    /**
+     * 写入吊销集合：ZADD、清理过期成员（分值不大于 staleScore）与续期在同一个管道中完成
+     */
+    private void writeRevoked(String key, Set<ZSetOperations.TypedTuple<String>> tuples, long staleScore) {
+        long ttl = jwtTokenUtil.getExpirationSeconds();
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForZSet().add(key, tuples);
+                ops.opsForZSet().removeRangeByScore(key, 0, staleScore);
+                ops.expire(key, ttl, TimeUnit.SECONDS);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 获取本地镜像统计信息
+     */
+    public String getStats() {
+        return "Token吊销镜像: tokens=" + revokedTokens.size() + ", users=" + revokedUsers.size();
+    }
+
+    /**
+     * 处理其他节点广播的吊销事件，key 为 null 时从 Redis 全量重载
+     */
+    private void onRemoteRevoked(String key) {
+        if (key == null) {
+            reload();
+            return;
+        }
+        try {
+            int separator = key.lastIndexOf(':');
+            long score = Long.parseLong(key.substring(separator + 1));
+            if (key.startsWith(JTI_PREFIX)) {
+                addRevokedToken(key.substring(JTI_PREFIX.length(), separator), score);
+            } else if (key.startsWith(USER_PREFIX)) {
+                revokedUsers.merge(Long.parseLong(key.substring(USER_PREFIX.length(), separator)), score, Math::max);
+            }
+        } catch (RuntimeException e) {
+            log.warn("解析Token吊销广播失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 从 Redis 全量加载吊销集合（启动时、订阅重连后）
+     */
+    private void reload() {
+        try {
+            long now = System.currentTimeMillis();
+            long lifetime = TimeUnit.SECONDS.toMillis(jwtTokenUtil.getExpirationSeconds());
+            Set<ZSetOperations.TypedTuple<String>> tokens = stringRedisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(RedisConstants.TOKEN_REVOKED_KEY, now, Double.MAX_VALUE);
+            Set<ZSetOperations.TypedTuple<String>> users = stringRedisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(RedisConstants.USER_REVOKED_KEY, now - lifetime, Double.MAX_VALUE);
+
+            if (tokens != null) {
+                tokens.forEach(tuple -> revokedTokens.put(tuple.getValue(), tuple.getScore().longValue()));
+            }
+            if (users != null) {
+                users.forEach(tuple -> revokedUsers.merge(
+                        Long.parseLong(tuple.getValue()), tuple.getScore().longValue(), Math::max));
+            }
+            rebuildBloomFilter();
+            log.info("Token吊销镜像已加载: tokens={}, users={}", revokedTokens.size(), revokedUsers.size());
+        } catch (Exception e) {
+            log.warn("加载Token吊销集合失败: {}", e.getMessage());
+        }
+    }
+
+    private void addRevokedToken(String jti, long expiration) {
+        revokedTokens.put(jti, expiration);
+        bloomFilter.put(jti);
+        if (revokedTokens.size() > expectedInsertions) {
+            rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * 清理已过期的条目并重建布隆过滤器（布隆过滤器不支持删除）
+     */
+    private synchronized void rebuildBloomFilter() {
+        long now = System.currentTimeMillis();
+        long lifetime = TimeUnit.SECONDS.toMillis(jwtTokenUtil.getExpirationSeconds());
+        revokedTokens.values().removeIf(expiration -> expiration <= now);
+        revokedUsers.values().removeIf(cutoff -> cutoff <= now - lifetime);
+
+        // 清理后仍然超出预期容量时按两倍扩容
+        int capacity = Math.max(expectedInsertions, revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // 切换后再补写一次，覆盖重建期间写入旧过滤器的 jti
+        revokedTokens.keySet().forEach(rebuilt::put);
+        expectedInsertions = capacity;
+    }
+
+    /**
+     * 简单的布隆过滤器（1% 误判率，双重哈希）
+     */
+    private static final class BloomFilter {
+
+        private static final int HASH_FUNCTIONS = 7;
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+
+        private BloomFilter(int expectedInsertions) {
+            // m = -n * ln(p) / (ln2)^2，p = 0.01 时约为 9.6n
+            long size = Math.max(64L, (long) (expectedInsertions * 9.6));
+            this.bits = new AtomicLongArray((int) ((size + 63) >>> 6));
+            this.bitSize = (long) bits.length() << 6;
+        }
+
+        private void put(String value) {
+            int hash1 = value.hashCode();
+            int hash2 = mix(hash1);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % bitSize;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(String value) {
+            int hash1 = value.hashCode();
+            int hash2 = mix(hash1);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long index = ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % bitSize;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            return hash;
+        }
+    }
+}
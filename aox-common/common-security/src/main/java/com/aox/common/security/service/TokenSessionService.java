@@ -0,0 +1,241 @@
+package com.aox.common.security.service;
+
+import com.aox.common.core.constant.RedisConstants;
+import com.aox.common.redis.cache.TenantCacheKeys;
+import com.aox.common.redis.service.LocalCacheService;
+import com.aox.common.security.domain.ParsedToken;
+import com.aox.common.security.domain.SessionSnapshot;
+import com.aox.common.security.permission.PermissionLoader;
+import com.aox.common.security.permission.PermissionMatcher;
+import com.aox.common.security.permission.PermissionMatcherRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Token 会话服务
+ * 一次 MGET 往返读取登录态（login:session:{sessionId}）与用户权限版本号，供 JWT 过滤器鉴权使用。
+ * 权限匹配器缓存在本地（LocalCacheService 权限缓存），版本号未变化时直接复用，
+ * 稳态请求无需再从 Redis 读取权限与角色列表；版本号变化或本地未命中时才回源加载。
+ *
+ * @author Aox Team
+ */
+@Slf4j
+@Service
+public class TokenSessionService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final LocalCacheService localCacheService;
+    private final PermissionMatcherRegistry permissionMatcherRegistry;
+    private final ObjectProvider<PermissionLoader> permissionLoaderProvider;
+    private final SessionDegradeGuard sessionDegradeGuard;
+
+    /**
+     * 是否兼容读取旧版以完整 JWT 为键的登录态
+     */
+    @Value("${jwt.session.legacy-key-fallback:true}")
+    private boolean legacyKeyFallback;
+
+    /**
+     * 每个认证请求的 Redis 耗时
+     */
+    private final Timer sessionRedisTimer;
+
+    /**
+     * 本地权限缓存命中/未命中次数
+     */
+    private final Counter permissionLocalHitCounter;
+    private final Counter permissionLocalMissCounter;
+
+    public TokenSessionService(RedisTemplate<String, Object> redisTemplate,
+                               LocalCacheService localCacheService,
+                               PermissionMatcherRegistry permissionMatcherRegistry,
+                               ObjectProvider<PermissionLoader> permissionLoaderProvider,
+                               SessionDegradeGuard sessionDegradeGuard,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.localCacheService = localCacheService;
+        this.permissionMatcherRegistry = permissionMatcherRegistry;
+        this.permissionLoaderProvider = permissionLoaderProvider;
+        this.sessionDegradeGuard = sessionDegradeGuard;
+        this.sessionRedisTimer = Timer.builder("aox.auth.session.redis")
+                .description("认证请求解析会话的 Redis 耗时")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.permissionLocalHitCounter = Counter.builder("aox.auth.permission.local")
+                .description("本地权限缓存命中次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.permissionLocalMissCounter = Counter.builder("aox.auth.permission.local")
+                .description("本地权限缓存命中次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 解析会话（稳态下一次 Redis 往返）
+     * 登录态以会话ID为键；开启旧键兼容时同一次 MGET 顺带读取以完整 JWT 为键的旧登录态，
+     * 旧键全部自然过期后即可关闭
+     *
+     * @param token       Token
+     * @param parsedToken 已验签的 Token 信息
+     * @return 会话快照
+     */
+    public SessionSnapshot resolve(String token, ParsedToken parsedToken) {
+        return guarded(parsedToken, () -> resolveFromRedis(token, parsedToken));
+    }
+
+    /**
+     * 解析会话（无状态会话模式）
+     * 不读取登录态与版本号，权限匹配器直接信任本地缓存（权限变更通过缓存失效总线广播剔除），
+     * 稳态请求不访问 Redis
+     *
+     * @param parsedToken 已验签的 Token 信息
+     * @return 会话快照
+     */
+    public SessionSnapshot resolveStateless(ParsedToken parsedToken) {
+        Long userId = parsedToken.getUserId();
+        if (userId == null) {
+            return new SessionSnapshot(null, null);
+        }
+        return guarded(parsedToken, () -> new SessionSnapshot(userId,
+                getPermissionMatcher(userId, parsedToken.getTenantId(), null)));
+    }
+
+    /**
+     * 降级模式下记录成功解析的会话，Redis 不可用时改从本地副本解析
+     */
+    private SessionSnapshot guarded(ParsedToken parsedToken, Supplier<SessionSnapshot> resolver) {
+        if (!sessionDegradeGuard.isEnabled()) {
+            return resolver.get();
+        }
+        try {
+            SessionSnapshot session = resolver.get();
+            sessionDegradeGuard.remember(parsedToken.getSessionId(), session);
+            return session;
+        } catch (SessionDegradeGuard.RedisUnavailableException e) {
+            log.debug("认证 Redis 不可用，使用本地会话副本: userId={}, reason={}", parsedToken.getUserId(), e.getMessage());
+            return sessionDegradeGuard.fallback(parsedToken.getSessionId());
+        }
+    }
+
+    private SessionSnapshot resolveFromRedis(String token, ParsedToken parsedToken) {
+        Long userId = parsedToken.getUserId();
+        List<String> keys = legacyKeyFallback
+                ? List.of(RedisConstants.LOGIN_SESSION_KEY + parsedToken.getSessionId(),
+                        RedisConstants.userKey(RedisConstants.USER_PERM_VERSION_KEY, userId),
+                        RedisConstants.LOGIN_TOKEN_KEY + token)
+                : List.of(RedisConstants.LOGIN_SESSION_KEY + parsedToken.getSessionId(),
+                        RedisConstants.userKey(RedisConstants.USER_PERM_VERSION_KEY, userId));
+        List<Object> values = multiGet(keys);
+
+        if (values == null || values.size() < keys.size()) {
+            return new SessionSnapshot(null, null);
+        }
+        Long cachedUserId = parseLong(values.get(0));
+        if (cachedUserId == null && legacyKeyFallback) {
+            cachedUserId = parseLong(values.get(2));
+        }
+        if (cachedUserId == null) {
+            return new SessionSnapshot(null, null);
+        }
+        Long version = parseLong(values.get(1));
+        return new SessionSnapshot(cachedUserId, getPermissionMatcher(userId, parsedToken.getTenantId(),
+                version == null ? 0L : version));
+    }
+
+    /**
+     * 获取用户权限匹配器：本地缓存的版本号与 Redis 一致时直接复用，否则重新加载
+     * version 为 null 时（无状态模式）不校验版本号；缓存键带租户段，按租户分区与配额存放
+     */
+    private PermissionMatcher getPermissionMatcher(Long userId, Long tenantId, Long version) {
+        String cacheKey = TenantCacheKeys.key(tenantId, String.valueOf(userId));
+        if (localCacheService.getPermissionIfPresent(cacheKey) instanceof VersionedMatcher cached
+                && (version == null || cached.version() == version)) {
+            permissionLocalHitCounter.increment();
+            return cached.matcher();
+        }
+
+        permissionLocalMissCounter.increment();
+        PermissionMatcher matcher = loadPermissionMatcher(userId);
+        // 先读版本号再加载权限：加载期间发生变更时版本号会再次递增，下次请求自然重新加载
+        localCacheService.setPermission(cacheKey, new VersionedMatcher(version == null ? -1L : version, matcher));
+        return matcher;
+    }
+
+    /**
+     * 从 Redis 读取权限与角色（一次 MGET），缓存缺失时通过 PermissionLoader 回源
+     */
+    private PermissionMatcher loadPermissionMatcher(Long userId) {
+        List<Object> values = multiGet(List.of(
+                RedisConstants.userKey(RedisConstants.USER_PERMISSIONS_KEY, userId),
+                RedisConstants.userKey(RedisConstants.USER_ROLES_KEY, userId)));
+
+        Collection<String> permissions = values != null && values.size() == 2 ? toCollection(values.get(0)) : null;
+        Collection<String> roles = values != null && values.size() == 2 ? toCollection(values.get(1)) : null;
+
+        if (permissions == null || roles == null) {
+            PermissionLoader permissionLoader = permissionLoaderProvider.getIfAvailable();
+            if (permissionLoader != null) {
+                log.debug("用户 {} 的权限缓存缺失，回源加载", userId);
+                if (permissions == null) {
+                    permissions = permissionLoader.getPermissionCodesByUserId(userId);
+                }
+                if (roles == null) {
+                    roles = permissionLoader.getRoleCodesByUserId(userId);
+                }
+            }
+        }
+        return permissionMatcherRegistry.getMatcher(permissions, roles);
+    }
+
+    private List<Object> multiGet(List<String> keys) {
+        long start = System.nanoTime();
+        try {
+            return sessionDegradeGuard.execute(() -> redisTemplate.opsForValue().multiGet(keys));
+        } finally {
+            sessionRedisTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 将缓存中的数值转为 Long
+     */
+    private Long parseLong(Object cached) {
+        if (cached instanceof Number number) {
+            return number.longValue();
+        }
+        if (cached instanceof String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将缓存中的列表转为集合（不复制，仅作为匹配器注册表的查找键）
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<String> toCollection(Object cached) {
+        return cached instanceof Collection<?> collection ? (Collection<String>) collection : null;
+    }
+
+    /**
+     * 带版本号的权限匹配器（本地权限缓存的值）
+     */
+    private record VersionedMatcher(long version, PermissionMatcher matcher) {
+    }
+}
@@ -1,9 +1,15 @@
 package com.aox.common.security.utils;
 
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.aox.common.security.cache.VerifiedTokenCache;
+import com.aox.common.security.domain.ParsedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -23,6 +29,22 @@ import java.util.Map;
 @Component
 public class JwtTokenUtil {
 
+    /**
+     * 无 jti 的旧 Token 以 SHA-256 摘要前 32 位（128 bit）作为会话ID
+     */
+    private static final int LEGACY_SESSION_ID_LENGTH = 32;
+
+    /**
+     * 毫秒精度的签发时间（标准 iat 只精确到秒，无法区分同一秒内吊销前后签发的 Token）
+     */
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenUtil(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -30,10 +52,41 @@ public class JwtTokenUtil {
     private Long expiration;
 
     /**
-     * 生成密钥
+     * 无状态会话模式：不再为每个 Token 写入 Redis 登录态，仅记录已吊销的 jti
      */
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean stateless;
+
+    /**
+     * 签名密钥（启动时生成一次，全局共享）
+     */
+    private SecretKey secretKey;
+
+    /**
+     * Token 解析器（线程安全，全局共享）
+     */
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
+    /**
+     * 是否为无状态会话模式
+     */
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /**
+     * Token 有效期（秒）
+     */
+    public long getExpirationSeconds() {
+        return expiration;
     }
 
     /**
@@ -75,42 +128,99 @@ public class JwtTokenUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
+                .id(IdUtil.fastSimpleUUID())
                 .setIssuedAt(now)
                 .setExpiration(expirationDate)
-                .signWith(getSecretKey(), SignatureAlgorithm.HS256)
+                .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * 解析并验证 Token（只验签一次）
+     * 优先命中已验签 Token 缓存，未命中时验签并写入缓存；签名无效或已过期时返回 null
+     *
+     * @param token Token
+     * @return 已验签的 Token 信息
+     */
+    public ParsedToken parse(String token) {
+        ParsedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        ParsedToken parsedToken = parseClaims(token);
+        verifiedTokenCache.put(token, parsedToken);
+        return parsedToken;
+    }
+
+    /**
+     * 使 Token 的验签缓存失效（登出时调用，会广播到其他节点）
+     *
+     * @param token Token
+     */
+    public void invalidate(String token) {
+        verifiedTokenCache.evict(token);
+    }
+
+    /**
+     * 验签并解析 Claims
+     */
+    private ParsedToken parseClaims(String token) {
+        Claims claims = getClaimsFromToken(token);
+        if (claims == null) {
+            return null;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        Date expirationDate = claims.getExpiration();
+        if (expirationDate == null || !expirationDate.after(new Date())) {
+            return null;
+        }
+        Object userId = claims.get("userId");
+        Object tenantId = claims.getOrDefault("tenantId", 0L);
+        Object issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        String jti = claims.getId();
+        return new ParsedToken(
+                jti,
+                jti != null ? jti : DigestUtil.sha256Hex(token).substring(0, LEGACY_SESSION_ID_LENGTH),
+                userId instanceof Number number ? number.longValue() : null,
+                (String) claims.get("username"),
+                (String) claims.get("type"),
+                tenantId instanceof Number tenantNumber ? tenantNumber.longValue() : 0L,
+                issuedAtMillis instanceof Number millis ? millis.longValue()
+                        : issuedAt != null ? issuedAt.getTime() : 0L,
+                expirationDate.getTime());
+    }
+
     /**
      * 从 Token 中获取用户ID
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims != null ? ((Number) claims.get("userId")).longValue() : null;
+        ParsedToken parsedToken = parse(token);
+        return parsedToken != null ? parsedToken.getUserId() : null;
     }
 
     /**
      * 从 Token 中获取用户名
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims != null ? (String) claims.get("username") : null;
+        ParsedToken parsedToken = parse(token);
+        return parsedToken != null ? parsedToken.getUsername() : null;
     }
 
     /**
      * 从 Token 中获取类型
      */
     public String getTypeFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims != null ? (String) claims.get("type") : null;
+        ParsedToken parsedToken = parse(token);
+        return parsedToken != null ? parsedToken.getType() : null;
     }
 
     /**
      * 从 Token 中获取租户ID
      */
     public Long getTenantIdFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims != null ? ((Number) claims.getOrDefault("tenantId", 0L)).longValue() : 0L;
+        ParsedToken parsedToken = parse(token);
+        return parsedToken != null ? parsedToken.getTenantId() : 0L;
     }
 
     /**
@@ -118,11 +228,7 @@ public class JwtTokenUtil {
      */
     private Claims getClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSecretKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             log.error("解析 Token 失败: {}", e.getMessage());
             return null;
@@ -133,33 +239,18 @@ public class JwtTokenUtil {
      * 验证 Token 是否有效
      */
     public boolean validateToken(String token) {
-        try {
-            Claims claims = getClaimsFromToken(token);
-            if (claims == null) {
-                return false;
-            }
-            Date expiration = claims.getExpiration();
-            return expiration.after(new Date());
-        } catch (Exception e) {
-            log.error("Token 验证失败: {}", e.getMessage());
-            return false;
-        }
+        return parse(token) != null;
     }
 
     /**
      * 检查 Token 是否即将过期（小于5分钟）
      */
     public boolean isTokenExpiringSoon(String token) {
-        try {
-            Claims claims = getClaimsFromToken(token);
-            if (claims == null) {
-                return true;
-            }
-            Date expiration = claims.getExpiration();
-            long timeLeft = expiration.getTime() - System.currentTimeMillis();
-            return timeLeft < 5 * 60 * 1000; // 5分钟
-        } catch (Exception e) {
+        ParsedToken parsedToken = parse(token);
+        if (parsedToken == null) {
             return true;
         }
+        long timeLeft = parsedToken.getExpiration() - System.currentTimeMillis();
+        return timeLeft < 5 * 60 * 1000; // 5分钟
     }
 }
@@ -1,13 +1,14 @@
 package com.aox.infrastructure.job;
 
+import com.aox.common.redis.service.RedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 定时任务 - 数据清理
@@ -20,7 +21,12 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class DataCleanupJob {
 
-    private final StringRedisTemplate redisTemplate;
+    /**
+     * 每批 SCAN / TTL 的键数
+     */
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private final RedisService redisService;
 
     /**
      * 清理过期数据任务
@@ -71,21 +77,7 @@ public class DataCleanupJob {
         try {
             // Redis的TTL机制会自动清理过期key
             // 这里只是做一次扫描统计，实际清理由Redis自动完成
-            Set<String> keys = redisTemplate.keys("sms:code:*");
-            if (keys == null || keys.isEmpty()) {
-                return 0;
-            }
-
-            int cleaned = 0;
-            for (String key : keys) {
-                Long ttl = redisTemplate.getExpire(key);
-                if (ttl != null && ttl <= 0) {
-                    redisTemplate.delete(key);
-                    cleaned++;
-                }
-            }
-            return cleaned;
-
+            return cleanKeysWithoutExpire("sms:code:*");
         } catch (Exception e) {
             log.error("清理过期短信验证码失败", e);
             return 0;
@@ -98,21 +90,7 @@ public class DataCleanupJob {
      */
     private int cleanExpiredLoginFail() {
         try {
-            Set<String> keys = redisTemplate.keys("login:fail:*");
-            if (keys == null || keys.isEmpty()) {
-                return 0;
-            }
-
-            int cleaned = 0;
-            for (String key : keys) {
-                Long ttl = redisTemplate.getExpire(key);
-                if (ttl != null && ttl <= 0) {
-                    redisTemplate.delete(key);
-                    cleaned++;
-                }
-            }
-            return cleaned;
-
+            return cleanKeysWithoutExpire("login:fail:*");
         } catch (Exception e) {
             log.error("清理过期登录失败记录失败", e);
             return 0;
@@ -125,27 +103,44 @@ public class DataCleanupJob {
      */
     private int cleanExpiredToken() {
         try {
-            Set<String> keys = redisTemplate.keys("temp:token:*");
-            if (keys == null || keys.isEmpty()) {
-                return 0;
-            }
-
-            int cleaned = 0;
-            for (String key : keys) {
-                Long ttl = redisTemplate.getExpire(key);
-                if (ttl != null && ttl <= 0) {
-                    redisTemplate.delete(key);
-                    cleaned++;
-                }
-            }
-            return cleaned;
-
+            return cleanKeysWithoutExpire("temp:token:*");
         } catch (Exception e) {
             log.error("清理过期临时Token失败", e);
             return 0;
         }
     }
 
+    /**
+     * 用 SCAN 增量遍历匹配的键，按批在一次管道往返中读取 TTL，
+     * 再用一条 DEL 删除未设置过期时间的键（不使用会阻塞 Redis 的 KEYS）
+     */
+    private int cleanKeysWithoutExpire(String pattern) {
+        int[] cleaned = new int[1];
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        redisService.scan(pattern, SCAN_BATCH_SIZE, key -> {
+            batch.add(key);
+            if (batch.size() >= SCAN_BATCH_SIZE) {
+                cleaned[0] += deleteKeysWithoutExpire(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            cleaned[0] += deleteKeysWithoutExpire(batch);
+        }
+        return cleaned[0];
+    }
+
+    private int deleteKeysWithoutExpire(List<String> keys) {
+        List<Object> ttls = redisService.pipeline(ops -> keys.forEach(ops::ttl));
+        List<String> expiredKeys = new ArrayList<>();
+        for (int i = 0; i < keys.size() && i < ttls.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl <= 0) {
+                expiredKeys.add(keys.get(i));
+            }
+        }
+        return (int) redisService.del(expiredKeys);
+    }
+
     /**
      * 清理旧日志文件
      *
@@ -2,6 +2,7 @@ package com.aox.infrastructure.oss.service;
 
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import com.aox.common.redis.service.TwoLevelCacheService;
 import com.aox.common.security.context.SecurityContextHolder;
 import com.aox.infrastructure.oss.client.OssClient;
 import com.aox.infrastructure.oss.client.OssClientFactory;
@@ -11,11 +12,9 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
 
 /**
  * OSS 配置服务
@@ -29,41 +28,27 @@ import java.util.concurrent.TimeUnit;
 public class OssConfigService {
 
     private final OssClientFactory ossClientFactory;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TwoLevelCacheService twoLevelCacheService;
     private final OssConfigMapper ossConfigMapper;
 
     /**
-     * 配置缓存键
+     * 当前存储类型缓存（按租户，过期时间 1 小时）
      */
-    private static final String OSS_CONFIG_CACHE_KEY = "sys:config:oss:";
-
-    /**
-     * 缓存过期时间（秒）
-     */
-    private static final long CACHE_EXPIRE_TIME = 3600;
+    private static final TwoLevelCacheService.CacheOptions STORAGE_TYPE_CACHE =
+            TwoLevelCacheService.CacheOptions.of("oss:storage-type", 3600);
 
     /**
      * 获取当前生效的 OSS 客户端
-     * 优先从 Redis 缓存读取配置，缓存未命中则从数据库读取
+     * 存储类型依次从本地缓存、Redis 缓存读取，都未命中时从数据库读取
      *
      * @return OssClient 实例
      */
     public OssClient getCurrentOssClient() {
-        // 1. 尝试从 Redis 缓存获取配置
-        String storageType = (String) redisTemplate.opsForValue().get(getCacheKey());
-
-        if (storageType != null) {
-            log.debug("从缓存获取 OSS 配置，存储类型: {}", storageType);
-            return ossClientFactory.createClient(storageType);
-        }
-
-        // 2. 缓存未命中，从数据库读取配置
-        storageType = getStorageTypeFromDatabase();
-
-        // 3. 缓存配置
-        redisTemplate.opsForValue().set(getCacheKey(), storageType, CACHE_EXPIRE_TIME, TimeUnit.SECONDS);
-
-        log.info("从数据库加载 OSS 配置，存储类型: {}", storageType);
+        String storageType = twoLevelCacheService.get(STORAGE_TYPE_CACHE, getCacheKey(), () -> {
+            String type = getStorageTypeFromDatabase();
+            log.info("从数据库加载 OSS 配置，存储类型: {}", type);
+            return type;
+        });
         return ossClientFactory.createClient(storageType);
     }
 
@@ -124,8 +109,8 @@ public class OssConfigService {
             ossConfigMapper.updateById(target);
         }
 
-        // 4. 刷新缓存
-        redisTemplate.opsForValue().set(getCacheKey(), storageType, CACHE_EXPIRE_TIME, TimeUnit.SECONDS);
+        // 4. 失效缓存（包括其他节点的本地缓存）
+        clearCache();
 
         log.info("云存储类型切换成功: {}", storageType);
     }
@@ -134,7 +119,7 @@ public class OssConfigService {
      * 清除 OSS 配置缓存
      */
     public void clearCache() {
-        redisTemplate.delete(getCacheKey());
+        twoLevelCacheService.evict(STORAGE_TYPE_CACHE.cacheName(), getCacheKey());
         log.info("OSS 配置缓存已清除");
     }
 
@@ -189,7 +174,7 @@ public class OssConfigService {
     }
 
     private String getCacheKey() {
-        return OSS_CONFIG_CACHE_KEY + getTenantId();
+        return String.valueOf(getTenantId());
     }
 
     private SysOssConfig getStorageConfigEntity(String storageType) {
@@ -31,7 +31,7 @@ public class MiniappAuthController {
 
     @Operation(summary = "账号密码登录", description = "使用手机号/用户名+密码登录")
     @PostMapping("/login/password")
-    @RateLimiter(key = "miniapp:login:", time = 60, count = 5, limitType = RateLimiter.LimitType.IP, message = "登录请求过于频繁，请1分钟后再试")
+    @RateLimiter(key = "miniapp:login:", localLease = true, time = 60, count = 5, limitType = RateLimiter.LimitType.IP, message = "登录请求过于频繁，请1分钟后再试")
     public R<LoginVO> passwordLogin(@Valid @RequestBody PasswordLoginDTO dto) {
         LoginVO result = authService.passwordLogin(dto);
         return R.ok(result);
@@ -39,7 +39,7 @@ public class MiniappAuthController {
 
     @Operation(summary = "短信验证码登录", description = "使用手机号+验证码登录")
     @PostMapping("/login/sms")
-    @RateLimiter(key = "miniapp:sms:login:", time = 60, count = 5, limitType = RateLimiter.LimitType.IP, message = "登录请求过于频繁，请1分钟后再试")
+    @RateLimiter(key = "miniapp:sms:login:", localLease = true, time = 60, count = 5, limitType = RateLimiter.LimitType.IP, message = "登录请求过于频繁，请1分钟后再试")
     public R<LoginVO> smsLogin(@Valid @RequestBody SmsLoginDTO dto) {
         LoginVO result = authService.smsLogin(dto);
         return R.ok(result);
@@ -54,7 +54,7 @@ public class MiniappAuthController {
 
     @Operation(summary = "发送短信验证码", description = "发送登录/注册验证码")
     @PostMapping("/sms/send")
-    @RateLimiter(key = "miniapp:sms:send:", time = 60, count = 3, limitType = RateLimiter.LimitType.IP, message = "验证码发送过于频繁，请1分钟后再试")
+    @RateLimiter(key = "miniapp:sms:send:", localLease = true, time = 60, count = 3, limitType = RateLimiter.LimitType.IP, message = "验证码发送过于频繁，请1分钟后再试")
     public R<Void> sendSmsCode(@Valid @RequestBody SendSmsCodeDTO dto) {
         authService.sendSmsCode(dto.getPhone());
         return R.ok();
@@ -1,8 +1,8 @@
 package com.aox.miniapp.service;
 
-import com.aox.common.core.constant.Constants;
 import com.aox.common.exception.BusinessException;
-import com.aox.common.redis.service.RedisService;
+import com.aox.common.security.service.LoginSessionService;
+import com.aox.common.security.service.PasswordHashService;
 import com.aox.common.security.utils.JwtTokenUtil;
 import com.aox.infrastructure.sms.service.SmsService;
 import com.aox.miniapp.domain.dto.PasswordLoginDTO;
@@ -14,7 +14,6 @@ import com.aox.system.mapper.SysUserMapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 /**
@@ -31,8 +30,8 @@ public class MiniappAuthService {
     private final SysUserMapper userMapper;
     private final SmsService smsService;
     private final JwtTokenUtil jwtTokenUtil;
-    private final RedisService redisService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
+    private final LoginSessionService loginSessionService;
 
     /**
      * 账号密码登录
@@ -52,8 +51,10 @@ public class MiniappAuthService {
             throw new BusinessException("用户不存在");
         }
 
-        // 2. 验证密码
-        if (!passwordEncoder.matches(dto.getPassword(), user.getPassword())) {
+        // 2. 验证密码（短信注册等未设置密码的账号不能用密码登录）
+        PasswordHashService.Verification verification =
+                passwordHashService.verify(dto.getPassword(), user.getPassword());
+        if (!verification.matched()) {
             throw new BusinessException("密码错误");
         }
 
@@ -62,10 +63,18 @@ public class MiniappAuthService {
             throw new BusinessException("账号已被禁用");
         }
 
-        // 4. 生成 Token
+        // 4. BCrypt 强度配置变化时回写新哈希
+        if (verification.upgradedHash() != null) {
+            SysUser update = new SysUser();
+            update.setUserId(user.getUserId());
+            update.setPassword(verification.upgradedHash());
+            userMapper.updateById(update);
+        }
+
+        // 5. 生成 Token
         Long tenantId = user.getTenantId() == null ? 0L : user.getTenantId();
         String token = jwtTokenUtil.generateToken(user.getUserId(), user.getUsername(), "miniapp", tenantId);
-        cacheLoginToken(token, user.getUserId());
+        cacheLoginToken(token);
 
         log.info("账号密码登录成功: userId={}, username={}", user.getUserId(), user.getUsername());
 
@@ -105,7 +114,7 @@ public class MiniappAuthService {
         // 5. 生成 Token
         Long tenantId = user.getTenantId() == null ? 0L : user.getTenantId();
         String token = jwtTokenUtil.generateToken(user.getUserId(), user.getUsername(), "miniapp", tenantId);
-        cacheLoginToken(token, user.getUserId());
+        cacheLoginToken(token);
 
         log.info("短信验证码登录成功: userId={}, phone={}", user.getUserId(), dto.getPhone());
 
@@ -148,7 +157,8 @@ public class MiniappAuthService {
         user.setUsername("user_" + phone);
         user.setPhone(phone);
         user.setNickname("用户" + phone.substring(7));
-        user.setPassword(passwordEncoder.encode("123456")); // 默认密码
+        // 无密码账号，不计算哈希；用户设置密码后才能使用密码登录
+        user.setPassword("");
         user.setStatus(0);
         user.setDeleted(0);
         user.setTenantId(0L);
@@ -164,7 +174,8 @@ public class MiniappAuthService {
         SysUser user = new SysUser();
         user.setUsername("wx_" + openid.substring(0, 10));
         user.setNickname("微信用户");
-        user.setPassword(passwordEncoder.encode("123456")); // 默认密码
+        // 无密码账号，不计算哈希；用户设置密码后才能使用密码登录
+        user.setPassword("");
         user.setStatus(0);
         user.setDeleted(0);
         user.setTenantId(0L);
@@ -190,10 +201,9 @@ public class MiniappAuthService {
     }
 
     /**
-     * 缓存登录 Token（供 JWT 过滤器鉴权）
+     * 创建登录会话（写入登录态与会话索引，无状态会话模式下只维护索引）
      */
-    private void cacheLoginToken(String token, Long userId) {
-        String tokenKey = Constants.LOGIN_TOKEN_KEY + token;
-        redisService.set(tokenKey, userId, Constants.TOKEN_EXPIRATION);
+    private void cacheLoginToken(String token) {
+        loginSessionService.createSession(token);
     }
 }
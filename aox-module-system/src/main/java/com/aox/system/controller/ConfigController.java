@@ -112,17 +112,7 @@ public class ConfigController {
     @Operation(summary = "创建配置")
     @Log(module = "系统配置", operation = "创建配置")
     public R<Void> createConfig(@RequestBody SysConfig config) {
-        // 检查配置键是否已存在
-        LambdaQueryWrapper<SysConfig> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(SysConfig::getConfigKey, config.getConfigKey())
-                .eq(SysConfig::getDeleted, 0);
-        SysConfig existConfig = configMapper.selectOne(wrapper);
-
-        if (existConfig != null) {
-            return R.fail("配置键已存在: " + config.getConfigKey());
-        }
-
-        configMapper.insert(config);
+        configService.createConfig(config);
         return R.ok();
     }
 
@@ -133,8 +123,7 @@ public class ConfigController {
     @Operation(summary = "更新配置")
     @Log(module = "系统配置", operation = "更新配置")
     public R<Void> updateConfig(@PathVariable Long configId, @RequestBody SysConfig config) {
-        config.setConfigId(configId);
-        configMapper.updateById(config);
+        configService.updateConfig(configId, config);
         return R.ok();
     }
 
@@ -162,10 +151,7 @@ public class ConfigController {
     @Operation(summary = "删除配置")
     @Log(module = "系统配置", operation = "删除配置")
     public R<Void> deleteConfig(@PathVariable Long configId) {
-        SysConfig config = new SysConfig();
-        config.setConfigId(configId);
-        config.setDeleted(1);
-        configMapper.updateById(config);
+        configService.deleteConfigs(List.of(configId));
         return R.ok();
     }
 
@@ -176,12 +162,7 @@ public class ConfigController {
     @Operation(summary = "批量删除配置")
     @Log(module = "系统配置", operation = "批量删除配置")
     public R<Void> batchDeleteConfigs(@RequestBody List<Long> configIds) {
-        configIds.forEach(configId -> {
-            SysConfig config = new SysConfig();
-            config.setConfigId(configId);
-            config.setDeleted(1);
-            configMapper.updateById(config);
-        });
+        configService.deleteConfigs(configIds);
         return R.ok();
     }
 
@@ -192,10 +173,7 @@ public class ConfigController {
     @Operation(summary = "刷新配置缓存")
     @Log(module = "系统配置", operation = "刷新配置缓存")
     public R<Void> refreshCache() {
-        // 注意：如果使用了Redis缓存配置，需要实现缓存刷新逻辑
-        // 示例: redisTemplate.delete("config:*");
-        log.warn("【开发模式】配置缓存刷新功能未实现");
-        log.info("配置缓存刷新请求");
+        configService.refreshCache();
         return R.ok();
     }
 }
@@ -0,0 +1,61 @@
+package com.aox.system.controller;
+
+import com.aox.common.core.domain.PageResult;
+import com.aox.common.core.domain.R;
+import com.aox.common.log.annotation.Log;
+import com.aox.common.security.annotation.RequirePermission;
+import com.aox.common.security.domain.OnlineUser;
+import com.aox.system.service.OnlineUserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 在线用户控制器
+ *
+ * @author Aox Team
+ */
+@RestController
+@RequestMapping("/api/v1/system/online-users")
+@RequiredArgsConstructor
+@Tag(name = "在线用户", description = "在线用户查询与强制下线")
+public class OnlineUserController {
+
+    private final OnlineUserService onlineUserService;
+
+    /**
+     * 分页查询在线用户
+     */
+    @GetMapping
+    @Operation(summary = "分页查询在线用户")
+    @RequirePermission("system:online:list")
+    public R<PageResult<OnlineUser>> list(
+            @RequestParam(value = "tenantId", required = false) Long tenantId,
+            @RequestParam(value = "pageNum", defaultValue = "1") Integer pageNum,
+            @RequestParam(value = "pageSize", defaultValue = "20") Integer pageSize) {
+        return R.ok(onlineUserService.getOnlineUsers(tenantId, pageNum, pageSize));
+    }
+
+    /**
+     * 强制下线用户
+     */
+    @DeleteMapping("/{userId}")
+    @Operation(summary = "强制下线用户")
+    @Log(module = "在线用户", operation = "强制下线用户")
+    @RequirePermission("system:online:forceLogout")
+    public R<Integer> forceLogout(@PathVariable Long userId) {
+        return R.ok(onlineUserService.forceLogout(userId));
+    }
+
+    /**
+     * 强制下线租户下的全部用户
+     */
+    @DeleteMapping("/tenant/{tenantId}")
+    @Operation(summary = "强制下线租户")
+    @Log(module = "在线用户", operation = "强制下线租户")
+    @RequirePermission("system:online:forceLogout")
+    public R<Integer> forceLogoutTenant(@PathVariable Long tenantId) {
+        return R.ok(onlineUserService.forceLogoutTenant(tenantId));
+    }
+}
@@ -57,9 +57,8 @@ public class PermissionController {
     @Operation(summary = "为用户分配角色")
     @Log(module = "权限管理", operation = "分配用户角色")
     @RequirePermission("system:user:edit")
-    public R<Void> assignRolesToUser(@PathVariable("userId") Long userId, @RequestBody List<Long> roleIds) {
-        permissionService.assignRolesToUser(userId, roleIds);
-        return R.ok();
+    public R<Integer> assignRolesToUser(@PathVariable("userId") Long userId, @RequestBody List<Long> roleIds) {
+        return R.ok(permissionService.assignRolesToUser(userId, roleIds));
     }
 
     /**
@@ -69,9 +68,8 @@ public class PermissionController {
     @Operation(summary = "批量为用户分配角色")
     @Log(module = "权限管理", operation = "批量分配用户角色")
     @RequirePermission("system:user:edit")
-    public R<Void> batchAssignRolesToUsers(@RequestBody UserRoleAssignRequest request) {
-        permissionService.batchAssignRolesToUsers(request.getUserIds(), request.getRoleIds());
-        return R.ok();
+    public R<Integer> batchAssignRolesToUsers(@RequestBody UserRoleAssignRequest request) {
+        return R.ok(permissionService.batchAssignRolesToUsers(request.getUserIds(), request.getRoleIds()));
     }
 
     // ==================== 角色菜单管理 ====================
@@ -105,9 +103,8 @@ public class PermissionController {
     @Operation(summary = "为角色分配菜单权限")
     @Log(module = "权限管理", operation = "分配角色菜单")
     @RequirePermission("system:role:edit")
-    public R<Void> assignMenusToRole(@PathVariable("roleId") Long roleId, @RequestBody List<Long> menuIds) {
-        permissionService.assignMenusToRole(roleId, menuIds);
-        return R.ok();
+    public R<Integer> assignMenusToRole(@PathVariable("roleId") Long roleId, @RequestBody List<Long> menuIds) {
+        return R.ok(permissionService.assignMenusToRole(roleId, menuIds));
     }
 
     // ==================== 用户菜单权限 ====================
@@ -20,4 +20,9 @@ public interface RoleMenuMapper extends BaseMapper<SysRoleMenu> {
      * 根据角色ID查询菜单列表
      */
     List<SysMenu> selectMenusByRoleId(@Param("roleId") Long roleId);
+
+    /**
+     * 批量插入角色菜单关联（多行 INSERT）
+     */
+    int insertBatch(@Param("list") List<SysRoleMenu> list);
 }
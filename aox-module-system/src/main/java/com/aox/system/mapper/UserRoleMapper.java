@@ -26,4 +26,9 @@ public interface UserRoleMapper extends BaseMapper<SysUserRole> {
      * 根据用户ID查询菜单列表（通过角色关联）
      */
     List<SysMenu> selectMenusByUserId(@Param("userId") Long userId);
+
+    /**
+     * 批量插入用户角色关联（多行 INSERT）
+     */
+    int insertBatch(@Param("list") List<SysUserRole> list);
 }
@@ -1,6 +1,8 @@
 package com.aox.system.service;
 
 import com.aox.common.exception.BusinessException;
+import com.aox.common.redis.annotation.AoxCacheEvict;
+import com.aox.common.redis.annotation.AoxCacheable;
 import com.aox.common.security.context.SecurityContextHolder;
 import com.aox.system.domain.Banner;
 import com.aox.system.domain.dto.BannerDTO;
@@ -27,6 +29,11 @@ public class BannerService {
 
     private final BannerMapper bannerMapper;
 
+    /**
+     * 已上架Banner缓存（按租户隔离）
+     */
+    private static final String PUBLISHED_BANNER_CACHE = "banner:published";
+
     /**
      * 分页查询Banner列表
      */
@@ -66,6 +73,7 @@ public class BannerService {
      * 创建Banner
      */
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = PUBLISHED_BANNER_CACHE, allEntries = true)
     public void createBanner(BannerDTO dto) {
         log.info("创建Banner: dto={}", dto);
 
@@ -90,6 +98,7 @@ public class BannerService {
      * 更新Banner
      */
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = PUBLISHED_BANNER_CACHE, allEntries = true)
     public void updateBanner(Long id, BannerDTO dto) {
         log.info("更新Banner: id={}, dto={}", id, dto);
 
@@ -117,6 +126,7 @@ public class BannerService {
      * 删除Banner
      */
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = PUBLISHED_BANNER_CACHE, allEntries = true)
     public void deleteBanner(Long id) {
         log.info("删除Banner: id={}", id);
 
@@ -137,6 +147,7 @@ public class BannerService {
      * 更新Banner状态
      */
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = PUBLISHED_BANNER_CACHE, allEntries = true)
     public void updateStatus(Long id, Integer status) {
         log.info("更新Banner状态: id={}, status={}", id, status);
 
@@ -163,6 +174,7 @@ public class BannerService {
      * 批量更新排序
      */
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = PUBLISHED_BANNER_CACHE, allEntries = true)
     public void batchUpdateSort(List<Banner> banners) {
         log.info("批量更新排序: count={}", banners.size());
 
@@ -177,6 +189,7 @@ public class BannerService {
     /**
      * 查询已上架Banner列表（小程序使用）
      */
+    @AoxCacheable(cacheName = PUBLISHED_BANNER_CACHE, ttl = 600, tenantAware = true)
     public List<Banner> getPublishedBanners() {
         log.info("查询已上架Banner列表");
 
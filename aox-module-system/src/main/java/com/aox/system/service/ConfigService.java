@@ -41,4 +41,24 @@ public interface ConfigService {
      * 保存或更新配置
      */
     void saveOrUpdate(SysConfig config);
+
+    /**
+     * 创建配置（配置键已存在时抛出异常）
+     */
+    void createConfig(SysConfig config);
+
+    /**
+     * 更新配置
+     */
+    void updateConfig(Long configId, SysConfig config);
+
+    /**
+     * 批量删除配置（逻辑删除）
+     */
+    void deleteConfigs(List<Long> configIds);
+
+    /**
+     * 刷新配置缓存（清除所有配置缓存）
+     */
+    void refreshCache();
 }
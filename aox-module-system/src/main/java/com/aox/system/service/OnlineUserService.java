@@ -0,0 +1,33 @@
+package com.aox.system.service;
+
+import com.aox.common.core.domain.PageResult;
+import com.aox.common.security.domain.OnlineUser;
+
+/**
+ * 在线用户服务接口
+ *
+ * @author Aox Team
+ */
+public interface OnlineUserService {
+
+    /**
+     * 分页查询在线用户
+     *
+     * @param tenantId 租户ID，为 null 时为当前租户（平台租户为全部租户）；只有平台租户可以查询其他租户
+     */
+    PageResult<OnlineUser> getOnlineUsers(Long tenantId, Integer pageNum, Integer pageSize);
+
+    /**
+     * 强制下线用户（只能下线当前租户的用户）
+     *
+     * @return 下线的会话数
+     */
+    int forceLogout(Long userId);
+
+    /**
+     * 强制下线租户下的全部用户（只有平台租户可以下线其他租户）
+     *
+     * @return 下线的用户数
+     */
+    int forceLogoutTenant(Long tenantId);
+}
@@ -3,6 +3,7 @@ package com.aox.system.service;
 import com.aox.system.domain.SysMenu;
 import com.aox.system.domain.SysRole;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -27,14 +28,18 @@ public interface PermissionService {
     List<Long> getUserRoleIds(Long userId);
 
     /**
-     * 为用户分配角色
+     * 为用户分配角色（按差集增删）
+     *
+     * @return 变更行数
      */
-    void assignRolesToUser(Long userId, List<Long> roleIds);
+    int assignRolesToUser(Long userId, List<Long> roleIds);
 
     /**
-     * 批量为用户分配角色
+     * 批量为用户分配角色（按差集增删）
+     *
+     * @return 变更行数
      */
-    void batchAssignRolesToUsers(List<Long> userIds, List<Long> roleIds);
+    int batchAssignRolesToUsers(List<Long> userIds, List<Long> roleIds);
 
     // ==================== 角色菜单关联 ====================
 
@@ -49,9 +54,11 @@ public interface PermissionService {
     List<Long> getRoleMenuIds(Long roleId);
 
     /**
-     * 为角色分配菜单权限
+     * 为角色分配菜单权限（按差集增删）
+     *
+     * @return 变更行数
      */
-    void assignMenusToRole(Long roleId, List<Long> menuIds);
+    int assignMenusToRole(Long roleId, List<Long> menuIds);
 
     /**
      * 获取用户的菜单权限（通过角色）
@@ -89,7 +96,17 @@ public interface PermissionService {
     void cacheUserPermissions(Long userId);
 
     /**
-     * 清除用户权限缓存
+     * 清除用户权限缓存并递增权限版本号（事务提交后执行）
      */
     void clearUserPermissionCache(Long userId);
+
+    /**
+     * 批量清除用户权限缓存并递增权限版本号（一次管道往返，事务提交后执行）
+     */
+    void clearUsersPermissionCache(Collection<Long> userIds);
+
+    /**
+     * 清除拥有指定角色的所有用户的权限缓存并递增权限版本号
+     */
+    void clearRoleUsersPermissionCache(Long roleId);
 }
@@ -4,7 +4,8 @@ import com.aox.common.core.constant.Constants;
 import com.aox.common.core.enums.ErrorCode;
 import com.aox.common.exception.BusinessException;
 import com.aox.common.log.service.AsyncLogService;
-import com.aox.common.redis.service.RedisService;
+import com.aox.common.security.service.LoginSessionService;
+import com.aox.common.security.service.PasswordHashService;
 import com.aox.common.security.utils.JwtTokenUtil;
 import com.aox.system.domain.SysUser;
 import com.aox.system.domain.request.LoginRequest;
@@ -16,7 +17,6 @@ import com.aox.system.service.UserService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -37,8 +37,8 @@ public class AuthServiceImpl implements AuthService {
     private final PermissionService permissionService;
     private final AsyncLogService asyncLogService;
     private final JwtTokenUtil jwtTokenUtil;
-    private final RedisService redisService;
-    private final PasswordEncoder passwordEncoder;
+    private final LoginSessionService loginSessionService;
+    private final PasswordHashService passwordHashService;
 
     @Override
     public LoginResponse login(LoginRequest request, String ip, String userAgent) {
@@ -57,12 +57,18 @@ public class AuthServiceImpl implements AuthService {
                 throw new BusinessException(ErrorCode.USER_NOT_EXIST);
             }
 
-            // 2. 校验密码
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            // 2. 校验密码（在独立的哈希线程池中执行）
+            PasswordHashService.Verification verification =
+                    passwordHashService.verify(request.getPassword(), user.getPassword());
+            if (!verification.matched()) {
                 // 保存登录失败日志
                 asyncLogService.saveLoginLog(username, 1, 1, ip, userAgent, "密码错误");
                 throw new BusinessException(ErrorCode.PASSWORD_ERROR);
             }
+            // BCrypt 强度配置变化时，随登录信息一起回写新哈希
+            if (verification.upgradedHash() != null) {
+                user.setPassword(verification.upgradedHash());
+            }
 
             // 3. 校验用户状态
             if (Constants.STATUS_DISABLE.equals(user.getStatus())) {
@@ -75,9 +81,8 @@ public class AuthServiceImpl implements AuthService {
             Long tenantId = user.getTenantId() == null ? 0L : user.getTenantId();
             String token = jwtTokenUtil.generateToken(user.getUserId(), user.getUsername(), "admin", tenantId);
 
-            // 5. 缓存 Token
-            String tokenKey = Constants.LOGIN_TOKEN_KEY + token;
-            redisService.set(tokenKey, user.getUserId(), Constants.TOKEN_EXPIRATION);
+            // 5. 创建会话（写入登录态与会话索引，无状态会话模式下只维护索引）
+            loginSessionService.createSession(token);
 
             // 6. 更新登录信息
             user.setLastLoginTime(LocalDateTime.now());
@@ -132,8 +137,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         if (token != null) {
-            String tokenKey = Constants.LOGIN_TOKEN_KEY + token;
-            redisService.del(tokenKey);
+            loginSessionService.removeSession(token);
         }
     }
 
@@ -2,6 +2,10 @@ package com.aox.system.service.impl;
 
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import com.aox.common.exception.BusinessException;
+import com.aox.common.redis.annotation.AoxCacheEvict;
+import com.aox.common.redis.annotation.AoxCacheable;
+import com.aox.common.redis.service.TwoLevelCacheService;
 import com.aox.common.security.context.SecurityContextHolder;
 import com.aox.system.domain.SysConfig;
 import com.aox.system.mapper.ConfigMapper;
@@ -16,6 +20,8 @@ import java.util.List;
 
 /**
  * 系统配置服务实现
+ * 读取走二级缓存，所有配置缓存都打上 config 标签，任一配置变更时整体失效（配置变更频率很低），
+ * 因此所有写操作都必须经过本服务
  *
  * @author Aox Team
  */
@@ -25,13 +31,18 @@ import java.util.List;
 public class ConfigServiceImpl implements ConfigService {
 
     private final ConfigMapper configMapper;
+    private final TwoLevelCacheService twoLevelCacheService;
+
+    private static final String CONFIG_TAG = "config";
 
     @Override
+    @AoxCacheable(cacheName = "config", key = "#configKey", tags = CONFIG_TAG)
     public String getConfigValue(String configKey) {
         return configMapper.getConfigValue(configKey);
     }
 
     @Override
+    @AoxCacheable(cacheName = "config:tenant", key = "#configKey", tenantAware = true, tags = CONFIG_TAG)
     public String getConfigValueWithTenant(String configKey) {
         Long tenantId = SecurityContextHolder.getTenantId();
         if (tenantId == null || tenantId == 0) {
@@ -63,6 +74,7 @@ public class ConfigServiceImpl implements ConfigService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(tags = CONFIG_TAG)
     public void updateConfigValue(String configKey, String configValue) {
         int rows = configMapper.updateConfigValue(configKey, configValue);
         if (rows == 0) {
@@ -73,6 +85,7 @@ public class ConfigServiceImpl implements ConfigService {
     }
 
     @Override
+    @AoxCacheable(cacheName = "config:group", key = "#configGroup", tags = CONFIG_TAG)
     public List<SysConfig> getConfigByGroup(String configGroup) {
         LambdaQueryWrapper<SysConfig> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(SysConfig::getConfigGroup, configGroup)
@@ -83,6 +96,7 @@ public class ConfigServiceImpl implements ConfigService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(tags = CONFIG_TAG)
     public void saveOrUpdate(SysConfig config) {
         LambdaQueryWrapper<SysConfig> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(SysConfig::getConfigKey, config.getConfigKey())
@@ -98,4 +112,46 @@ public class ConfigServiceImpl implements ConfigService {
             log.info("配置新增: {}", config.getConfigKey());
         }
     }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(tags = CONFIG_TAG)
+    public void createConfig(SysConfig config) {
+        LambdaQueryWrapper<SysConfig> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SysConfig::getConfigKey, config.getConfigKey())
+                .eq(SysConfig::getDeleted, 0);
+        if (configMapper.selectOne(wrapper) != null) {
+            throw new BusinessException("配置键已存在: " + config.getConfigKey());
+        }
+        configMapper.insert(config);
+        log.info("配置新增: {}", config.getConfigKey());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(tags = CONFIG_TAG)
+    public void updateConfig(Long configId, SysConfig config) {
+        config.setConfigId(configId);
+        configMapper.updateById(config);
+        log.info("配置更新: {}", configId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(tags = CONFIG_TAG)
+    public void deleteConfigs(List<Long> configIds) {
+        configIds.forEach(configId -> {
+            SysConfig config = new SysConfig();
+            config.setConfigId(configId);
+            config.setDeleted(1);
+            configMapper.updateById(config);
+        });
+        log.info("配置删除: {}", configIds);
+    }
+
+    @Override
+    public void refreshCache() {
+        twoLevelCacheService.evictTags(List.of(CONFIG_TAG));
+        log.info("配置缓存已刷新");
+    }
 }
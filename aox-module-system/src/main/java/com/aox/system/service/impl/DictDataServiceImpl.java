@@ -1,5 +1,7 @@
 package com.aox.system.service.impl;
 
+import com.aox.common.redis.annotation.AoxCacheEvict;
+import com.aox.common.redis.annotation.AoxCacheable;
 import com.aox.system.domain.SysDictData;
 import com.aox.system.domain.request.DictDataQueryRequest;
 import com.aox.system.mapper.DictDataMapper;
@@ -27,6 +29,8 @@ public class DictDataServiceImpl implements DictDataService {
 
     private final DictDataMapper dictDataMapper;
 
+    private static final String DICT_CACHE = "dict";
+
     @Override
     public IPage<SysDictData> getDictDataList(DictDataQueryRequest request) {
         Page<SysDictData> page = new Page<>(request.getCurrent(), request.getSize());
@@ -41,6 +45,7 @@ public class DictDataServiceImpl implements DictDataService {
     }
 
     @Override
+    @AoxCacheable(cacheName = DICT_CACHE, key = "#dictType")
     public List<SysDictData> getDictDataByType(String dictType) {
         return dictDataMapper.selectByDictType(dictType);
     }
@@ -52,6 +57,7 @@ public class DictDataServiceImpl implements DictDataService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = DICT_CACHE, allEntries = true)
     public void createDictData(SysDictData dictData) {
         dictDataMapper.insert(dictData);
         log.info("创建字典数据成功: {} - {}", dictData.getDictType(), dictData.getDictLabel());
@@ -59,6 +65,7 @@ public class DictDataServiceImpl implements DictDataService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = DICT_CACHE, allEntries = true)
     public void updateDictData(SysDictData dictData) {
         dictDataMapper.updateById(dictData);
         log.info("更新字典数据成功: {}", dictData.getDictCode());
@@ -66,6 +73,7 @@ public class DictDataServiceImpl implements DictDataService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = DICT_CACHE, allEntries = true)
     public void deleteDictData(Long dictCode) {
         SysDictData dictData = new SysDictData();
         dictData.setDictCode(dictCode);
@@ -76,6 +84,7 @@ public class DictDataServiceImpl implements DictDataService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @AoxCacheEvict(cacheName = DICT_CACHE, allEntries = true)
     public void batchDeleteDictData(List<Long> dictCodes) {
         dictCodes.forEach(this::deleteDictData);
     }
@@ -0,0 +1,98 @@
+package com.aox.system.service.impl;
+
+import com.aox.common.core.domain.PageResult;
+import com.aox.common.exception.BusinessException;
+import com.aox.common.security.context.SecurityContextHolder;
+import com.aox.common.security.domain.OnlineUser;
+import com.aox.common.security.service.LoginSessionService;
+import com.aox.system.domain.SysUser;
+import com.aox.system.mapper.SysUserMapper;
+import com.aox.system.service.OnlineUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 在线用户服务实现
+ * 在线用户索引在 Redis 中，不经过多租户插件，需在此校验租户：
+ * 只有平台租户（0）可以查看、下线其他租户的用户，平台租户未指定租户时查看全部租户的在线用户
+ *
+ * @author Aox Team
+ */
+@Service
+@RequiredArgsConstructor
+public class OnlineUserServiceImpl implements OnlineUserService {
+
+    /**
+     * 平台租户
+     */
+    private static final long PLATFORM_TENANT_ID = 0L;
+
+    private final LoginSessionService loginSessionService;
+    private final SysUserMapper userMapper;
+
+    @Override
+    public PageResult<OnlineUser> getOnlineUsers(Long tenantId, Integer pageNum, Integer pageSize) {
+        // 平台租户未指定租户时读取全局索引
+        Long queryTenantId = tenantId == null && isPlatformTenant() ? null : checkTenant(tenantId);
+        PageResult<OnlineUser> page = loginSessionService.listOnlineUsers(queryTenantId, pageNum, pageSize);
+        List<OnlineUser> records = page.getList();
+        if (records == null || records.isEmpty()) {
+            return page;
+        }
+
+        // 一次批量查询补充用户名与昵称
+        List<Long> userIds = records.stream().map(OnlineUser::getUserId).toList();
+        Map<Long, SysUser> users = userMapper.selectBatchIds(userIds).stream()
+                .collect(Collectors.toMap(SysUser::getUserId, Function.identity()));
+        records.forEach(record -> {
+            SysUser user = users.get(record.getUserId());
+            if (user != null) {
+                record.setUsername(user.getUsername());
+                record.setNickname(user.getNickname());
+            }
+        });
+        return page;
+    }
+
+    @Override
+    public int forceLogout(Long userId) {
+        // 经多租户插件过滤，查不到即不属于当前租户
+        if (userMapper.selectById(userId) == null) {
+            throw new BusinessException("用户不存在");
+        }
+        return loginSessionService.forceLogout(userId);
+    }
+
+    @Override
+    public int forceLogoutTenant(Long tenantId) {
+        return loginSessionService.forceLogoutTenant(checkTenant(tenantId));
+    }
+
+    /**
+     * 校验租户：未指定时为当前租户，非平台租户只能操作自己的租户
+     */
+    private Long checkTenant(Long tenantId) {
+        long current = currentTenantId();
+        if (tenantId == null) {
+            return current;
+        }
+        if (current != PLATFORM_TENANT_ID && tenantId != current) {
+            throw new BusinessException("无权操作其他租户的在线用户");
+        }
+        return tenantId;
+    }
+
+    private boolean isPlatformTenant() {
+        return currentTenantId() == PLATFORM_TENANT_ID;
+    }
+
+    private static long currentTenantId() {
+        Long currentTenantId = SecurityContextHolder.getTenantId();
+        return currentTenantId == null ? PLATFORM_TENANT_ID : currentTenantId;
+    }
+}
@@ -1,6 +1,10 @@
 package com.aox.system.service.impl;
 
+import cn.hutool.core.collection.ListUtil;
+import com.aox.common.core.constant.RedisConstants;
+import com.aox.common.redis.service.LocalCacheService;
 import com.aox.common.redis.service.RedisService;
+import com.aox.common.security.permission.PermissionLoader;
 import com.aox.system.domain.*;
 import com.aox.system.mapper.*;
 import com.aox.system.service.MenuService;
@@ -10,7 +14,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,13 +30,15 @@ import java.util.stream.Collectors;
  * 2. 不注入其他业务实体的Mapper（RoleMapper、MenuMapper、PostMapper）
  * 3. 需要其他业务逻辑时，通过调用对应的Service实现
  * 4. 符合单一职责原则：专注于权限关联关系管理
+ * 5. 关联关系变更后递增用户权限版本号，各节点据此判断本地权限缓存是否仍然有效
+ * 6. 分配关联关系按差集增删（多行 INSERT、DELETE ... IN），只失效真正变化的用户缓存
  *
  * @author Aox Team
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class PermissionServiceImpl implements PermissionService {
+public class PermissionServiceImpl implements PermissionService, PermissionLoader {
 
     // 只注入关联关系的Mapper
     private final UserRoleMapper userRoleMapper;
@@ -41,14 +50,22 @@ public class PermissionServiceImpl implements PermissionService {
     // Redis服务用于缓存
     private final RedisService redisService;
 
-    private static final String USER_PERMISSIONS_KEY = "user:permissions:";
-    private static final String USER_ROLES_KEY = "user:roles:";
+    // 本地缓存（失效会广播到所有节点）
+    private final LocalCacheService localCacheService;
+
+    private static final String USER_PERMISSIONS_KEY = RedisConstants.USER_PERMISSIONS_KEY;
+    private static final String USER_ROLES_KEY = RedisConstants.USER_ROLES_KEY;
 
     /**
      * 缓存过期时间：2小时
      */
     private static final Long CACHE_EXPIRE_TIME = 7200L;
 
+    /**
+     * 批量 SQL 每批行数（多行 INSERT / DELETE ... IN）
+     */
+    private static final int BATCH_SIZE = 1000;
+
     // ==================== 用户角色关联 ====================
 
     @Override
@@ -66,36 +83,77 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void assignRolesToUser(Long userId, List<Long> roleIds) {
-        // 删除用户现有的角色
-        LambdaQueryWrapper<SysUserRole> deleteWrapper = new LambdaQueryWrapper<>();
-        deleteWrapper.eq(SysUserRole::getUserId, userId);
-        userRoleMapper.delete(deleteWrapper);
-
-        // 分配新角色
-        if (roleIds != null && !roleIds.isEmpty()) {
-            roleIds.forEach(roleId -> {
-                SysUserRole userRole = new SysUserRole();
-                userRole.setUserId(userId);
-                userRole.setRoleId(roleId);
-                userRoleMapper.insert(userRole);
-            });
-        }
-
-        log.info("为用户 {} 分配角色成功，角色数量: {}", userId, roleIds != null ? roleIds.size() : 0);
-        clearUserPermissionCache(userId);
+    public int assignRolesToUser(Long userId, List<Long> roleIds) {
+        int changed = syncUserRoles(List.of(userId), roleIds);
+        log.info("为用户 {} 分配角色成功，角色数量: {}，变更行数: {}",
+                userId, roleIds != null ? roleIds.size() : 0, changed);
+        return changed;
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void batchAssignRolesToUsers(List<Long> userIds, List<Long> roleIds) {
+    public int batchAssignRolesToUsers(List<Long> userIds, List<Long> roleIds) {
         if (userIds == null || userIds.isEmpty()) {
             log.warn("批量分配角色失败：用户ID列表为空");
-            return;
+            return 0;
         }
 
-        userIds.forEach(userId -> assignRolesToUser(userId, roleIds));
-        log.info("批量为 {} 个用户分配角色成功", userIds.size());
+        int changed = syncUserRoles(userIds, roleIds);
+        log.info("批量为 {} 个用户分配角色成功，变更行数: {}", userIds.size(), changed);
+        return changed;
+    }
+
+    /**
+     * 按差集同步用户角色：只删除多余的关联、只插入缺失的关联
+     *
+     * @return 变更行数（删除 + 插入）
+     */
+    private int syncUserRoles(Collection<Long> userIds, List<Long> roleIds) {
+        Set<Long> targetRoleIds = toIdSet(roleIds);
+        Set<Long> targetUserIds = toIdSet(userIds);
+
+        // 一次（按批）查询所有用户的现有关联
+        Map<Long, List<SysUserRole>> existing = new HashMap<>();
+        for (List<Long> chunk : ListUtil.partition(new ArrayList<>(targetUserIds), BATCH_SIZE)) {
+            userRoleMapper.selectList(new LambdaQueryWrapper<SysUserRole>().in(SysUserRole::getUserId, chunk))
+                    .forEach(row -> existing.computeIfAbsent(row.getUserId(), key -> new ArrayList<>()).add(row));
+        }
+
+        List<Long> removeIds = new ArrayList<>();
+        List<SysUserRole> inserts = new ArrayList<>();
+        Set<Long> changedUserIds = new LinkedHashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long userId : targetUserIds) {
+            Set<Long> keptRoleIds = new HashSet<>();
+            for (SysUserRole row : existing.getOrDefault(userId, Collections.emptyList())) {
+                // 不在目标集合中或重复的关联需要删除
+                if (!targetRoleIds.contains(row.getRoleId()) || !keptRoleIds.add(row.getRoleId())) {
+                    removeIds.add(row.getId());
+                    changedUserIds.add(userId);
+                }
+            }
+            for (Long roleId : targetRoleIds) {
+                if (!keptRoleIds.contains(roleId)) {
+                    SysUserRole userRole = new SysUserRole();
+                    userRole.setUserId(userId);
+                    userRole.setRoleId(roleId);
+                    userRole.setCreateTime(now);
+                    inserts.add(userRole);
+                    changedUserIds.add(userId);
+                }
+            }
+        }
+
+        int changed = 0;
+        for (List<Long> chunk : ListUtil.partition(removeIds, BATCH_SIZE)) {
+            changed += userRoleMapper.deleteBatchIds(chunk);
+        }
+        for (List<SysUserRole> chunk : ListUtil.partition(inserts, BATCH_SIZE)) {
+            changed += userRoleMapper.insertBatch(chunk);
+        }
+
+        clearUsersPermissionCache(changedUserIds);
+        return changed;
     }
 
     // ==================== 角色菜单关联 ====================
@@ -115,28 +173,41 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void assignMenusToRole(Long roleId, List<Long> menuIds) {
-        List<Long> affectedUserIds = userRoleMapper.selectList(
-                new LambdaQueryWrapper<SysUserRole>().eq(SysUserRole::getRoleId, roleId)
-        ).stream().map(SysUserRole::getUserId).distinct().collect(Collectors.toList());
-
-        // 删除角色现有的菜单权限
-        LambdaQueryWrapper<SysRoleMenu> deleteWrapper = new LambdaQueryWrapper<>();
-        deleteWrapper.eq(SysRoleMenu::getRoleId, roleId);
-        roleMenuMapper.delete(deleteWrapper);
-
-        // 分配新菜单权限
-        if (menuIds != null && !menuIds.isEmpty()) {
-            menuIds.forEach(menuId -> {
-                SysRoleMenu roleMenu = new SysRoleMenu();
-                roleMenu.setRoleId(roleId);
-                roleMenu.setMenuId(menuId);
-                roleMenuMapper.insert(roleMenu);
-            });
+    public int assignMenusToRole(Long roleId, List<Long> menuIds) {
+        Set<Long> targetMenuIds = toIdSet(menuIds);
+
+        // 按差集计算需要删除和插入的关联
+        List<Long> removeIds = new ArrayList<>();
+        Set<Long> keptMenuIds = new HashSet<>();
+        roleMenuMapper.selectList(new LambdaQueryWrapper<SysRoleMenu>().eq(SysRoleMenu::getRoleId, roleId))
+                .forEach(row -> {
+                    if (!targetMenuIds.contains(row.getMenuId()) || !keptMenuIds.add(row.getMenuId())) {
+                        removeIds.add(row.getId());
+                    }
+                });
+        List<SysRoleMenu> inserts = targetMenuIds.stream()
+                .filter(menuId -> !keptMenuIds.contains(menuId))
+                .map(menuId -> {
+                    SysRoleMenu roleMenu = new SysRoleMenu();
+                    roleMenu.setRoleId(roleId);
+                    roleMenu.setMenuId(menuId);
+                    return roleMenu;
+                })
+                .collect(Collectors.toList());
+
+        int changed = 0;
+        for (List<Long> chunk : ListUtil.partition(removeIds, BATCH_SIZE)) {
+            changed += roleMenuMapper.deleteBatchIds(chunk);
+        }
+        for (List<SysRoleMenu> chunk : ListUtil.partition(inserts, BATCH_SIZE)) {
+            changed += roleMenuMapper.insertBatch(chunk);
         }
 
-        log.info("为角色 {} 分配菜单权限成功，菜单数量: {}", roleId, menuIds != null ? menuIds.size() : 0);
-        affectedUserIds.forEach(this::clearUserPermissionCache);
+        log.info("为角色 {} 分配菜单权限成功，菜单数量: {}，变更行数: {}", roleId, targetMenuIds.size(), changed);
+        if (changed > 0) {
+            clearRoleUsersPermissionCache(roleId);
+        }
+        return changed;
     }
 
     @Override
@@ -178,9 +249,9 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     public Set<String> getPermissionCodesByUserId(Long userId) {
-        // 先从缓存获取
-        String cacheKey = USER_PERMISSIONS_KEY + userId;
-        Object cached = redisService.get(cacheKey);
+        // 先从缓存获取（读主节点：结果会按新版本号固化到本地权限缓存，不能读到从节点或热点副本上的旧值）
+        String cacheKey = RedisConstants.userKey(USER_PERMISSIONS_KEY, userId);
+        Object cached = redisService.getFromPrimary(cacheKey);
         if (cached instanceof List) {
             return new HashSet<>((List<String>) cached);
         }
@@ -197,9 +268,9 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     public Set<String> getRoleCodesByUserId(Long userId) {
-        // 先从缓存获取
-        String cacheKey = USER_ROLES_KEY + userId;
-        Object cached = redisService.get(cacheKey);
+        // 先从缓存获取（读主节点，同上）
+        String cacheKey = RedisConstants.userKey(USER_ROLES_KEY, userId);
+        Object cached = redisService.getFromPrimary(cacheKey);
         if (cached instanceof List) {
             return new HashSet<>((List<String>) cached);
         }
@@ -218,21 +289,82 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Override
     public void cacheUserPermissions(Long userId) {
-        // 缓存权限
+        // 权限与角色在同一次管道往返中写入
         Set<String> permissions = getPermissionCodesByUserId(userId);
-        redisService.set(USER_PERMISSIONS_KEY + userId, new ArrayList<>(permissions), CACHE_EXPIRE_TIME);
-
-        // 缓存角色
         Set<String> roles = getRoleCodesByUserId(userId);
-        redisService.set(USER_ROLES_KEY + userId, new ArrayList<>(roles), CACHE_EXPIRE_TIME);
+        Map<String, Object> cache = new HashMap<>(4);
+        cache.put(RedisConstants.userKey(USER_PERMISSIONS_KEY, userId), new ArrayList<>(permissions));
+        cache.put(RedisConstants.userKey(USER_ROLES_KEY, userId), new ArrayList<>(roles));
+        redisService.mset(cache, CACHE_EXPIRE_TIME);
 
         log.debug("已缓存用户 {} 的权限和角色", userId);
     }
 
     @Override
     public void clearUserPermissionCache(Long userId) {
-        redisService.del(USER_PERMISSIONS_KEY + userId);
-        redisService.del(USER_ROLES_KEY + userId);
-        log.debug("已清除用户 {} 的权限缓存", userId);
+        clearUsersPermissionCache(List.of(userId));
+    }
+
+    @Override
+    public void clearUsersPermissionCache(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        List<Long> targetUserIds = new ArrayList<>(userIds);
+        // 在事务提交后清除，避免并发请求在提交前把旧权限重新加载进缓存
+        runAfterCommit(() -> {
+            List<String> cacheKeys = new ArrayList<>(targetUserIds.size() * 2);
+            targetUserIds.forEach(userId -> {
+                cacheKeys.add(RedisConstants.userKey(USER_PERMISSIONS_KEY, userId));
+                cacheKeys.add(RedisConstants.userKey(USER_ROLES_KEY, userId));
+            });
+            // 删除缓存与递增版本号在同一个管道中完成
+            redisService.pipeline(ops -> {
+                ops.del(cacheKeys);
+                targetUserIds.forEach(userId ->
+                        ops.incr(RedisConstants.userKey(RedisConstants.USER_PERM_VERSION_KEY, userId), 1));
+            });
+            // 权限缓存按用户自己的租户分区，操作人可能是其他租户（平台管理员），从所有租户分区删除
+            localCacheService.removePermissionsAllTenants(targetUserIds.stream().map(String::valueOf).toList());
+            log.debug("已清除 {} 个用户的权限缓存", targetUserIds.size());
+        });
+    }
+
+    @Override
+    public void clearRoleUsersPermissionCache(Long roleId) {
+        List<Long> userIds = userRoleMapper.selectList(
+                        new LambdaQueryWrapper<SysUserRole>().eq(SysUserRole::getRoleId, roleId))
+                .stream()
+                .map(SysUserRole::getUserId)
+                .distinct()
+                .collect(Collectors.toList());
+        clearUsersPermissionCache(userIds);
+    }
+
+    /**
+     * 去除 null 与重复值（保持原顺序）
+     */
+    private static Set<Long> toIdSet(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * 存在事务时在提交后执行，否则立即执行
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
@@ -7,6 +7,7 @@ import com.aox.system.domain.request.RoleQueryRequest;
 import com.aox.system.domain.request.RoleUpdateRequest;
 import com.aox.system.mapper.SysRoleMapper;
 import com.aox.system.mapper.SysRolePermissionMapper;
+import com.aox.system.service.PermissionService;
 import com.aox.system.service.RoleService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -29,6 +30,7 @@ public class RoleServiceImpl implements RoleService {
 
     private final SysRoleMapper roleMapper;
     private final SysRolePermissionMapper rolePermissionMapper;
+    private final PermissionService permissionService;
 
     @Override
     public PageResult<SysRole> listRoles(RoleQueryRequest request) {
@@ -98,6 +100,9 @@ public class RoleServiceImpl implements RoleService {
                 rolePermissionMapper.batchInsert(roleId, request.getPermissionIds());
             }
         }
+
+        // 角色状态或权限变化，递增该角色下所有用户的权限版本号
+        permissionService.clearRoleUsersPermissionCache(roleId);
     }
 
     @Override
@@ -107,6 +112,8 @@ public class RoleServiceImpl implements RoleService {
         roleMapper.deleteById(roleId);
         // 删除角色权限关联
         rolePermissionMapper.deleteByRoleId(roleId);
+
+        permissionService.clearRoleUsersPermissionCache(roleId);
     }
 
     @Override
@@ -119,6 +126,8 @@ public class RoleServiceImpl implements RoleService {
         if (permissionIds != null && !permissionIds.isEmpty()) {
             rolePermissionMapper.batchInsert(roleId, permissionIds);
         }
+
+        permissionService.clearRoleUsersPermissionCache(roleId);
     }
 
     @Override
@@ -1,7 +1,10 @@
 package com.aox.system.service.impl;
 
+import com.aox.common.core.constant.Constants;
 import com.aox.common.core.domain.PageResult;
 import com.aox.common.core.utils.BeanConvertUtil;
+import com.aox.common.security.service.LoginSessionService;
+import com.aox.common.security.service.PasswordHashService;
 import com.aox.system.domain.SysUser;
 import com.aox.system.domain.request.UserCreateRequest;
 import com.aox.system.domain.request.UserQueryRequest;
@@ -15,9 +18,10 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * 用户服务实现
@@ -31,7 +35,8 @@ public class UserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impleme
 
     private final SysUserMapper userMapper;
     private final SysUserRoleMapper userRoleMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
+    private final LoginSessionService loginSessionService;
 
     @Override
     public PageResult<UserVO> listUsers(UserQueryRequest request) {
@@ -72,7 +77,7 @@ public class UserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impleme
         SysUser user = new SysUser();
         user.setUsername(request.getUsername());
         // 密码加密
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashService.encode(request.getPassword()));
         user.setNickname(request.getNickname());
         user.setEmail(request.getEmail());
         user.setPhone(request.getPhone());
@@ -126,6 +131,8 @@ public class UserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impleme
         userMapper.deleteById(userId);
         // 删除用户角色关联
         userRoleMapper.deleteByUserId(userId);
+        // 事务提交后强制下线并吊销该用户已签发的 Token（回滚时不吊销）
+        runAfterCommit(() -> loginSessionService.forceLogout(userId));
     }
 
     @Override
@@ -134,6 +141,11 @@ public class UserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impleme
         user.setUserId(userId);
         user.setStatus(status);
         userMapper.updateById(user);
+
+        // 禁用用户时强制下线并吊销其已签发的 Token
+        if (Constants.STATUS_DISABLE.equals(status)) {
+            runAfterCommit(() -> loginSessionService.forceLogout(userId));
+        }
     }
 
     @Override
@@ -141,7 +153,23 @@ public class UserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impleme
         SysUser user = new SysUser();
         user.setUserId(userId);
         // 密码加密
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashService.encode(newPassword));
         userMapper.updateById(user);
     }
+
+    /**
+     * 存在事务时在提交后执行，否则立即执行
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
@@ -71,6 +71,16 @@ INSERT INTO sys_menu (menu_id, menu_name, parent_id, sort_order, path, component
 VALUES (92, '登录日志', 9, 2, '/system/logs/login', 'system/LoginLog', 2, 0, 0, 'system:log:login:list', null, '登录日志菜单', 0)
 ON CONFLICT (menu_id) DO UPDATE SET menu_name = EXCLUDED.menu_name, path = EXCLUDED.path, component = EXCLUDED.component;
 
+-- 12. 在线用户（二级菜单）
+INSERT INTO sys_menu (menu_id, menu_name, parent_id, sort_order, path, component, menu_type, visible, status, permission, icon, remark, deleted) 
+VALUES (12, '在线用户', 1, 9, '/system/online-users', 'system/OnlineUser', 2, 0, 0, 'system:online:list', 'TeamOutlined', '在线用户菜单', 0)
+ON CONFLICT (menu_id) DO UPDATE SET menu_name = EXCLUDED.menu_name, path = EXCLUDED.path, component = EXCLUDED.component;
+
+-- 12-1. 强制下线（按钮）
+INSERT INTO sys_menu (menu_id, menu_name, parent_id, sort_order, path, component, menu_type, visible, status, permission, icon, remark, deleted) 
+VALUES (121, '强制下线', 12, 1, null, null, 3, 0, 0, 'system:online:forceLogout', null, '强制下线按钮', 0)
+ON CONFLICT (menu_id) DO UPDATE SET menu_name = EXCLUDED.menu_name, permission = EXCLUDED.permission;
+
 -- 10. 消息管理（一级菜单）
 INSERT INTO sys_menu (menu_id, menu_name, parent_id, sort_order, path, component, menu_type, visible, status, permission, icon, remark, deleted) 
 VALUES (10, '消息管理', 0, 2, '/message', null, 1, 0, 0, null, 'MessageOutlined', '消息管理目录', 0)